@@ -0,0 +1,203 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Saturates the analytics endpoints while a few writers create expenses, and reports status
+ * counts and latency percentiles for both. Used to check that analytics load (the bulkhead
+ * lane and pool) does not starve writes.
+ *
+ * <pre>
+ * java load-tests/AnalyticsStorm.java [stormClients] [seconds]
+ * </pre>
+ *
+ * Settings come from the environment; see load-tests/README.md. Exits with status 1 when a
+ * write fails or the write p99 exceeds {@code WRITE_P99_BUDGET_MS}.
+ */
+public class AnalyticsStorm {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String BASE_URL = env("BASE_URL", "http://localhost:8080");
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public static void main(String[] args) throws Exception {
+        int stormClients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 30;
+        int writers = Integer.parseInt(env("WRITERS", "4"));
+        long writePauseMs = Long.parseLong(env("WRITE_PAUSE_MS", "50"));
+        long writeP99BudgetMs = Long.parseLong(env("WRITE_P99_BUDGET_MS", "0"));
+        String[] paths = env("STORM_PATHS", defaultStormPaths()).split(",");
+
+        String stormToken = login(env("STORM_EMAIL", "storm@example.com"), env("STORM_PASSWORD", "Password123"));
+        String writeToken = login(env("WRITER_EMAIL", "writer@example.com"), env("WRITER_PASSWORD", "Password123"));
+        String categoryId = writerCategory(writeToken);
+
+        Stats storm = new Stats();
+        Stats writes = new Stats();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < stormClients; i++) {
+                int first = i;
+                clients.submit(() -> {
+                    for (int n = first; System.nanoTime() < end; n++) {
+                        HttpResponse<Void> response = storm.send(get(paths[n % paths.length], stormToken));
+                        if (response != null && response.statusCode() == 503) {
+                            // Back off as told; clients spinning on 503 only compete for CPU
+                            long retryAfter = Long.parseLong(response.headers().firstValue("Retry-After").orElse("1"));
+                            Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < writers; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        writes.send(createExpense(writeToken, categoryId));
+                        Thread.sleep(writePauseMs);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        System.out.println("analytics clients=" + stormClients + " " + storm);
+        System.out.println("writes    writers=" + writers + " " + writes);
+
+        boolean failed = writes.count(201) != writes.total();
+        if (writeP99BudgetMs > 0 && writes.percentile(99) > writeP99BudgetMs) {
+            System.out.println("write p99 " + writes.percentile(99) + " ms exceeds the budget of " + writeP99BudgetMs + " ms");
+            failed = true;
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static String defaultStormPaths() {
+        LocalDate month = LocalDate.now().minusMonths(1);
+        return "/api/analytics/insights,"
+                + "/api/analytics/daily-trend?month=" + month.getMonthValue() + "&year=" + month.getYear() + ","
+                + "/api/analytics/highest-expense";
+    }
+
+    private static String login(String email, String password) throws Exception {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        // Registering an existing account fails harmlessly; login below is what counts
+        HTTP.send(post("/api/auth/register", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"fullName\":\"Load Test\"}"),
+                HttpResponse.BodyHandlers.discarding());
+        String body = HTTP.send(post("/api/auth/login", null, credentials), HttpResponse.BodyHandlers.ofString()).body();
+        return match(TOKEN, body, "login failed for " + email + ": " + body);
+    }
+
+    private static String writerCategory(String token) throws Exception {
+        String categories = HTTP.send(get("/api/categories", token), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher existing = ID.matcher(categories);
+        if (existing.find()) {
+            return existing.group(1);
+        }
+        String created = HTTP.send(post("/api/categories", token, "{\"name\":\"Load\"}"),
+                HttpResponse.BodyHandlers.ofString()).body();
+        return match(ID, created, "could not create a category: " + created);
+    }
+
+    private static HttpRequest createExpense(String token, String categoryId) {
+        return post("/api/expenses", token, "{\"categoryId\":\"" + categoryId + "\",\"amount\":12.50,"
+                + "\"description\":\"Load test\",\"expenseDate\":\"" + LocalDate.now() + "\",\"paymentMethod\":\"CARD\"}");
+    }
+
+    private static HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    private static HttpRequest post(String path, String token, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private static String match(Pattern pattern, String body, String error) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException(error);
+        }
+        return matcher.group(1);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    /** Status counts (-1 for I/O errors) and latencies of one kind of request. */
+    private static final class Stats {
+
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentSkipListMap<>();
+        private final List<Long> millis = Collections.synchronizedList(new ArrayList<>());
+
+        HttpResponse<Void> send(HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = HTTP.send(request, HttpResponse.BodyHandlers.discarding());
+                statuses.computeIfAbsent(response.statusCode(), status -> new AtomicLong()).incrementAndGet();
+                millis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return response;
+            } catch (Exception e) {
+                statuses.computeIfAbsent(-1, status -> new AtomicLong()).incrementAndGet();
+                return null;
+            }
+        }
+
+        long count(int status) {
+            AtomicLong count = statuses.get(status);
+            return count == null ? 0 : count.get();
+        }
+
+        long total() {
+            return statuses.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        long percentile(int p) {
+            List<Long> sorted = new ArrayList<>(millis);
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            return sorted.get(Math.min(sorted.size() - 1, sorted.size() * p / 100));
+        }
+
+        @Override
+        public String toString() {
+            if (millis.isEmpty()) {
+                return "status=" + statuses + " n=0";
+            }
+            List<Long> sorted = new ArrayList<>(millis);
+            Collections.sort(sorted);
+            return String.format("status=%s n=%d p50=%dms p95=%dms p99=%dms max=%dms", statuses, sorted.size(),
+                    percentile(50), percentile(95), percentile(99), sorted.getLast());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.expenseTracker.demo.config;
+
+import com.expenseTracker.demo.datasource.DeadlineDataSource;
+import com.expenseTracker.demo.datasource.ReadOnlyRoutingDataSource;
+import com.expenseTracker.demo.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits connections across separate pools so one kind of traffic cannot starve another:
+ * <ul>
+ *     <li>"primary" ({@code spring.datasource.*}) serves every read-write transaction;</li>
+ *     <li>"analytics" ({@code datasource.analytics.*}) serves read-only transactions on the
+ *     analytics lane, against the replica when there is one;</li>
+ *     <li>"replica" ({@code datasource.replica.*}, when enabled) serves the other read-only
+ *     transactions.</li>
+ * </ul>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String password) {
+        return readOnlyPool("replica", url, username, password);
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.analytics.hikari")
+    public HikariDataSource analyticsDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${datasource.replica.url:}") String replicaUrl,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String replicaUsername,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String replicaPassword) {
+        if (replicaEnabled) {
+            return readOnlyPool("analytics", replicaUrl, replicaUsername, replicaPassword);
+        }
+        return readOnlyPool("analytics", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    /**
+     * The lazy proxy only fetches a physical connection at the first statement, after the
+     * transaction manager has marked it read-only, so the routing decision sees the
+     * transaction's {@code readOnly} flag. Outermost, every statement is bounded by the
+     * request's deadline.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("analyticsDataSource") HikariDataSource analyticsDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+            ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(
+                primaryDataSource, replicaDataSource.getIfAvailable(), analyticsDataSource,
+                readYourWritesTracker.getIfAvailable(), meterRegistry));
+        return new DeadlineDataSource(dataSource);
+    }
+
+    private static HikariDataSource readOnlyPool(String name, String url, String username, String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
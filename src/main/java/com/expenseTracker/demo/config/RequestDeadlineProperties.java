@@ -0,0 +1,20 @@
+package com.expenseTracker.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Request deadlines ({@code request.deadline.*}). {@code routes} maps path patterns to the
+ * timeout of matching requests, overriding {@code default-timeout}; a zero timeout means no
+ * deadline. Clients may ask for their own timeout, up to {@code max-timeout}.
+ */
+@ConfigurationProperties("request.deadline")
+public record RequestDeadlineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue("30s") Duration maxTimeout,
+        @DefaultValue Map<String, Duration> routes) {
+}
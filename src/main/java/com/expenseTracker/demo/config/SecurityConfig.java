@@ -1,5 +1,7 @@
 package com.expenseTracker.demo.config;
 
+import com.expenseTracker.demo.filter.AdaptiveConcurrencyFilter;
+import com.expenseTracker.demo.filter.RequestDeadlineFilter;
 import com.expenseTracker.demo.filter.RateLimitFilter;
 import com.expenseTracker.demo.security.JwtAuthenticationFilter;
 import com.expenseTracker.demo.util.Constants;
@@ -28,6 +30,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RequestDeadlineFilter requestDeadlineFilter;
+    private final AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
     private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
 
@@ -51,6 +55,9 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
+                // Shed overload first, before any token parsing or user lookup
+                .addFilterBefore(requestDeadlineFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(adaptiveConcurrencyFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
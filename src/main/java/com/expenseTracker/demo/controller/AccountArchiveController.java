@@ -0,0 +1,92 @@
+package com.expenseTracker.demo.controller;
+
+import com.expenseTracker.demo.dto.response.AccountArchiveResponse;
+import com.expenseTracker.demo.service.AccountArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/account")
+@RequiredArgsConstructor
+@Tag(name = "Account Archive", description = "Export everything an account owns as a ZIP archive")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('USER')")
+public class AccountArchiveController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final AccountArchiveService accountArchiveService;
+
+    @GetMapping("/archive")
+    @Operation(summary = "Download account archive",
+            description = "Streams a ZIP with expenses (CSV), categories and budgets (JSON), every receipt file and a manifest")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> streamArchive() {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment())
+                .body(accountArchiveService.streamArchive());
+    }
+
+    @PostMapping("/archives")
+    @Operation(summary = "Build account archive in the background",
+            description = "For large accounts. Poll the returned archive and download it when completed; the download supports range requests")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Archive accepted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<AccountArchiveResponse> startArchive() {
+        AccountArchiveResponse response = accountArchiveService.startArchive();
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/account/archives/" + response.getId())
+                .body(response);
+    }
+
+    @GetMapping("/archives/{archiveId}")
+    @Operation(summary = "Get archive progress", description = "Rows, receipts and bytes written so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive status retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Archive not found")
+    })
+    public ResponseEntity<AccountArchiveResponse> getArchive(@PathVariable UUID archiveId) {
+        return ResponseEntity.ok(accountArchiveService.getArchive(archiveId));
+    }
+
+    @GetMapping("/archives/{archiveId}/download")
+    @Operation(summary = "Download a built archive", description = "Send a Range header to resume an interrupted download")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive downloaded"),
+            @ApiResponse(responseCode = "206", description = "Requested range downloaded"),
+            @ApiResponse(responseCode = "400", description = "Archive is not ready yet"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Archive not found")
+    })
+    public ResponseEntity<Resource> downloadArchive(@PathVariable UUID archiveId) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment())
+                .body(accountArchiveService.downloadArchive(archiveId));
+    }
+
+    private static String attachment() {
+        return "attachment; filename=\"spentsmart-archive-" + LocalDate.now() + ".zip\"";
+    }
+}
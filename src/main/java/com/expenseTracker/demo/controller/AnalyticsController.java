@@ -1,9 +1,13 @@
 package com.expenseTracker.demo.controller;
 
 import com.expenseTracker.demo.dto.response.CategoryBreakdownItem;
+import com.expenseTracker.demo.dto.response.DashboardResponse;
 import com.expenseTracker.demo.dto.response.ExpenseResponse;
 import com.expenseTracker.demo.dto.response.InsightsResponse;
 import com.expenseTracker.demo.dto.response.MonthlySummaryResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.service.AnalyticsBulkhead;
+import com.expenseTracker.demo.service.AnalyticsDashboardService;
 import com.expenseTracker.demo.service.AnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +18,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,18 +33,22 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsDashboardService analyticsDashboardService;
+    private final AnalyticsBulkhead analyticsBulkhead;
     private final com.expenseTracker.demo.service.EmailService emailService;
 
     @GetMapping("/monthly-summary")
     @Operation(summary = "Monthly summary", description = "Get total expenses and count for a specific month")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
     })
     public ResponseEntity<MonthlySummaryResponse> getMonthlySummary(
+            @AuthenticationPrincipal User user,
             @Parameter(description = "Month (1-12)") @RequestParam int month,
             @Parameter(description = "Year") @RequestParam int year) {
-        MonthlySummaryResponse response = analyticsService.getMonthlySummary(month, year);
+        MonthlySummaryResponse response = analyticsBulkhead.execute(() -> analyticsService.getMonthlySummary(user, month, year));
         return ResponseEntity.ok(response);
     }
 
@@ -47,12 +56,14 @@ public class AnalyticsController {
     @Operation(summary = "Category breakdown", description = "Get spending breakdown by category for a specific month")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Breakdown retrieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
     })
     public ResponseEntity<List<CategoryBreakdownItem>> getCategoryBreakdown(
+            @AuthenticationPrincipal User user,
             @Parameter(description = "Month (1-12)") @RequestParam int month,
             @Parameter(description = "Year") @RequestParam int year) {
-        List<CategoryBreakdownItem> response = analyticsService.getCategoryBreakdown(month, year);
+        List<CategoryBreakdownItem> response = analyticsBulkhead.execute(() -> analyticsService.getCategoryBreakdown(user, month, year));
         return ResponseEntity.ok(response);
     }
 
@@ -60,12 +71,14 @@ public class AnalyticsController {
     @Operation(summary = "Daily spending trend", description = "Get daily spending trend for a specific month")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Trend retrieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
     })
     public ResponseEntity<List<Map<String, Object>>> getDailyTrend(
+            @AuthenticationPrincipal User user,
             @Parameter(description = "Month (1-12)") @RequestParam int month,
             @Parameter(description = "Year") @RequestParam int year) {
-        List<Map<String, Object>> response = analyticsService.getDailyTrend(month, year);
+        List<Map<String, Object>> response = analyticsBulkhead.execute(() -> analyticsService.getDailyTrend(user, month, year));
         return ResponseEntity.ok(response);
     }
 
@@ -73,10 +86,11 @@ public class AnalyticsController {
     @Operation(summary = "Highest expense", description = "Get the highest expense for the user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Highest expense retrieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
     })
-    public ResponseEntity<ExpenseResponse> getHighestExpense() {
-        ExpenseResponse response = analyticsService.getHighestExpense();
+    public ResponseEntity<ExpenseResponse> getHighestExpense(@AuthenticationPrincipal User user) {
+        ExpenseResponse response = analyticsBulkhead.execute(() -> analyticsService.getHighestExpense(user));
         return ResponseEntity.ok(response);
     }
 
@@ -85,16 +99,32 @@ public class AnalyticsController {
     @Operation(summary = "Smart insights", description = "Get intelligent spending insights with trend analysis and category comparisons")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Insights retrieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
     })
-    public ResponseEntity<InsightsResponse> getInsights() {
-        InsightsResponse response = analyticsService.getInsights();
+    public ResponseEntity<InsightsResponse> getInsights(@AuthenticationPrincipal User user) {
+        InsightsResponse response = analyticsBulkhead.execute(() -> analyticsService.getInsights(user));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/dashboard")
+    @Operation(summary = "Dashboard", description = "Get every analytics section for a month in one response, computed concurrently, with per-section timings")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Analytics is at capacity; retry after the Retry-After delay")
+    })
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Month (1-12)") @RequestParam int month,
+            @Parameter(description = "Year") @RequestParam int year) {
+        DashboardResponse response = analyticsDashboardService.getDashboard(user, month, year);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/test-email")
     @Operation(summary = "Test Email", description = "Trigger a monthly report email to the authenticated user for verification")
-    public ResponseEntity<String> testEmail(@org.springframework.security.core.annotation.AuthenticationPrincipal com.expenseTracker.demo.entity.User user) {
+    public ResponseEntity<String> testEmail(@AuthenticationPrincipal User user) {
         emailService.sendMonthlyReport(user);
         return ResponseEntity.ok("Email trigger initiated. Check server logs for 'Monthly report sent'.");
     }
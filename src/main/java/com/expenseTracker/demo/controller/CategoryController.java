@@ -1,9 +1,12 @@
 package com.expenseTracker.demo.controller;
 
+import com.expenseTracker.demo.dto.request.CategoryMergeRequest;
 import com.expenseTracker.demo.dto.request.CategoryRequest;
+import com.expenseTracker.demo.dto.response.CategoryMergeResponse;
 import com.expenseTracker.demo.dto.response.CategoryResponse;
 import com.expenseTracker.demo.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -46,8 +49,12 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> response = categoryService.getAllCategories();
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(
+            @Parameter(description = "Add expense count, current-month total and budget usage per category")
+            @RequestParam(defaultValue = "false") boolean includeStats) {
+        List<CategoryResponse> response = includeStats
+                ? categoryService.getAllCategoriesWithStats()
+                : categoryService.getAllCategories();
         return ResponseEntity.ok(response);
     }
 
@@ -90,4 +97,20 @@ public class CategoryController {
         categoryService.deleteCategory(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/merge")
+    @Operation(summary = "Merge category", description = "Move every expense and the budget of this category into the " +
+            "target category, then delete this one. If both have a budget the target keeps its own.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories merged"),
+            @ApiResponse(responseCode = "400", description = "Target is the same category"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<CategoryMergeResponse> mergeCategory(
+            @PathVariable UUID id,
+            @Valid @RequestBody CategoryMergeRequest request) {
+        CategoryMergeResponse response = categoryService.mergeCategory(id, request);
+        return ResponseEntity.ok(response);
+    }
 }
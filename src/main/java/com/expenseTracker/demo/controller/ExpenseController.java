@@ -1,8 +1,20 @@
 package com.expenseTracker.demo.controller;
 
+import com.expenseTracker.demo.dto.request.BatchExpenseRequest;
+import com.expenseTracker.demo.dto.request.BulkExpenseUpdateRequest;
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
 import com.expenseTracker.demo.dto.request.ExpenseRequest;
+import com.expenseTracker.demo.dto.request.ExportFormat;
+import com.expenseTracker.demo.dto.response.BatchExpenseResponse;
+import com.expenseTracker.demo.dto.response.BulkExpenseResponse;
+import com.expenseTracker.demo.dto.response.CursorPageResponse;
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
 import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.service.ExpenseBatchService;
+import com.expenseTracker.demo.service.ExpenseBulkService;
+import com.expenseTracker.demo.service.ExpenseExportService;
 import com.expenseTracker.demo.service.ExpenseService;
+import com.expenseTracker.demo.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,15 +23,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -31,6 +46,9 @@ import java.util.UUID;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseBatchService expenseBatchService;
+    private final ExpenseBulkService expenseBulkService;
+    private final ExpenseExportService expenseExportService;
 
     @PostMapping
     @Operation(summary = "Create expense", description = "Create a new expense for the authenticated user")
@@ -40,6 +58,19 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Batch expense operations", description = "Apply up to " + Constants.Batch.MAX_OPERATIONS +
+            " CREATE, UPDATE, DELETE and GET operations in one transaction. Each item reports the status the " +
+            "single-item endpoint would return; invalid items do not abort the others.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<BatchExpenseResponse> processBatch(@Valid @RequestBody BatchExpenseRequest request) {
+        BatchExpenseResponse response = expenseBatchService.processBatch(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get expense by ID", description = "Retrieve a specific expense by ID")
     @ApiResponse(responseCode = "200", description = "Expense retrieved successfully")
@@ -49,31 +80,105 @@ public class ExpenseController {
     }
 
     @GetMapping
-    @Operation(summary = "List expenses", description = "Get paginated list of expenses with optional filters")
-    @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully")
-    public ResponseEntity<Page<ExpenseResponse>> getExpenses(
-            @Parameter(description = "Category ID filter") @RequestParam(required = false) UUID categoryId,
-            @Parameter(description = "Start date filter (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @Parameter(description = "End date filter (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @Parameter(description = "Minimum amount filter") @RequestParam(required = false) BigDecimal minAmount,
-            @Parameter(description = "Maximum amount filter") @RequestParam(required = false) BigDecimal maxAmount,
+    @Operation(summary = "List expenses", description = "Get paginated list of expenses with optional filters. " +
+            "Filters can be combined; only the supplied ones are applied. " +
+            "Set includeCount=false to skip the total count query.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field")
+    })
+    public ResponseEntity<Slice<ExpenseResponse>> getExpenses(
+            @ParameterObject @Valid ExpenseFilterRequest filter,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "expenseDate") String sortBy,
-            @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Include total element and page counts") @RequestParam(defaultValue = "true") boolean includeCount) {
 
-        Page<ExpenseResponse> response;
+        Slice<ExpenseResponse> response;
         
-        if (categoryId != null || startDate != null || endDate != null || minAmount != null || maxAmount != null) {
+        if (filter.hasCriteria()) {
             response = expenseService.getExpensesWithFilters(
-                    categoryId, startDate, endDate, minAmount, maxAmount, page, size, sortBy, sortDirection);
+                    filter, page, size, sortBy, sortDirection, includeCount);
         } else {
-            response = expenseService.getAllExpenses(page, size, sortBy, sortDirection);
+            response = expenseService.getAllExpenses(page, size, sortBy, sortDirection, includeCount);
         }
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export expenses", description = "Stream all matching expenses, newest first, as CSV or " +
+            "newline-delimited JSON in a single response. Accepts the listing filters; the response is gzip-compressed " +
+            "when the client sends Accept-Encoding: gzip.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid filter")
+    })
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @ParameterObject @Valid ExpenseFilterRequest filter,
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = expenseExportService.exportExpenses(filter, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses-" + LocalDate.now() +
+                        "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search expenses", description = "Full-text search over description and notes. " +
+            "Every word matches as a prefix; results are ranked by relevance, then newest first, " +
+            "and can be narrowed with the listing filters.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Query contains no searchable words")
+    })
+    public ResponseEntity<Slice<ExpenseResponse>> searchExpenses(
+            @Parameter(description = "Search text, e.g. \"coff star\"") @RequestParam(required = false) String q,
+            @ParameterObject @Valid ExpenseFilterRequest filter,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Include total element and page counts") @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        Slice<ExpenseResponse> response = expenseService.searchExpenses(q, filter, page, size, includeCount);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest descriptions", description = "Autocomplete past expense descriptions by prefix, " +
+            "most used first, each with the amount and category of its latest use. Served from memory.")
+    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    public ResponseEntity<List<DescriptionSuggestionResponse>> suggestDescriptions(
+            @Parameter(description = "Description prefix (case-insensitive)") @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "" + Constants.Suggestions.DEFAULT_LIMIT) int limit) {
+
+        List<DescriptionSuggestionResponse> response = expenseService.suggestDescriptions(q, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll expenses", description = "Cursor-based listing for infinite scroll. " +
+            "Pass the returned nextCursor to fetch the following page; page cost is constant regardless of depth.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort field")
+    })
+    public ResponseEntity<CursorPageResponse<ExpenseResponse>> scrollExpenses(
+            @ParameterObject @Valid ExpenseFilterRequest filter,
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field (expenseDate or amount); ignored when a cursor is given") @RequestParam(defaultValue = "expenseDate") String sortBy,
+            @Parameter(description = "Sort direction (ASC/DESC); ignored when a cursor is given") @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Include the total number of matching expenses") @RequestParam(defaultValue = "false") boolean includeCount) {
+
+        CursorPageResponse<ExpenseResponse> response = expenseService.scrollExpenses(
+                filter, cursor, size, sortBy, sortDirection, includeCount);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update expense", description = "Update an existing expense")
     @ApiResponse(responseCode = "200", description = "Expense updated successfully")
@@ -91,4 +196,29 @@ public class ExpenseController {
         expenseService.deleteExpense(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PatchMapping
+    @Operation(summary = "Bulk update expenses", description = "Set the category and/or payment method of every expense " +
+            "matching the listing filters in one statement. At least one filter is required.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expenses updated; returns the affected count"),
+            @ApiResponse(responseCode = "400", description = "No filter or no field to update"),
+            @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<BulkExpenseResponse> updateExpenses(
+            @ParameterObject @Valid ExpenseFilterRequest filter,
+            @Valid @RequestBody BulkExpenseUpdateRequest request) {
+        return ResponseEntity.ok(expenseBulkService.updateExpenses(filter, request));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Bulk delete expenses", description = "Soft delete every expense matching the listing filters " +
+            "in one statement. At least one filter is required.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expenses deleted; returns the affected count"),
+            @ApiResponse(responseCode = "400", description = "No filter supplied")
+    })
+    public ResponseEntity<BulkExpenseResponse> deleteExpenses(@ParameterObject @Valid ExpenseFilterRequest filter) {
+        return ResponseEntity.ok(expenseBulkService.deleteExpenses(filter));
+    }
 }
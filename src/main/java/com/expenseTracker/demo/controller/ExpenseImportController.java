@@ -0,0 +1,62 @@
+package com.expenseTracker.demo.controller;
+
+import com.expenseTracker.demo.dto.request.ExpenseImportProfile;
+import com.expenseTracker.demo.dto.response.ExpenseImportResponse;
+import com.expenseTracker.demo.service.ExpenseImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/expenses/imports")
+@RequiredArgsConstructor
+@Tag(name = "Expense Imports", description = "Bulk expense import from CSV files and bank statements")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('USER')")
+public class ExpenseImportController {
+
+    private final ExpenseImportService expenseImportService;
+
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import expenses from CSV",
+            description = "Upload a CSV file as the raw request body. The file is imported in the background; poll the returned import for progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import accepted"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized file, or invalid column profile"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ExpenseImportResponse> startImport(
+            @ParameterObject @Valid ExpenseImportProfile profile,
+            HttpServletRequest request) throws IOException {
+        ExpenseImportResponse response = expenseImportService.startImport(
+                profile, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/expenses/imports/" + response.getId())
+                .body(response);
+    }
+
+    @GetMapping("/{importId}")
+    @Operation(summary = "Get import progress", description = "Rows read, imported and skipped so far, with the first row errors")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import status retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Import not found")
+    })
+    public ResponseEntity<ExpenseImportResponse> getImport(@PathVariable UUID importId) {
+        return ResponseEntity.ok(expenseImportService.getImport(importId));
+    }
+}
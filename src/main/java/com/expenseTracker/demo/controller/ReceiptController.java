@@ -1,12 +1,17 @@
 package com.expenseTracker.demo.controller;
 
-import com.expenseTracker.demo.entity.Receipt;
+import com.expenseTracker.demo.dto.request.UploadSessionRequest;
+import com.expenseTracker.demo.dto.response.ReceiptResponse;
+import com.expenseTracker.demo.dto.response.UploadSessionResponse;
 import com.expenseTracker.demo.service.FileStorageService;
+import com.expenseTracker.demo.service.ResumableUploadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -17,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.UUID;
 
 @RestController
@@ -28,6 +34,7 @@ import java.util.UUID;
 public class ReceiptController {
 
     private final FileStorageService fileStorageService;
+    private final ResumableUploadService resumableUploadService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload receipt", description = "Upload a receipt file for an expense")
@@ -37,10 +44,10 @@ public class ReceiptController {
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
-    public ResponseEntity<Receipt> uploadReceipt(
+    public ResponseEntity<ReceiptResponse> uploadReceipt(
             @PathVariable UUID expenseId,
             @RequestParam("file") MultipartFile file) {
-        Receipt receipt = fileStorageService.uploadReceipt(expenseId, file);
+        ReceiptResponse receipt = fileStorageService.uploadReceipt(expenseId, file);
         return ResponseEntity.status(HttpStatus.CREATED).body(receipt);
     }
 
@@ -59,4 +66,75 @@ public class ReceiptController {
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
                 .body(resource);
     }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Start resumable upload", description = "Create an upload session for sending a receipt in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload session created"),
+            @ApiResponse(responseCode = "400", description = "Invalid file type, size, or receipt already exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Expense not found")
+    })
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @PathVariable UUID expenseId,
+            @Valid @RequestBody UploadSessionRequest request) {
+        UploadSessionResponse response = resumableUploadService.createSession(expenseId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/uploads/{sessionId}")
+    @Operation(summary = "Get upload status", description = "Get the number of bytes received so an interrupted upload can resume")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload session retrieved"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    public ResponseEntity<UploadSessionResponse> getUploadSession(
+            @PathVariable UUID expenseId,
+            @PathVariable UUID sessionId) {
+        return ResponseEntity.ok(resumableUploadService.getSession(expenseId, sessionId));
+    }
+
+    @PutMapping(value = "/uploads/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload chunk", description = "Write a chunk of bytes at the offset given by the Upload-Offset header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chunk stored"),
+            @ApiResponse(responseCode = "400", description = "Offset mismatch or invalid chunk size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @PathVariable UUID expenseId,
+            @PathVariable UUID sessionId,
+            @RequestHeader("Upload-Offset") long offset,
+            HttpServletRequest request) throws IOException {
+        UploadSessionResponse response = resumableUploadService.appendChunk(
+                expenseId, sessionId, offset, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/uploads/{sessionId}/complete")
+    @Operation(summary = "Complete resumable upload", description = "Validate the uploaded file and attach it to the expense")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Receipt created"),
+            @ApiResponse(responseCode = "400", description = "Upload incomplete or content does not match declared type"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    public ResponseEntity<ReceiptResponse> completeUploadSession(
+            @PathVariable UUID expenseId,
+            @PathVariable UUID sessionId) {
+        ReceiptResponse response = resumableUploadService.completeSession(expenseId, sessionId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/uploads/{sessionId}")
+    @Operation(summary = "Cancel resumable upload", description = "Abort an upload session and delete the partial file")
+    @ApiResponse(responseCode = "204", description = "Upload session cancelled")
+    public ResponseEntity<Void> cancelUploadSession(
+            @PathVariable UUID expenseId,
+            @PathVariable UUID sessionId) {
+        resumableUploadService.cancelSession(expenseId, sessionId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.expenseTracker.demo.controller;
+
+import com.expenseTracker.demo.dto.response.SyncResponse;
+import com.expenseTracker.demo.service.SyncService;
+import com.expenseTracker.demo.util.Constants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync for offline clients")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('USER')")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(summary = "Get changes since a cursor",
+            description = "Returns expenses, categories and budgets created or updated since the cursor, plus the IDs of " +
+                    "deleted expenses and categories. Omit the cursor for a full download. Keep calling with nextCursor " +
+                    "while hasMore is true, then store it for the next sync. If resetRequired is true, discard local " +
+                    "data and apply the response as a full download")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<SyncResponse> sync(
+            @Parameter(description = "nextCursor from the previous sync") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum changes per entity type") @RequestParam(defaultValue = "" + Constants.Sync.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(syncService.sync(cursor, limit));
+    }
+}
@@ -0,0 +1,28 @@
+package com.expenseTracker.demo.datasource;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Marks the threads of the analytics execution lane. Read-only connections opened on them
+ * come from the analytics pool, so analytics load cannot take connections from writes.
+ */
+public final class AnalyticsLane {
+
+    private static final ThreadLocal<Boolean> CURRENT = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private AnalyticsLane() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static ThreadFactory threadFactory() {
+        ThreadFactory threads = Thread.ofPlatform().name("analytics-", 1).daemon().factory();
+        return task -> threads.newThread(() -> {
+            CURRENT.set(Boolean.TRUE);
+            task.run();
+        });
+    }
+
+    public static boolean isCurrentThread() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,101 @@
+package com.expenseTracker.demo.datasource;
+
+import com.expenseTracker.demo.util.Constants;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+
+/**
+ * Applies the {@link RequestDeadline} to every statement: before it executes, its query timeout
+ * is lowered to the time the request has left (rounded up to whole seconds, as JDBC requires),
+ * and once the deadline has passed it fails with {@link SQLTimeoutException} instead of running.
+ * Both surface as Spring's {@code QueryTimeoutException}. Timeouts already set on the statement,
+ * such as a transaction timeout, still apply when they are shorter.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) proxy(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) proxy(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new DeadlineInvocationHandler(target));
+    }
+
+    private static void applyDeadline(Statement statement) throws SQLException {
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (remaining.getAsLong() <= 0) {
+            throw new SQLTimeoutException(Constants.ErrorMessages.DEADLINE_EXCEEDED);
+        }
+        int seconds = (int) Math.ceilDiv(remaining.getAsLong(), 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > seconds) {
+            statement.setQueryTimeout(seconds);
+        }
+    }
+
+    /**
+     * Wraps the statements a connection creates, and applies the deadline when a statement executes.
+     */
+    private record DeadlineInvocationHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    if (target instanceof Statement statement && method.getName().startsWith("execute")) {
+                        applyDeadline(statement);
+                    }
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (target instanceof Connection && result instanceof Statement statement
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(method.getReturnType(), statement);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.expenseTracker.demo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chooses the pool for a read-only transaction:
+ * <ul>
+ *     <li>the analytics pool, on analytics lane threads, even for a user who wrote recently, so
+ *     analytics load never falls back onto the primary;</li>
+ *     <li>the primary, if the current user wrote recently and must read their own writes;</li>
+ *     <li>otherwise the replica, or the primary when no replica is configured.</li>
+ * </ul>
+ * Read-write connections never reach this class; the lazy proxy in front of it sends them to
+ * the primary directly.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA, ANALYTICS }
+
+    private final ReadYourWritesTracker tracker;
+    private final Target defaultRead;
+    private final Map<Target, Counter> reads = new HashMap<>();
+
+    /**
+     * @param replica the replica pool, or null to read from the primary
+     * @param tracker recent writers to pin to the primary, or null when there is no replica
+     */
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, DataSource analytics,
+                                     ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.defaultRead = replica != null ? Target.REPLICA : Target.PRIMARY;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.ANALYTICS, analytics);
+        if (replica != null) {
+            targets.put(Target.REPLICA, replica);
+        }
+        for (Object target : targets.keySet()) {
+            reads.put((Target) target, meterRegistry.counter("datasource.routing.reads",
+                    "target", target.toString().toLowerCase()));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target;
+        if (AnalyticsLane.isCurrentThread()) {
+            target = Target.ANALYTICS;
+        } else if (tracker != null && tracker.isCurrentUserPinned()) {
+            target = Target.PRIMARY;
+        } else {
+            target = defaultRead;
+        }
+        reads.get(target).increment();
+        return target;
+    }
+}
@@ -0,0 +1,65 @@
+package com.expenseTracker.demo.datasource;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Holds the deadline of the request being served on the current thread. Statements executed
+ * through {@link DeadlineDataSource} are given the time left as their query timeout, so work
+ * for a request stops once its deadline has passed.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /** Sets the deadline, as a {@link System#nanoTime()} value, for the current thread. */
+    public static void set(long deadlineNanos) {
+        CURRENT.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Milliseconds left before the deadline (zero or negative once it has passed), empty when there is none. */
+    public static OptionalLong remainingMillis() {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    public static boolean isExpired() {
+        Long deadline = CURRENT.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Wraps the task so it runs under the current thread's deadline on whichever thread executes it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.expenseTracker.demo.dto.request;
+
+import com.expenseTracker.demo.util.Constants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Operations are validated one by one and reported per item, so a bad item does not reject
+ * the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchExpenseRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = Constants.Batch.MAX_OPERATIONS, message = "Too many operations in one batch")
+    private List<Operation> operations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+
+        private Type op;
+
+        // Target expense for UPDATE, DELETE and GET
+        private UUID id;
+
+        // Payload for CREATE and UPDATE
+        private ExpenseRequest expense;
+    }
+
+    public enum Type {
+        CREATE, UPDATE, DELETE, GET
+    }
+}
@@ -0,0 +1,24 @@
+package com.expenseTracker.demo.dto.request;
+
+import com.expenseTracker.demo.entity.Expense;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Fields to set on every expense matching a bulk update's filters; omitted fields are left
+ * unchanged, but at least one is required.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseUpdateRequest {
+
+    private UUID categoryId;
+
+    private Expense.PaymentMethod paymentMethod;
+}
@@ -0,0 +1,17 @@
+package com.expenseTracker.demo.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMergeRequest {
+
+    @NotNull(message = "Target category is required")
+    private UUID targetCategoryId;
+}
@@ -0,0 +1,65 @@
+package com.expenseTracker.demo.dto.request;
+
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.util.Constants;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional expense filters bound from query parameters. Only the supplied filters become
+ * predicates (see {@code ExpenseSpecifications.withFilters}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseFilterRequest {
+
+    @Parameter(description = "Category ID filter")
+    private UUID categoryId;
+
+    @Parameter(description = "Match any of these category IDs (repeat or comma-separate)")
+    private List<UUID> categoryIds;
+
+    @Parameter(description = "Start date filter (yyyy-MM-dd)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @Parameter(description = "End date filter (yyyy-MM-dd)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    @Parameter(description = "Minimum amount filter")
+    private BigDecimal minAmount;
+
+    @Parameter(description = "Maximum amount filter")
+    private BigDecimal maxAmount;
+
+    @Parameter(description = "Match any of these payment methods (repeat or comma-separate)")
+    private List<Expense.PaymentMethod> paymentMethods;
+
+    @Parameter(description = "Case-insensitive text the description must contain")
+    @Size(max = Constants.Validation.DESCRIPTION_MAX_LENGTH, message = "Description filter is too long")
+    private String description;
+
+    public boolean hasCriteria() {
+        return categoryId != null
+                || (categoryIds != null && !categoryIds.isEmpty())
+                || startDate != null
+                || endDate != null
+                || minAmount != null
+                || maxAmount != null
+                || (paymentMethods != null && !paymentMethods.isEmpty())
+                || (description != null && !description.isBlank());
+    }
+}
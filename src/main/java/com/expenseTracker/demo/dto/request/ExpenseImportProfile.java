@@ -0,0 +1,80 @@
+package com.expenseTracker.demo.dto.request;
+
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.util.Constants;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Describes how the columns of an imported CSV map onto expense fields. Columns are referenced
+ * by header name (case-insensitive) or, for files without a header row, by zero-based index.
+ * The defaults match a {@code date,amount,description,category,paymentMethod,notes} layout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportProfile {
+
+    @Parameter(description = "Field delimiter: a single character such as , or ; or a tab (%09)")
+    @Size(min = 1, max = 1, message = "Delimiter must be a single character")
+    @Builder.Default
+    private String delimiter = ",";
+
+    @Parameter(description = "Whether the first row holds column names")
+    @Builder.Default
+    private boolean header = true;
+
+    @Parameter(description = "Date column")
+    @NotBlank(message = "Date column is required")
+    @Builder.Default
+    private String dateColumn = "date";
+
+    @Parameter(description = "Date format of the date column (java.time pattern)")
+    @NotBlank(message = "Date format is required")
+    @Builder.Default
+    private String dateFormat = "yyyy-MM-dd";
+
+    @Parameter(description = "Amount column")
+    @NotBlank(message = "Amount column is required")
+    @Builder.Default
+    private String amountColumn = "amount";
+
+    @Parameter(description = "Bank statements list spending as negative amounts: negate them and skip credits")
+    @Builder.Default
+    private boolean negateAmounts = false;
+
+    @Parameter(description = "Description column (optional)")
+    @Builder.Default
+    private String descriptionColumn = "description";
+
+    @Parameter(description = "Category name column (optional)")
+    @Builder.Default
+    private String categoryColumn = "category";
+
+    @Parameter(description = "Payment method column (optional)")
+    @Builder.Default
+    private String paymentMethodColumn = "paymentMethod";
+
+    @Parameter(description = "Notes column (optional)")
+    @Builder.Default
+    private String notesColumn = "notes";
+
+    @Parameter(description = "Category for rows without a known category; created if missing")
+    @NotBlank(message = "Default category is required")
+    @Size(max = Constants.Validation.CATEGORY_NAME_MAX_LENGTH, message = "Default category name is too long")
+    @Builder.Default
+    private String defaultCategory = "Other";
+
+    @Parameter(description = "Create categories named in the file that do not exist yet instead of using the default category")
+    @Builder.Default
+    private boolean createCategories = false;
+
+    @Parameter(description = "Payment method for rows without a recognised one")
+    private Expense.PaymentMethod defaultPaymentMethod;
+}
@@ -0,0 +1,29 @@
+package com.expenseTracker.demo.dto.request;
+
+import com.expenseTracker.demo.util.Constants;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+
+    @NotBlank(message = "File name is required")
+    @Size(max = 255, message = "File name is too long")
+    private String fileName;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be greater than 0")
+    @Max(value = Constants.FileUpload.MAX_RESUMABLE_FILE_SIZE, message = "File size exceeds maximum allowed size")
+    private Long totalSize;
+}
@@ -0,0 +1,40 @@
+package com.expenseTracker.demo.dto.response;
+
+import com.expenseTracker.demo.dto.request.BatchExpenseRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchExpenseResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+
+        private int index;
+        private BatchExpenseRequest.Type op;
+
+        // HTTP status the equivalent single-item request would have returned
+        private int status;
+
+        private UUID id;
+        private ExpenseResponse expense;
+        private String error;
+    }
+}
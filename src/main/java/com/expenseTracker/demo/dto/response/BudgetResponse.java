@@ -0,0 +1,33 @@
+package com.expenseTracker.demo.dto.response;
+
+import com.expenseTracker.demo.entity.CategoryBudget;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetResponse {
+
+    private UUID id;
+    private UUID categoryId;
+    private String categoryName;
+    private BigDecimal monthlyLimit;
+    private Integer alertThreshold;
+
+    public static BudgetResponse from(CategoryBudget budget) {
+        return BudgetResponse.builder()
+                .id(budget.getId())
+                .categoryId(budget.getCategory().getId())
+                .categoryName(budget.getCategory().getName())
+                .monthlyLimit(budget.getMonthlyLimit())
+                .alertThreshold(budget.getAlertThreshold())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.expenseTracker.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMergeResponse {
+
+    private CategoryResponse category;
+    private int expensesMoved;
+
+    // False when the source had no budget or the target kept its own
+    private boolean budgetMoved;
+}
@@ -1,11 +1,14 @@
 package com.expenseTracker.demo.dto.response;
 
 import com.expenseTracker.demo.entity.Category;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.UUID;
 
 @Data
@@ -19,6 +22,28 @@ public class CategoryResponse {
     private String description;
     private String colorCode;
 
+    // Usage stats, only present when requested with includeStats
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long expenseCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal currentMonthTotal;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal monthlyLimit;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double budgetUsedPercent;
+
+    public CategoryResponse(UUID id, String name, String description, String colorCode,
+                            Long expenseCount, BigDecimal currentMonthTotal, BigDecimal monthlyLimit) {
+        this(id, name, description, colorCode, expenseCount, currentMonthTotal, monthlyLimit,
+                monthlyLimit != null && monthlyLimit.signum() > 0
+                        ? currentMonthTotal.multiply(BigDecimal.valueOf(100))
+                                .divide(monthlyLimit, 1, RoundingMode.HALF_UP).doubleValue()
+                        : null);
+    }
+
     public static CategoryResponse from(Category category) {
         return CategoryResponse.builder()
                 .id(category.getId())
@@ -0,0 +1,36 @@
+package com.expenseTracker.demo.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Every analytics section of the dashboard, computed in one request")
+public class DashboardResponse {
+
+    @Schema(description = "Total and count for the month")
+    private MonthlySummaryResponse monthlySummary;
+
+    @Schema(description = "Spending by category for the month")
+    private List<CategoryBreakdownItem> categoryBreakdown;
+
+    @Schema(description = "Daily spending for the month")
+    private List<Map<String, Object>> dailyTrend;
+
+    @Schema(description = "The user's highest expense")
+    private ExpenseResponse highestExpense;
+
+    @Schema(description = "Trend analysis and category comparisons")
+    private InsightsResponse insights;
+
+    @Schema(description = "Time each section took to compute, in milliseconds")
+    private Map<String, Long> sectionMillis;
+}
@@ -0,0 +1,28 @@
+package com.expenseTracker.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DescriptionSuggestionResponse {
+
+    private String description;
+    private BigDecimal lastAmount;
+    private UUID categoryId;
+    private String categoryName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate lastUsed;
+
+    private int useCount;
+}
@@ -34,6 +34,14 @@ public class ExpenseResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
+    // Target of the constructor projections in ExpenseRepository, which select the enum itself
+    public ExpenseResponse(UUID id, UUID categoryId, String categoryName, String categoryColor, BigDecimal amount,
+                           String description, LocalDate expenseDate, Expense.PaymentMethod paymentMethod,
+                           String notes, LocalDateTime createdAt) {
+        this(id, categoryId, categoryName, categoryColor, amount, description, expenseDate,
+                paymentMethod != null ? paymentMethod.name() : null, notes, createdAt);
+    }
+
     public static ExpenseResponse from(Expense expense) {
         return ExpenseResponse.builder()
                 .id(expense.getId())
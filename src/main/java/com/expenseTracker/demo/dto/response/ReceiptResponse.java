@@ -0,0 +1,38 @@
+package com.expenseTracker.demo.dto.response;
+
+import com.expenseTracker.demo.entity.Receipt;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptResponse {
+
+    private UUID id;
+    private UUID expenseId;
+    private String fileName;
+    private Long fileSize;
+    private String fileType;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime uploadedAt;
+
+    public static ReceiptResponse from(Receipt receipt, UUID expenseId) {
+        return ReceiptResponse.builder()
+                .id(receipt.getId())
+                .expenseId(expenseId)
+                .fileName(receipt.getFileName())
+                .fileSize(receipt.getFileSize())
+                .fileType(receipt.getFileType())
+                .uploadedAt(receipt.getUploadedAt())
+                .build();
+    }
+}
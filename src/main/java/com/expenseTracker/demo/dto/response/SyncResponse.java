@@ -0,0 +1,32 @@
+package com.expenseTracker.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    private List<ExpenseResponse> expenses;
+    private List<CategoryResponse> categories;
+    private List<BudgetResponse> budgets;
+    private Deleted deleted;
+    private String nextCursor;
+    private boolean hasMore;
+    private boolean resetRequired;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private List<UUID> expenses;
+        private List<UUID> categories;
+    }
+}
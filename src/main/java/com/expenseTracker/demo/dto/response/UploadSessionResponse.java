@@ -0,0 +1,40 @@
+package com.expenseTracker.demo.dto.response;
+
+import com.expenseTracker.demo.entity.UploadSession;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+
+    private UUID id;
+    private UUID expenseId;
+    private String fileType;
+    private long totalSize;
+    private long bytesReceived;
+    private long maxChunkSize;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime expiresAt;
+
+    public static UploadSessionResponse from(UploadSession session, UUID expenseId, long maxChunkSize) {
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .expenseId(expenseId)
+                .fileType(session.getFileType())
+                .totalSize(session.getTotalSize())
+                .bytesReceived(session.getBytesReceived())
+                .maxChunkSize(maxChunkSize)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -3,11 +3,14 @@ package com.expenseTracker.demo.entity;
 import com.expenseTracker.demo.util.Constants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "categories", 
     indexes = {
-        @Index(name = "idx_category_user", columnList = "user_id")
+        @Index(name = "idx_category_user", columnList = "user_id"),
+        @Index(name = "idx_category_user_updated", columnList = "user_id, updated_at, id")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "uk_user_category_name", columnNames = {"user_id", "name"})
@@ -18,6 +21,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.Cache.REGION_CATEGORIES)
 public class Category extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
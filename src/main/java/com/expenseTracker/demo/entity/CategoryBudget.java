@@ -3,6 +3,8 @@ package com.expenseTracker.demo.entity;
 import com.expenseTracker.demo.util.Constants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -17,6 +19,8 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.Cache.REGION_CATEGORY_BUDGETS)
 public class CategoryBudget extends BaseEntity {
 
     @OneToOne(fetch = FetchType.LAZY, optional = false)
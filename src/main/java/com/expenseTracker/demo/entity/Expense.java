@@ -8,13 +8,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses",
-    indexes = {
-        @Index(name = "idx_expense_user_date", columnList = "user_id, expense_date DESC"),
-        @Index(name = "idx_expense_user_category", columnList = "user_id, category_id"),
-        @Index(name = "idx_expense_user_amount", columnList = "user_id, amount")
-    }
-)
+// Range-partitioned by expense_date with partial indexes, all managed by Flyway; see db/migration
+@Table(name = "expenses")
 @Getter
 @Setter
 @NoArgsConstructor
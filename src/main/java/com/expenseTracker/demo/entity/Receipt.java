@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "receipts",
     indexes = {
-        @Index(name = "idx_receipt_expense", columnList = "expense_id", unique = true)
+        @Index(name = "idx_receipt_expense", columnList = "expense_id", unique = true),
+        @Index(name = "idx_receipt_file_name", columnList = "file_name")
     }
 )
 @Getter
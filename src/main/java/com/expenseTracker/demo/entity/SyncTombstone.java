@@ -0,0 +1,39 @@
+package com.expenseTracker.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Records a hard delete so delta sync can tell clients to drop the row. Expenses are
+ * soft-deleted and sync reports them from the row itself; only categories need a tombstone.
+ * The tombstone's {@code createdAt} is the delete time.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+    indexes = {
+        @Index(name = "idx_tombstone_user_created", columnList = "user_id, created_at, id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    public enum EntityType {
+        CATEGORY
+    }
+}
@@ -3,6 +3,10 @@ package com.expenseTracker.demo.entity;
 import com.expenseTracker.demo.util.Constants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,8 +23,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.Cache.REGION_USERS)
+@NaturalIdCache(region = Constants.Cache.REGION_USER_EMAILS)
 public class User extends BaseEntity implements UserDetails {
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = Constants.Validation.EMAIL_MAX_LENGTH)
     private String email;
 
@@ -0,0 +1,161 @@
+package com.expenseTracker.demo.filter;
+
+import com.expenseTracker.demo.dto.response.ErrorResponse;
+import com.expenseTracker.demo.util.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Sheds API requests beyond what the server can currently sustain instead of letting them
+ * queue for threads and connections. Each endpoint group has its own {@link GradientLimit},
+ * learned from the latency of the requests it admits; a request over its group's limit is
+ * answered 503 with {@code Retry-After} before authentication or any database work. Analytics
+ * is also shed while writes are in flight and congested, so writes keep the capacity. Uploads,
+ * imports, batches and downloads are slow by design, so they form their own group and their
+ * latency does not read as write congestion.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    enum Group { AUTH, WRITES, READS, ANALYTICS, BULK }
+
+    private static final List<PathPattern> BULK_ROUTES = Stream.of(
+                    "/api/expenses/batch",
+                    "/api/expenses/export",
+                    "/api/expenses/imports/**",
+                    "/api/expenses/*/receipt/**",
+                    "/api/account/**")
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private final boolean enabled;
+    private final JsonMapper jsonMapper;
+    private final Map<Group, Lane> lanes = new EnumMap<>(Group.class);
+
+    public AdaptiveConcurrencyFilter(
+            @Value("${concurrency.enabled:true}") boolean enabled,
+            @Value("${concurrency.initial-limit:20}") int initialLimit,
+            @Value("${concurrency.min-limit:4}") int minLimit,
+            @Value("${concurrency.max-limit:200}") int maxLimit,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.jsonMapper = jsonMapper;
+        for (Group group : Group.values()) {
+            Lane lane = new Lane(new GradientLimit(initialLimit, minLimit, maxLimit),
+                    meterRegistry.counter("concurrency.shed", "group", tag(group)));
+            Gauge.builder("concurrency.limit", lane.limit, GradientLimit::getLimit)
+                    .tag("group", tag(group))
+                    .register(meterRegistry);
+            Gauge.builder("concurrency.inflight", lane.inflight, AtomicInteger::get)
+                    .tag("group", tag(group))
+                    .register(meterRegistry);
+            lanes.put(group, lane);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Group group = groupOf(request);
+        Lane lane = lanes.get(group);
+
+        int inflight = lane.inflight.incrementAndGet();
+        if (inflight > lane.limit.getLimit() || (group == Group.ANALYTICS && writesCongested())) {
+            lane.inflight.decrementAndGet();
+            lane.shed.increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = !request.isAsyncStarted() && response.getStatus() < 500;
+        } finally {
+            // Streamed and failed responses say nothing about capacity; release without a sample
+            if (completed) {
+                lane.limit.onSample(System.nanoTime() - start, inflight);
+            }
+            lane.inflight.decrementAndGet();
+        }
+    }
+
+    private boolean writesCongested() {
+        Lane writes = lanes.get(Group.WRITES);
+        return writes.inflight.get() > 0 && writes.limit.isCongested();
+    }
+
+    static Group groupOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return Group.AUTH;
+        }
+        if (path.startsWith("/api/analytics/")) {
+            return Group.ANALYTICS;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        if (BULK_ROUTES.stream().anyMatch(route -> route.matches(container))) {
+            return Group.BULK;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? Group.READS : Group.WRITES;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(Constants.ErrorMessages.SERVER_BUSY)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String tag(Group group) {
+        return group.name().toLowerCase();
+    }
+
+    private record Lane(GradientLimit limit, AtomicInteger inflight, Counter shed) {
+        Lane(GradientLimit limit, Counter shed) {
+            this(limit, new AtomicInteger(), shed);
+        }
+    }
+}
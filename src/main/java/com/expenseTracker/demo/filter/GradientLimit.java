@@ -0,0 +1,95 @@
+package com.expenseTracker.demo.filter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit learned from request latency, after the gradient algorithm: a slow
+ * moving average of round-trip time stands in for the unloaded latency, and the limit is
+ * scaled by how far recent latency has drifted from it. While latency holds steady the limit
+ * grows by a queue allowance of its square root; once requests queue and latency rises past the
+ * tolerance, the gradient drops below 1 and the limit shrinks multiplicatively. At the lowest
+ * gradient the limit settles where half of it equals its square root, 4, so the minimum can bind.
+ * Congestion is only reported while samples keep arriving; a limit with no recent completions
+ * says nothing about current latency.
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final int WARMUP_SAMPLES = 10;
+    private static final long CONGESTION_EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+    private double gradient = 1.0;
+    private long lastSampleNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    /**
+     * True while recent latency is above the tolerated multiple of the baseline.
+     */
+    public boolean isCongested() {
+        return isCongested(System.nanoTime());
+    }
+
+    synchronized boolean isCongested(long nowNanos) {
+        return gradient < 1.0 && nowNanos - lastSampleNanos < CONGESTION_EXPIRY_NANOS;
+    }
+
+    /**
+     * Records a completed request that took {@code rttNanos} with {@code inflight} requests
+     * running, including itself.
+     */
+    public void onSample(long rttNanos, int inflight) {
+        onSample(rttNanos, inflight, System.nanoTime());
+    }
+
+    synchronized void onSample(long rttNanos, int inflight, long nowNanos) {
+        lastSampleNanos = nowNanos;
+        samples++;
+        shortRtt = average(shortRtt, rttNanos, SHORT_WINDOW);
+        longRtt = average(longRtt, rttNanos, samples <= WARMUP_SAMPLES ? (int) samples : LONG_WINDOW);
+        if (samples <= WARMUP_SAMPLES) {
+            return;
+        }
+
+        // A baseline far above recent latency is stale (load dropped); let it catch up
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+
+        // Only grow when the limit is actually being used
+        if (gradient == 1.0 && inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    private double average(double current, double sample, int window) {
+        if (samples == 1) {
+            return sample;
+        }
+        return current + (sample - current) / window;
+    }
+}
@@ -0,0 +1,101 @@
+package com.expenseTracker.demo.filter;
+
+import com.expenseTracker.demo.config.RequestDeadlineProperties;
+import com.expenseTracker.demo.datasource.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the deadline of each API request as it arrives: the client's {@value #TIMEOUT_HEADER}
+ * (milliseconds, capped at the configured maximum) or else the timeout of the most specific
+ * matching route. The deadline bounds the statements the request runs; requests still running
+ * when it passes are counted per route in {@code request.deadline.exceeded}.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final RequestDeadlineProperties properties;
+    private final List<Map.Entry<PathPattern, Duration>> routes;
+    private final MeterRegistry meterRegistry;
+
+    public RequestDeadlineFilter(RequestDeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.routes().entrySet().stream()
+                .map(route -> Map.entry(PathPatternParser.defaultInstance.parse(route.getKey()), route.getValue()))
+                .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Duration timeout = timeoutOf(request);
+        if (timeout.isZero() || timeout.isNegative()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline.set(System.nanoTime() + timeout.toNanos());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (RequestDeadline.isExpired()) {
+                meterRegistry.counter("request.deadline.exceeded", "route", routeOf(request)).increment();
+            }
+            RequestDeadline.clear();
+        }
+    }
+
+    Duration timeoutOf(HttpServletRequest request) {
+        String requested = request.getHeader(TIMEOUT_HEADER);
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.trim());
+                if (millis > 0) {
+                    Duration timeout = Duration.ofMillis(millis);
+                    return timeout.compareTo(properties.maxTimeout()) > 0 ? properties.maxTimeout() : timeout;
+                }
+            } catch (NumberFormatException ignored) {
+                // An unreadable header falls back to the route's timeout
+            }
+        }
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return routes.stream()
+                .filter(route -> route.getKey().matches(path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(properties.defaultTimeout());
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -2,16 +2,28 @@ package com.expenseTracker.demo.repository;
 
 import com.expenseTracker.demo.entity.Category;
 import com.expenseTracker.demo.entity.CategoryBudget;
+import com.expenseTracker.demo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, UUID> {
 
+    // Runs on every expense write (budget alerts); served by the query cache until category_budgets changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoryBudget> findByCategory(Category category);
 
     boolean existsByCategory(Category category);
+
+    @Query("SELECT b FROM CategoryBudget b JOIN FETCH b.category c WHERE c.user = :user ORDER BY c.name")
+    List<CategoryBudget> findByUserWithCategory(@Param("user") User user);
 }
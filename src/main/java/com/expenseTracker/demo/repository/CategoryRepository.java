@@ -1,10 +1,15 @@
 package com.expenseTracker.demo.repository;
 
+import com.expenseTracker.demo.dto.response.CategoryResponse;
 import com.expenseTracker.demo.entity.Category;
 import com.expenseTracker.demo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,9 +19,38 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     List<Category> findByUserOrderByNameAsc(User user);
 
-    Optional<Category> findByIdAndUser(UUID id, User user);
+    /**
+     * Loads by primary key so the second-level cache can answer without a SELECT, then checks
+     * ownership on the cached entity (the user association is not initialized for this).
+     */
+    default Optional<Category> findByIdAndUser(UUID id, User user) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(id).filter(category -> category.getUser().getId().equals(user.getId()));
+    }
+
+    List<Category> findByUserAndIdIn(User user, Collection<UUID> ids);
 
     boolean existsByUserAndName(User user, String name);
 
     long countByUser(User user);
+
+    // All of the user's categories with usage in one grouped pass; the LEFT JOINs keep
+    // categories without expenses or budgets
+    @Query("SELECT new com.expenseTracker.demo.dto.response.CategoryResponse(" +
+           "c.id, c.name, c.description, c.colorCode, COUNT(e.id), " +
+           "COALESCE(SUM(CASE WHEN e.expenseDate >= :monthStart AND e.expenseDate < :monthEnd THEN e.amount END), 0), " +
+           "b.monthlyLimit) " +
+           "FROM Category c " +
+           "LEFT JOIN Expense e ON e.category = c AND e.user = :user AND e.isDeleted = false " +
+           "LEFT JOIN CategoryBudget b ON b.category = c " +
+           "WHERE c.user = :user " +
+           "GROUP BY c.id, c.name, c.description, c.colorCode, b.monthlyLimit " +
+           "ORDER BY c.name ASC")
+    List<CategoryResponse> findWithStatsByUser(
+            @Param("user") User user,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("monthEnd") LocalDate monthEnd
+    );
 }
@@ -0,0 +1,110 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.entity.Expense;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes over every active expense matching the listing filters. Each operation is
+ * one UPDATE scoped to the user, so the cost does not grow with a round trip per row.
+ * {@code updated_at} is set explicitly because these statements bypass Hibernate's timestamps
+ * and delta sync pages by that column.
+ *
+ * <p>The filtered UPDATEs return the months of the rows they changed, for cache eviction.
+ * Reading them from the statement itself rather than a SELECT beforehand means a row written
+ * between the two cannot be missed. PostgreSQL counts the rows of {@code UPDATE ... RETURNING}
+ * per month; H2, which the tests run on, has no RETURNING and does the same over a
+ * {@code FINAL TABLE}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExpenseBulkRepository {
+
+    private static final String ACTIVE = " WHERE e.user_id = :userId AND e.is_deleted = false";
+
+    private static final String MONTHS =
+            "SELECT EXTRACT(YEAR FROM expense_date) AS y, EXTRACT(MONTH FROM expense_date) AS m, COUNT(*) AS n";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /** Rows changed by a bulk statement and the distinct months they fall in. */
+    public record Affected(int rows, List<YearMonth> months) {
+    }
+
+    /**
+     * Sets the category and/or payment method of the matching expenses; null values are left
+     * unchanged.
+     */
+    public Affected update(UUID userId, ExpenseFilterRequest filter, UUID categoryId,
+                      Expense.PaymentMethod paymentMethod, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("now", now);
+        StringBuilder sql = new StringBuilder("UPDATE expenses e SET updated_at = :now");
+        if (categoryId != null) {
+            sql.append(", category_id = :newCategoryId");
+            params.addValue("newCategoryId", categoryId);
+        }
+        if (paymentMethod != null) {
+            sql.append(", payment_method = :newPaymentMethod");
+            params.addValue("newPaymentMethod", paymentMethod.name());
+        }
+        sql.append(ACTIVE).append(ExpenseSearchRepository.filterConditions(filter, params));
+        return updateByMonth(sql.toString(), params);
+    }
+
+    /**
+     * Soft-deletes the matching expenses.
+     */
+    public Affected softDelete(UUID userId, ExpenseFilterRequest filter, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("now", now);
+        String conditions = ExpenseSearchRepository.filterConditions(filter, params);
+        return updateByMonth("UPDATE expenses e SET is_deleted = true, updated_at = :now" + ACTIVE + conditions, params);
+    }
+
+    /**
+     * Points the user's soft-deleted expenses in one category at another so the category can be
+     * deleted before they are purged. {@code updated_at} is left alone; sync already reported them.
+     */
+    public int reassignDeleted(UUID userId, UUID sourceCategoryId, UUID targetCategoryId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("sourceId", sourceCategoryId)
+                .addValue("targetId", targetCategoryId);
+        return jdbcTemplate.update("UPDATE expenses SET category_id = :targetId" +
+                " WHERE user_id = :userId AND category_id = :sourceId AND is_deleted = true", params);
+    }
+
+    private Affected updateByMonth(String update, MapSqlParameterSource params) {
+        String sql = isPostgres()
+                ? "WITH changed AS (" + update + " RETURNING e.expense_date) " + MONTHS + " FROM changed GROUP BY y, m"
+                : MONTHS + " FROM FINAL TABLE (" + update + ") GROUP BY y, m";
+        int[] rows = {0};
+        List<YearMonth> months = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            rows[0] += rs.getInt("n");
+            return YearMonth.of(rs.getInt("y"), rs.getInt("m"));
+        });
+        return new Affected(rows[0], months);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
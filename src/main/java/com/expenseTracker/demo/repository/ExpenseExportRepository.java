@@ -0,0 +1,77 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads a user's expenses for export through one forward-only cursor. The driver fetches
+ * {@code exports.fetch-size} rows per round trip and each row is handed to the caller and
+ * dropped, so memory does not depend on the number of rows. PostgreSQL only uses a cursor
+ * when the fetch size is set and the query runs inside a transaction; call this from one.
+ */
+@Repository
+public class ExpenseExportRepository {
+
+    private static final String SELECT =
+            "SELECT e.id, c.id AS category_id, c.name AS category_name, c.color_code, e.amount, e.description," +
+            " e.expense_date, e.payment_method, e.notes, e.created_at" +
+            " FROM expenses e LEFT JOIN categories c ON c.id = e.category_id" +
+            " WHERE e.user_id = :userId AND e.is_deleted = false";
+
+    private static final String SELECT_RECEIPTS =
+            "SELECT r.expense_id, r.file_name, r.file_path, r.file_size" +
+            " FROM receipts r JOIN expenses e ON e.id = r.expense_id" +
+            " WHERE e.user_id = :userId AND e.is_deleted = false AND r.expense_id > :afterExpenseId" +
+            " ORDER BY r.expense_id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ExpenseExportRepository(DataSource dataSource, @Value("${exports.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Passes every matching expense to {@code action}, newest first, with the same optional
+     * filters as the listing endpoints.
+     */
+    public void forEach(UUID userId, ExpenseFilterRequest filter, Consumer<ExpenseResponse> action) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("userId", userId);
+        String conditions = ExpenseSearchRepository.filterConditions(filter, params);
+
+        RowCallbackHandler handler = rs -> action.accept(ExpenseSearchRepository.ROW_MAPPER.mapRow(rs, rs.getRow()));
+        jdbcTemplate.query(SELECT + conditions + " ORDER BY e.expense_date DESC, e.id DESC", params, handler);
+    }
+
+    /**
+     * The next page of stored files of receipts attached to the user's active expenses, after
+     * {@code afterExpenseId} in expense id order. Each receipt belongs to one expense, so the
+     * expense id is the keyset; start from {@code new UUID(0, 0)}.
+     */
+    public List<ReceiptFile> findReceipts(UUID userId, UUID afterExpenseId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("afterExpenseId", afterExpenseId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_RECEIPTS, params, (rs, rowNum) -> new ReceiptFile(
+                rs.getObject("expense_id", UUID.class),
+                rs.getString("file_name"),
+                rs.getString("file_path"),
+                rs.getLong("file_size")));
+    }
+
+    public record ReceiptFile(UUID expenseId, String fileName, String filePath, long fileSize) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.entity.Expense;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Bulk insert path for imports. Rows skip the persistence context entirely (no dirty checking,
+ * no first-level cache growth) and go out as one JDBC batch per call; with the driver's
+ * {@code reWriteBatchedInserts} the batch becomes a few multi-row INSERT statements.
+ * Callers assign ids and timestamps themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExpenseImportRepository {
+
+    private static final String INSERT =
+            "INSERT INTO expenses (id, created_at, updated_at, user_id, category_id, amount, description," +
+            " expense_date, payment_method, notes, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertBatch(List<Expense> expenses) {
+        jdbcTemplate.batchUpdate(INSERT, expenses, expenses.size(), (ps, expense) -> {
+            ps.setObject(1, expense.getId());
+            ps.setObject(2, expense.getCreatedAt());
+            ps.setObject(3, expense.getUpdatedAt());
+            ps.setObject(4, expense.getUser().getId());
+            ps.setObject(5, expense.getCategory().getId());
+            ps.setBigDecimal(6, expense.getAmount());
+            ps.setString(7, expense.getDescription());
+            ps.setObject(8, expense.getExpenseDate());
+            ps.setString(9, expense.getPaymentMethod() != null ? expense.getPaymentMethod().name() : null);
+            ps.setString(10, expense.getNotes());
+        });
+    }
+}
@@ -1,71 +1,82 @@
 package com.expenseTracker.demo.repository;
 
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
 import com.expenseTracker.demo.entity.Category;
 import com.expenseTracker.demo.entity.Expense;
 import com.expenseTracker.demo.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
+public interface ExpenseRepository extends JpaRepository<Expense, UUID>, JpaSpecificationExecutor<Expense>,
+        ExpenseRepositoryCustom {
 
     Optional<Expense> findByIdAndUserAndIsDeletedFalse(UUID id, User user);
 
-    Page<Expense> findByUserAndIsDeletedFalse(User user, Pageable pageable);
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.category " +
+           "WHERE e.user = :user AND e.isDeleted = false AND e.id IN :ids")
+    List<Expense> findActiveByUserAndIdIn(@Param("user") User user, @Param("ids") Collection<UUID> ids);
 
-    @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.isDeleted = false " +
-           "AND (:categoryId IS NULL OR e.category.id = :categoryId) " +
-           "AND (:startDate IS NULL OR e.expenseDate >= :startDate) " +
-           "AND (:endDate IS NULL OR e.expenseDate <= :endDate) " +
-           "AND (:minAmount IS NULL OR e.amount >= :minAmount) " +
-           "AND (:maxAmount IS NULL OR e.amount <= :maxAmount)")
-    Page<Expense> findByFilters(
-            @Param("user") User user,
-            @Param("categoryId") UUID categoryId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount,
-            Pageable pageable
-    );
+    // Read paths select straight into the response DTO with the category joined in, so listing
+    // a page is one statement (plus the count when requested) and no entities are hydrated.
+    String RESPONSE_SELECT = "SELECT new com.expenseTracker.demo.dto.response.ExpenseResponse(" +
+           "e.id, c.id, c.name, c.colorCode, e.amount, e.description, e.expenseDate, " +
+           "e.paymentMethod, e.notes, e.createdAt) FROM Expense e LEFT JOIN e.category c ";
+
+    String ACTIVE_FOR_USER = "WHERE e.user = :user AND e.isDeleted = false";
+
+    @Query(RESPONSE_SELECT + "WHERE e.id = :id AND e.user = :user AND e.isDeleted = false")
+    Optional<ExpenseResponse> findResponseByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+
+    @Query(value = RESPONSE_SELECT + ACTIVE_FOR_USER,
+           countQuery = "SELECT COUNT(e) FROM Expense e " + ACTIVE_FOR_USER)
+    Page<ExpenseResponse> findResponsesByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + ACTIVE_FOR_USER)
+    Slice<ExpenseResponse> findResponseSliceByUser(@Param("user") User user, Pageable pageable);
 
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.isDeleted = false " +
-           "AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year")
+           "AND e.expenseDate >= :startDate AND e.expenseDate < :endDate")
     BigDecimal calculateMonthlyTotal(
             @Param("user") User user,
-            @Param("month") int month,
-            @Param("year") int year
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
     @Query("SELECT e.category.name as category, SUM(e.amount) as total FROM Expense e " +
            "WHERE e.user = :user AND e.isDeleted = false " +
-           "AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year " +
+           "AND e.expenseDate >= :startDate AND e.expenseDate < :endDate " +
            "GROUP BY e.category.name ORDER BY total DESC")
     List<Map<String, Object>> getCategoryBreakdown(
             @Param("user") User user,
-            @Param("month") int month,
-            @Param("year") int year
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
     @Query("SELECT e.expenseDate as date, SUM(e.amount) as total FROM Expense e " +
            "WHERE e.user = :user AND e.isDeleted = false " +
-           "AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year " +
+           "AND e.expenseDate >= :startDate AND e.expenseDate < :endDate " +
            "GROUP BY e.expenseDate ORDER BY e.expenseDate ASC")
     List<Map<String, Object>> getDailyTrend(
             @Param("user") User user,
-            @Param("month") int month,
-            @Param("year") int year
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
     @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.isDeleted = false " +
@@ -83,4 +94,11 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     );
 
     boolean existsByCategoryAndIsDeletedFalse(Category category);
+
+    @Query("SELECT e.id FROM Expense e WHERE e.isDeleted = true AND e.updatedAt < :cutoff ORDER BY e.updatedAt ASC")
+    List<UUID> findIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.id IN :ids AND e.isDeleted = true")
+    int hardDeleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
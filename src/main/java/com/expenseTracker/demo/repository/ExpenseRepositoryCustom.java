@@ -0,0 +1,24 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.entity.Expense;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification-based counterparts of the {@code RESPONSE_SELECT} queries: rows matching
+ * {@code spec} are read straight into {@link ExpenseResponse} with the category joined in.
+ */
+public interface ExpenseRepositoryCustom {
+
+    List<ExpenseResponse> findResponses(Specification<Expense> spec, Sort sort, int limit);
+
+    Page<ExpenseResponse> findResponsePage(Specification<Expense> spec, Pageable pageable);
+
+    Slice<ExpenseResponse> findResponseSlice(Specification<Expense> spec, Pageable pageable);
+}
@@ -0,0 +1,181 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the {@code search_vector} column (see V6 migration) and the description
+ * source for typeahead. Native SQL because the tsvector column, the {@code @@} operator and
+ * {@code DISTINCT ON} have no JPA mapping; search results use the same {@link ExpenseResponse}
+ * projection as the listing queries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExpenseSearchRepository {
+
+    private static final int MAX_TERMS = 10;
+
+    private static final String MATCH =
+            " CROSS JOIN to_tsquery('english', :query) q" +
+            " WHERE e.user_id = :userId AND e.is_deleted = false AND e.search_vector @@ q";
+
+    private static final String SELECT =
+            "SELECT e.id, c.id AS category_id, c.name AS category_name, c.color_code, e.amount, e.description," +
+            " e.expense_date, e.payment_method, e.notes, e.created_at" +
+            " FROM expenses e LEFT JOIN categories c ON c.id = e.category_id" + MATCH;
+
+    private static final String COUNT = "SELECT COUNT(*) FROM expenses e" + MATCH;
+
+    static final RowMapper<ExpenseResponse> ROW_MAPPER = (rs, rowNum) -> ExpenseResponse.builder()
+            .id(rs.getObject("id", UUID.class))
+            .categoryId(rs.getObject("category_id", UUID.class))
+            .categoryName(rs.getString("category_name"))
+            .categoryColor(rs.getString("color_code"))
+            .amount(rs.getBigDecimal("amount"))
+            .description(rs.getString("description"))
+            .expenseDate(rs.getObject("expense_date", LocalDate.class))
+            .paymentMethod(rs.getString("payment_method"))
+            .notes(rs.getString("notes"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .build();
+
+    private static final String RECENT_DESCRIPTIONS =
+            "SELECT description, amount, category_id, category_name, expense_date, use_count FROM (" +
+            " SELECT DISTINCT ON (lower(btrim(e.description))) e.description, e.amount, e.category_id," +
+            " c.name AS category_name, e.expense_date," +
+            " count(*) OVER (PARTITION BY lower(btrim(e.description))) AS use_count" +
+            " FROM expenses e LEFT JOIN categories c ON c.id = e.category_id" +
+            " WHERE e.user_id = :userId AND e.is_deleted = false AND btrim(e.description) <> ''" +
+            " ORDER BY lower(btrim(e.description)), e.expense_date DESC, e.created_at DESC" +
+            ") d ORDER BY expense_date DESC LIMIT :limit";
+
+    private static final RowMapper<DescriptionSuggestionResponse> SUGGESTION_MAPPER = (rs, rowNum) ->
+            DescriptionSuggestionResponse.builder()
+                    .description(rs.getString("description"))
+                    .lastAmount(rs.getBigDecimal("amount"))
+                    .categoryId(rs.getObject("category_id", UUID.class))
+                    .categoryName(rs.getString("category_name"))
+                    .lastUsed(rs.getObject("expense_date", LocalDate.class))
+                    .useCount(rs.getInt("use_count"))
+                    .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Turns free text into a prefix tsquery: every word must match the start of a lexeme,
+     * so "gro coff" finds "Grocery" and "Coffee". Returns null when the text has no words.
+     */
+    public static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> terms = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Ranked search: best matches first ({@code ts_rank_cd}, description weighted over notes),
+     * then newest. The optional filters are appended only when present.
+     */
+    public Slice<ExpenseResponse> search(UUID userId, String tsQuery, ExpenseFilterRequest filter,
+                                         Pageable pageable, boolean includeCount) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("query", tsQuery)
+                .addValue("limit", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset());
+        String conditions = filterConditions(filter, params);
+
+        List<ExpenseResponse> rows = jdbcTemplate.query(SELECT + conditions +
+                " ORDER BY ts_rank_cd(e.search_vector, q) DESC, e.expense_date DESC, e.id DESC" +
+                " LIMIT :limit OFFSET :offset", params, ROW_MAPPER);
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ExpenseResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        if (!includeCount) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+
+        Long total = jdbcTemplate.queryForObject(COUNT + conditions, params, Long.class);
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+
+    /**
+     * The user's distinct descriptions (case-insensitive), each with its use count and the amount
+     * and category of its newest use, limited to the {@code limit} most recently used.
+     */
+    public List<DescriptionSuggestionResponse> findRecentDescriptions(UUID userId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(RECENT_DESCRIPTIONS, params, SUGGESTION_MAPPER);
+    }
+
+    static String filterConditions(ExpenseFilterRequest filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+
+        Set<UUID> categoryIds = new LinkedHashSet<>();
+        if (filter.getCategoryId() != null) {
+            categoryIds.add(filter.getCategoryId());
+        }
+        if (filter.getCategoryIds() != null) {
+            categoryIds.addAll(filter.getCategoryIds());
+        }
+        if (!categoryIds.isEmpty()) {
+            sql.append(" AND e.category_id IN (:categoryIds)");
+            params.addValue("categoryIds", categoryIds);
+        }
+        if (filter.getStartDate() != null) {
+            sql.append(" AND e.expense_date >= :startDate");
+            params.addValue("startDate", filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            sql.append(" AND e.expense_date <= :endDate");
+            params.addValue("endDate", filter.getEndDate());
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append(" AND e.amount >= :minAmount");
+            params.addValue("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append(" AND e.amount <= :maxAmount");
+            params.addValue("maxAmount", filter.getMaxAmount());
+        }
+        if (filter.getPaymentMethods() != null && !filter.getPaymentMethods().isEmpty()) {
+            sql.append(" AND e.payment_method IN (:paymentMethods)");
+            params.addValue("paymentMethods", filter.getPaymentMethods().stream().map(Enum::name).toList());
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+            sql.append(" AND lower(e.description) LIKE :description ESCAPE '\\'");
+            params.addValue("description",
+                    "%" + ExpenseSpecifications.escapeLike(filter.getDescription().strip().toLowerCase(Locale.ROOT)) + "%");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+public final class ExpenseSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ExpenseSpecifications() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static Specification<Expense> activeForUser(User user) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user"), user),
+                cb.isFalse(root.get("isDeleted")));
+    }
+
+    /**
+     * Builds a predicate from only the filters that are present, so each filter combination
+     * gets its own plan instead of one generic plan full of {@code (:x IS NULL OR ...)} branches.
+     */
+    public static Specification<Expense> withFilters(ExpenseFilterRequest filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            Set<UUID> categoryIds = new LinkedHashSet<>();
+            if (filter.getCategoryId() != null) {
+                categoryIds.add(filter.getCategoryId());
+            }
+            if (filter.getCategoryIds() != null) {
+                categoryIds.addAll(filter.getCategoryIds());
+            }
+            if (categoryIds.size() == 1) {
+                predicates.add(cb.equal(root.get("category").get("id"), categoryIds.iterator().next()));
+            } else if (!categoryIds.isEmpty()) {
+                predicates.add(root.get("category").get("id").in(categoryIds));
+            }
+
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expenseDate"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("expenseDate"), filter.getEndDate()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.getMaxAmount()));
+            }
+
+            List<Expense.PaymentMethod> paymentMethods = filter.getPaymentMethods();
+            if (paymentMethods != null && !paymentMethods.isEmpty()) {
+                predicates.add(root.get("paymentMethod").in(Set.copyOf(paymentMethods)));
+            }
+
+            String text = filter.getDescription();
+            if (text != null && !text.isBlank()) {
+                // lower(description) LIKE is served by the trigram index from V5
+                predicates.add(cb.like(cb.lower(root.get("description")),
+                        "%" + escapeLike(text.strip().toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset predicate: rows strictly after {@code (value, id)} in the given direction.
+     * The redundant {@code field <= value} bound (or {@code >=} ascending) gives the planner an
+     * index range start; the OR alone would only be applied as a filter.
+     */
+    public static <T extends Comparable<? super T>> Specification<Expense> seekAfter(
+            String field, T value, UUID id, boolean descending) {
+
+        return (root, query, cb) -> {
+            Path<T> key = root.get(field);
+            Path<UUID> keyId = root.get("id");
+            if (descending) {
+                return cb.and(
+                        cb.lessThanOrEqualTo(key, value),
+                        cb.or(cb.lessThan(key, value), cb.lessThan(keyId, id)));
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(keyId, id)));
+        };
+    }
+
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
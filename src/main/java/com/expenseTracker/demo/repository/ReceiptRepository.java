@@ -3,8 +3,13 @@ package com.expenseTracker.demo.repository;
 import com.expenseTracker.demo.entity.Expense;
 import com.expenseTracker.demo.entity.Receipt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +19,14 @@ public interface ReceiptRepository extends JpaRepository<Receipt, UUID> {
     Optional<Receipt> findByExpense(Expense expense);
 
     boolean existsByExpense(Expense expense);
+
+    @Query("SELECT r.filePath FROM Receipt r WHERE r.expense.id IN :expenseIds")
+    List<String> findFilePathsByExpenseIds(@Param("expenseIds") Collection<UUID> expenseIds);
+
+    @Query("SELECT r.fileName FROM Receipt r WHERE r.fileName IN :fileNames")
+    List<String> findExistingFileNames(@Param("fileNames") Collection<String> fileNames);
+
+    @Modifying
+    @Query("DELETE FROM Receipt r WHERE r.expense.id IN :expenseIds")
+    int deleteByExpenseIds(@Param("expenseIds") Collection<UUID> expenseIds);
 }
@@ -0,0 +1,120 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.response.BudgetResponse;
+import com.expenseTracker.demo.dto.response.CategoryResponse;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change feeds for delta sync. Each feed is keyset-paged by {@code (updated_at, id)} over all of
+ * the user's rows, soft-deleted expenses included, and served by the indexes from the V7
+ * migration. {@code upTo} is exclusive and keeps the feed behind writes that may still commit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+
+    private static final String EXPENSES =
+            "SELECT e.id, c.id AS category_id, c.name AS category_name, c.color_code, e.amount, e.description," +
+            " e.expense_date, e.payment_method, e.notes, e.created_at, e.updated_at, e.is_deleted" +
+            " FROM expenses e LEFT JOIN categories c ON c.id = e.category_id" +
+            " WHERE e.user_id = :userId AND (e.updated_at, e.id) > (:afterTime, :afterId) AND e.updated_at < :upTo" +
+            " ORDER BY e.updated_at, e.id LIMIT :limit";
+
+    private static final String CATEGORIES =
+            "SELECT c.id, c.name, c.description, c.color_code, c.updated_at FROM categories c" +
+            " WHERE c.user_id = :userId AND (c.updated_at, c.id) > (:afterTime, :afterId) AND c.updated_at < :upTo" +
+            " ORDER BY c.updated_at, c.id LIMIT :limit";
+
+    // Budgets have no user column and a user has at most one per category, so the join is cheap
+    private static final String BUDGETS =
+            "SELECT b.id, b.category_id, c.name AS category_name, b.monthly_limit, b.alert_threshold, b.updated_at" +
+            " FROM category_budgets b JOIN categories c ON c.id = b.category_id" +
+            " WHERE c.user_id = :userId AND (b.updated_at, b.id) > (:afterTime, :afterId) AND b.updated_at < :upTo" +
+            " ORDER BY b.updated_at, b.id LIMIT :limit";
+
+    private static final String DELETED_CATEGORIES =
+            "SELECT t.id, t.entity_id, t.created_at FROM sync_tombstones t" +
+            " WHERE t.user_id = :userId AND t.entity_type = 'CATEGORY'" +
+            " AND (t.created_at, t.id) > (:afterTime, :afterId) AND t.created_at < :upTo" +
+            " ORDER BY t.created_at, t.id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Change<ExpenseResponse>> expensesChangedAfter(UUID userId, Position after, LocalDateTime upTo, int limit) {
+        return jdbcTemplate.query(EXPENSES, params(userId, after, upTo, limit), (rs, rowNum) -> new Change<>(
+                rs.getObject("id", UUID.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getBoolean("is_deleted"),
+                ExpenseSearchRepository.ROW_MAPPER.mapRow(rs, rowNum)));
+    }
+
+    public List<Change<CategoryResponse>> categoriesChangedAfter(UUID userId, Position after, LocalDateTime upTo, int limit) {
+        return jdbcTemplate.query(CATEGORIES, params(userId, after, upTo, limit), (rs, rowNum) -> new Change<>(
+                rs.getObject("id", UUID.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                false,
+                CategoryResponse.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .name(rs.getString("name"))
+                        .description(rs.getString("description"))
+                        .colorCode(rs.getString("color_code"))
+                        .build()));
+    }
+
+    public List<Change<BudgetResponse>> budgetsChangedAfter(UUID userId, Position after, LocalDateTime upTo, int limit) {
+        return jdbcTemplate.query(BUDGETS, params(userId, after, upTo, limit), (rs, rowNum) -> new Change<>(
+                rs.getObject("id", UUID.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                false,
+                BudgetResponse.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .categoryId(rs.getObject("category_id", UUID.class))
+                        .categoryName(rs.getString("category_name"))
+                        .monthlyLimit(rs.getBigDecimal("monthly_limit"))
+                        .alertThreshold(rs.getInt("alert_threshold"))
+                        .build()));
+    }
+
+    /**
+     * Categories deleted after the position; each change carries the deleted category's ID.
+     */
+    public List<Change<UUID>> categoriesDeletedAfter(UUID userId, Position after, LocalDateTime upTo, int limit) {
+        return jdbcTemplate.query(DELETED_CATEGORIES, params(userId, after, upTo, limit), (rs, rowNum) -> new Change<>(
+                rs.getObject("id", UUID.class),
+                rs.getObject("created_at", LocalDateTime.class),
+                true,
+                rs.getObject("entity_id", UUID.class)));
+    }
+
+    private static MapSqlParameterSource params(UUID userId, Position after, LocalDateTime upTo, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("afterTime", after.updatedAt())
+                .addValue("afterId", after.id())
+                .addValue("upTo", upTo)
+                .addValue("limit", limit);
+    }
+
+    /**
+     * A keyset position in one feed: the last {@code (updated_at, id)} a client has seen.
+     */
+    public record Position(LocalDateTime updatedAt, UUID id) {
+
+        public static final Position START = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+    }
+
+    public record Change<T>(UUID id, LocalDateTime updatedAt, boolean deleted, T item) {
+
+        public Position position() {
+            return new Position(updatedAt, id);
+        }
+    }
+}
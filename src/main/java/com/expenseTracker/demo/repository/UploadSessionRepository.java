@@ -0,0 +1,41 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.entity.UploadSession;
+import com.expenseTracker.demo.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    Optional<UploadSession> findByIdAndUserAndExpenseId(UUID id, User user, UUID expenseId);
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime now);
+
+    List<UploadSession> findByExpenseIdIn(Collection<UUID> expenseIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.bytesReceived = :newOffset, s.expiresAt = :expiresAt " +
+           "WHERE s.id = :id AND s.bytesReceived = :expectedOffset")
+    int advanceOffset(
+            @Param("id") UUID id,
+            @Param("expectedOffset") long expectedOffset,
+            @Param("newOffset") long newOffset,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id")
+    int deleteSession(@Param("id") UUID id);
+}
@@ -0,0 +1,14 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Email lookups resolve through the natural-id cache, so authenticating a request does not
+ * query the users table once the user is cached.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+}
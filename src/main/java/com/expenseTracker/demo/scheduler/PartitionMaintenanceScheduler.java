@@ -0,0 +1,43 @@
+package com.expenseTracker.demo.scheduler;
+
+import com.expenseTracker.demo.service.ExpensePartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "partitioning.expenses.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenanceScheduler {
+
+    private final ExpensePartitionService expensePartitionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${partitioning.expenses.cron:0 0 2 1 * ?}")
+    public void maintainPartitions() {
+        try {
+            List<String> created = expensePartitionService.createMissingPartitions();
+            if (!created.isEmpty()) {
+                log.info("Created expense partitions: {}", created);
+            }
+        } catch (Exception e) {
+            log.error("Failed to create expense partitions", e);
+        }
+
+        try {
+            List<String> detached = expensePartitionService.detachExpiredPartitions();
+            if (!detached.isEmpty()) {
+                log.info("Detached expense partitions: {}", detached);
+            }
+        } catch (Exception e) {
+            log.error("Failed to detach expired expense partitions", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.expenseTracker.demo.scheduler;
+
+import com.expenseTracker.demo.service.ReceiptBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "storage.backfill-legacy-receipts", havingValue = "true")
+public class ReceiptBackfillScheduler {
+
+    private final ReceiptBackfillService receiptBackfillService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyReceipts() {
+        try {
+            int rewritten = receiptBackfillService.backfillLegacyReceipts();
+            log.info("Backfilled {} legacy receipts onto storage keys", rewritten);
+        } catch (Exception e) {
+            log.error("Failed to backfill legacy receipts", e);
+        }
+    }
+}
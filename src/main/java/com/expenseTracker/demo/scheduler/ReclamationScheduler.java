@@ -0,0 +1,45 @@
+package com.expenseTracker.demo.scheduler;
+
+import com.expenseTracker.demo.service.DataReclamationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "reclamation.enabled", havingValue = "true", matchIfMissing = true)
+public class ReclamationScheduler {
+
+    private final DataReclamationService dataReclamationService;
+
+    @Scheduled(cron = "${reclamation.cron:0 30 3 * * ?}")
+    public void reclaim() {
+        log.info("Starting data reclamation job");
+
+        try {
+            long expenses = dataReclamationService.purgeSoftDeletedExpenses();
+            log.info("Purged {} soft-deleted expenses", expenses);
+        } catch (Exception e) {
+            log.error("Failed to purge soft-deleted expenses", e);
+        }
+
+        try {
+            int tombstones = dataReclamationService.purgeSyncTombstones();
+            log.info("Purged {} sync tombstones", tombstones);
+        } catch (Exception e) {
+            log.error("Failed to purge sync tombstones", e);
+        }
+
+        try {
+            long orphans = dataReclamationService.deleteOrphanFiles();
+            log.info("Deleted {} orphaned receipt files", orphans);
+        } catch (Exception e) {
+            log.error("Failed to delete orphaned receipt files", e);
+        }
+
+        log.info("Data reclamation job completed");
+    }
+}
@@ -0,0 +1,23 @@
+package com.expenseTracker.demo.scheduler;
+
+import com.expenseTracker.demo.service.ResumableUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionScheduler {
+
+    private final ResumableUploadService resumableUploadService;
+
+    @Scheduled(cron = "0 */30 * * * ?")
+    public void expireUploadSessions() {
+        int expired = resumableUploadService.expireSessions();
+        if (expired > 0) {
+            log.info("Expired {} abandoned upload sessions", expired);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.request.ExportFormat;
+import com.expenseTracker.demo.dto.response.AccountArchiveResponse;
+import com.expenseTracker.demo.dto.response.BudgetResponse;
+import com.expenseTracker.demo.dto.response.CategoryResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryBudgetRepository;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.ExpenseExportRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.util.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds a ZIP of everything a user owns for data-portability requests: expenses as CSV (the
+ * format the CSV import reads back), categories and budgets as JSON, every receipt file and a
+ * manifest. The archive is written in one pass: expenses are read through a database cursor and
+ * receipts in keyset pages, and each row or file is copied into the ZIP as it arrives, so memory
+ * does not depend on the size of the account. Each receipt page is read in its own short
+ * transaction and the files are copied from storage after it ends, so slow downloads from S3
+ * never hold a database connection.
+ * <p>
+ * Small accounts can stream the archive straight to the response. Large ones run as a background
+ * job that writes the archive under {@code archives.dir}; it survives the client going away, and
+ * the finished file is served with HTTP range support so an interrupted download resumes instead
+ * of starting over. Jobs are kept in memory on the instance that accepted them and their files
+ * are deleted after {@code archives.retention-hours}. A job is lost if that instance restarts,
+ * and status and download requests must reach the same instance; the client then starts a new
+ * archive.
+ */
+@Service
+@Slf4j
+public class AccountArchiveService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseExportRepository expenseExportRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final ReceiptStorage receiptStorage;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path archiveDir;
+    private final Duration retention;
+    private final ExecutorService archiveExecutor;
+    private final Cache<UUID, ArchiveJob> jobs;
+
+    public AccountArchiveService(
+            ExpenseExportService expenseExportService,
+            ExpenseExportRepository expenseExportRepository,
+            CategoryRepository categoryRepository,
+            CategoryBudgetRepository categoryBudgetRepository,
+            ReceiptStorage receiptStorage,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${archives.dir:archives}") String archiveDir,
+            @Value("${archives.max-concurrent:1}") int maxConcurrent,
+            @Value("${archives.retention-hours:24}") long retentionHours) {
+        this.expenseExportService = expenseExportService;
+        this.expenseExportRepository = expenseExportRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.receiptStorage = receiptStorage;
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveDir = Paths.get(archiveDir).normalize();
+        this.retention = Duration.ofHours(retentionHours);
+        this.archiveExecutor = Executors.newFixedThreadPool(maxConcurrent,
+                Thread.ofPlatform().name("account-archive-", 1).daemon().factory());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                // Expire on time even when no one asks, so archive files do not linger
+                .scheduler(Scheduler.systemScheduler())
+                .<UUID, ArchiveJob>removalListener((id, job, cause) -> {
+                    if (job != null) {
+                        deleteQuietly(job.file);
+                    }
+                })
+                .build();
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    /**
+     * Resolves the user now and returns the body that writes the archive once the response
+     * starts streaming.
+     */
+    public StreamingResponseBody streamArchive() {
+        User user = getCurrentUser();
+        return out -> {
+            write(user, out, new ArchiveJob(UUID.randomUUID(), user.getId(), null));
+            out.close();
+        };
+    }
+
+    /**
+     * Starts building the archive in the background. While one is queued or running for the
+     * user, repeated requests return it instead of starting another.
+     */
+    public synchronized AccountArchiveResponse startArchive() {
+        User user = getCurrentUser();
+        for (ArchiveJob job : jobs.asMap().values()) {
+            if (job.userId.equals(user.getId()) && !job.isFinished()) {
+                return job.toResponse();
+            }
+        }
+
+        UUID id = UUID.randomUUID();
+        ArchiveJob job = new ArchiveJob(id, user.getId(), archiveDir.resolve(id + ".zip"));
+        jobs.put(id, job);
+        archiveExecutor.execute(() -> run(job, user));
+        return job.toResponse();
+    }
+
+    public AccountArchiveResponse getArchive(UUID archiveId) {
+        return findJob(archiveId).toResponse();
+    }
+
+    public Resource downloadArchive(UUID archiveId) {
+        ArchiveJob job = findJob(archiveId);
+        if (job.status != AccountArchiveResponse.Status.COMPLETED) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.ARCHIVE_NOT_READY);
+        }
+        if (!Files.isReadable(job.file)) {
+            throw new ResourceNotFoundException(Constants.ErrorMessages.ARCHIVE_NOT_FOUND);
+        }
+        return new FileSystemResource(job.file);
+    }
+
+    /**
+     * Jobs live in memory, so archives left by a previous run can no longer be downloaded.
+     * Only files older than the retention are removed, in case the directory is shared.
+     */
+    @PostConstruct
+    void deleteExpiredArchives() {
+        if (!Files.isDirectory(archiveDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            files.filter(file -> isOlderThan(file, cutoff)).forEach(AccountArchiveService::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Failed to clean up archive directory {}", archiveDir, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        archiveExecutor.shutdownNow();
+    }
+
+    private ArchiveJob findJob(UUID archiveId) {
+        ArchiveJob job = jobs.getIfPresent(archiveId);
+        if (job == null || !job.userId.equals(getCurrentUser().getId())) {
+            throw new ResourceNotFoundException(Constants.ErrorMessages.ARCHIVE_NOT_FOUND);
+        }
+        return job;
+    }
+
+    private void run(ArchiveJob job, User user) {
+        job.status = AccountArchiveResponse.Status.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        Path partial = job.file.resolveSibling(job.file.getFileName() + ".part");
+
+        try {
+            Files.createDirectories(archiveDir);
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                write(user, out, job);
+            }
+            Files.move(partial, job.file, StandardCopyOption.ATOMIC_MOVE);
+
+            job.finishedAt = LocalDateTime.now();
+            job.status = AccountArchiveResponse.Status.COMPLETED;
+            log.info("Archived {} expenses and {} receipts ({} bytes) for user {} in {} ms",
+                    job.expenses, job.receipts, job.bytesWritten, job.userId, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.failureReason = "Archive failed";
+            job.finishedAt = LocalDateTime.now();
+            job.status = AccountArchiveResponse.Status.FAILED;
+            log.error("Account archive {} failed for user {}", job.id, job.userId, e);
+        }
+    }
+
+    /**
+     * Writes the whole archive to {@code out} without closing it, recording progress in {@code job}.
+     */
+    void write(User user, OutputStream out, ArchiveJob job) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(new CountingOutputStream(out, job), BUFFER_SIZE), StandardCharsets.UTF_8);
+
+        zip.putNextEntry(new ZipEntry(Constants.Archive.EXPENSES_ENTRY));
+        job.expenses = expenseExportService.export(user.getId(), new ExpenseFilterRequest(), ExportFormat.CSV, zip);
+        zip.closeEntry();
+
+        List<CategoryResponse> categories = categoryRepository.findByUserOrderByNameAsc(user).stream()
+                .map(CategoryResponse::from)
+                .toList();
+        writeJson(zip, Constants.Archive.CATEGORIES_ENTRY, categories);
+        job.categories = categories.size();
+
+        List<BudgetResponse> budgets = categoryBudgetRepository.findByUserWithCategory(user).stream()
+                .map(BudgetResponse::from)
+                .toList();
+        writeJson(zip, Constants.Archive.BUDGETS_ENTRY, budgets);
+        job.budgets = budgets.size();
+
+        // Receipts are JPEG, PNG or PDF and barely shrink; storing them as-is saves the deflate CPU
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        UUID after = new UUID(0, 0);
+        List<ExpenseExportRepository.ReceiptFile> page;
+        do {
+            UUID from = after;
+            page = readOnlyTransaction.execute(status -> expenseExportRepository.findReceipts(
+                    user.getId(), from, Constants.Archive.RECEIPT_PAGE_SIZE));
+            for (ExpenseExportRepository.ReceiptFile receipt : page) {
+                copyReceipt(zip, receipt, job);
+                after = receipt.expenseId();
+            }
+        } while (page.size() == Constants.Archive.RECEIPT_PAGE_SIZE);
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+
+        writeJson(zip, Constants.Archive.MANIFEST_ENTRY, manifest(user, job));
+        zip.finish();
+        zip.flush();
+    }
+
+    private void copyReceipt(ZipOutputStream zip, ExpenseExportRepository.ReceiptFile receipt, ArchiveJob job)
+            throws IOException {
+        Resource resource;
+        try {
+            resource = receiptStorage.load(receipt.filePath());
+        } catch (ResourceNotFoundException e) {
+            job.missingReceipt(receipt.expenseId() + "/" + receipt.fileName());
+            return;
+        }
+
+        zip.putNextEntry(new ZipEntry(Constants.Archive.RECEIPTS_DIR + receipt.expenseId() + "/" + receipt.fileName()));
+        if (resource.isFile()) {
+            Files.copy(resource.getFile().toPath(), zip);
+        } else {
+            try (InputStream in = resource.getInputStream()) {
+                in.transferTo(zip);
+            }
+        }
+        zip.closeEntry();
+        job.receipts++;
+    }
+
+    private void writeJson(ZipOutputStream zip, String name, Object value) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(jsonMapper.writeValueAsBytes(value));
+        zip.closeEntry();
+    }
+
+    private static Map<String, Object> manifest(User user, ArchiveJob job) {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("userId", user.getId());
+        manifest.put("email", user.getEmail());
+        manifest.put("fullName", user.getFullName());
+        manifest.put("generatedAt", LocalDateTime.now().toString());
+        manifest.put("expenses", job.expenses);
+        manifest.put("categories", job.categories);
+        manifest.put("budgets", job.budgets);
+        manifest.put("receipts", job.receipts);
+        manifest.put("missingReceipts", List.copyOf(job.missingReceipts));
+        return manifest;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete archive file {}", file, e);
+        }
+    }
+
+    /**
+     * Progress of one archive. Written only by the thread building it and read by status requests.
+     */
+    static final class ArchiveJob {
+
+        private final UUID id;
+        private final UUID userId;
+        private final Path file;
+        private final List<String> missingReceipts = new CopyOnWriteArrayList<>();
+
+        private volatile AccountArchiveResponse.Status status = AccountArchiveResponse.Status.QUEUED;
+        private volatile long expenses;
+        private volatile int categories;
+        private volatile int budgets;
+        private volatile long receipts;
+        private volatile long bytesWritten;
+        private volatile String failureReason;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ArchiveJob(UUID id, UUID userId, Path file) {
+            this.id = id;
+            this.userId = userId;
+            this.file = file;
+        }
+
+        private boolean isFinished() {
+            return status == AccountArchiveResponse.Status.COMPLETED || status == AccountArchiveResponse.Status.FAILED;
+        }
+
+        private void missingReceipt(String name) {
+            if (missingReceipts.size() < Constants.Archive.MAX_REPORTED_MISSING) {
+                missingReceipts.add(name);
+            }
+        }
+
+        AccountArchiveResponse toResponse() {
+            return AccountArchiveResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .expenses(expenses)
+                    .categories(categories)
+                    .budgets(budgets)
+                    .receipts(receipts)
+                    .bytesWritten(bytesWritten)
+                    .missingReceipts(missingReceipts.isEmpty() ? null : List.copyOf(missingReceipts))
+                    .downloadUrl(status == AccountArchiveResponse.Status.COMPLETED
+                            ? "/api/account/archives/" + id + "/download" : null)
+                    .failureReason(failureReason)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final ArchiveJob job;
+
+        private CountingOutputStream(OutputStream out, ArchiveJob job) {
+            super(out);
+            this.job = job;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            job.bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            job.bytesWritten += len;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.datasource.AnalyticsLane;
+import com.expenseTracker.demo.datasource.RequestDeadline;
+import com.expenseTracker.demo.exception.DeadlineExceededException;
+import com.expenseTracker.demo.exception.ServiceOverloadedException;
+import com.expenseTracker.demo.util.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs analytics work on its own bounded lane of threads, which read from the analytics
+ * connection pool. There is no queue: when every lane thread is busy the call is rejected at
+ * once with {@link ServiceOverloadedException} instead of waiting, so an analytics storm cannot
+ * hold request threads or connections that writes need. A lane thread holds at most one
+ * connection, so the lane is never larger than the analytics pool and work on it never waits
+ * for a connection.
+ */
+@Component
+public class AnalyticsBulkhead {
+
+    private final ThreadPoolExecutor lane;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    public AnalyticsBulkhead(
+            @Value("${analytics.bulkhead.max-concurrent:4}") int maxConcurrent,
+            @Value("${datasource.analytics.hikari.maximum-pool-size:10}") int analyticsPoolSize,
+            MeterRegistry meterRegistry) {
+        if (maxConcurrent > analyticsPoolSize) {
+            throw new IllegalStateException("analytics.bulkhead.max-concurrent (" + maxConcurrent
+                    + ") must not exceed datasource.analytics.hikari.maximum-pool-size (" + analyticsPoolSize + ")");
+        }
+        this.lane = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), AnalyticsLane.threadFactory());
+        this.lane.prestartAllCoreThreads();
+        this.executor = new DelegatingSecurityContextExecutorService(lane);
+        this.rejected = meterRegistry.counter("analytics.bulkhead.rejected");
+        meterRegistry.gauge("analytics.bulkhead.active", lane, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Runs the task on the analytics lane with the caller's security context and request deadline,
+     * and waits for it, at most until the deadline; nothing is started once the deadline has passed.
+     * Exceptions thrown by the task are rethrown as they are.
+     */
+    public <T> T execute(Supplier<T> task) {
+        requireTimeLeft();
+        Future<T> result;
+        try {
+            result = executor.submit(RequestDeadline.propagate(task)::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException(Constants.ErrorMessages.ANALYTICS_BUSY);
+        }
+        return await(result, List.of(result));
+    }
+
+    /**
+     * Runs independent tasks on as many free lane threads as there are tasks, each thread taking
+     * the next task until none are left, and waits for all of them, at most until the deadline.
+     * The call uses one lane thread, and so one connection, per task at most, and only as many
+     * as are free; it is rejected only when none is. If a task fails, the rest are cancelled and
+     * its exception is rethrown.
+     */
+    public void executeAll(List<Runnable> tasks) {
+        requireTimeLeft();
+        AtomicInteger next = new AtomicInteger();
+        Supplier<Void> worker = RequestDeadline.propagate(() -> {
+            for (int i = next.getAndIncrement(); i < tasks.size(); i = next.getAndIncrement()) {
+                try {
+                    tasks.get(i).run();
+                } catch (RuntimeException | Error e) {
+                    next.set(tasks.size());
+                    throw e;
+                }
+            }
+            return null;
+        });
+
+        List<Future<Void>> workers = new ArrayList<>();
+        try {
+            while (workers.size() < tasks.size()) {
+                workers.add(executor.submit(worker::get));
+            }
+        } catch (RejectedExecutionException e) {
+            if (workers.isEmpty()) {
+                rejected.increment();
+                throw new ServiceOverloadedException(Constants.ErrorMessages.ANALYTICS_BUSY);
+            }
+        }
+        for (Future<Void> result : workers) {
+            await(result, workers);
+        }
+    }
+
+    private static void requireTimeLeft() {
+        if (RequestDeadline.isExpired()) {
+            throw new DeadlineExceededException(Constants.ErrorMessages.DEADLINE_EXCEEDED);
+        }
+    }
+
+    private static <T> T await(Future<T> result, List<? extends Future<?>> all) {
+        try {
+            OptionalLong remaining = RequestDeadline.remainingMillis();
+            return remaining.isPresent() ? result.get(remaining.getAsLong(), TimeUnit.MILLISECONDS) : result.get();
+        } catch (TimeoutException e) {
+            all.forEach(other -> other.cancel(true));
+            throw new DeadlineExceededException(Constants.ErrorMessages.DEADLINE_EXCEEDED);
+        } catch (ExecutionException e) {
+            all.forEach(other -> other.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            all.forEach(other -> other.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(Constants.ErrorMessages.ANALYTICS_BUSY);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lane.shutdownNow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts only the analytics entries a write actually affects, instead of clearing the caches
+ * for every user. Keys mirror the {@code @Cacheable} keys in {@link AnalyticsService}:
+ * {@code month-year-userId}, and in {@link CategoryService} for category stats:
+ * {@code yyyy-MM-userId} of the current month.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsCacheEvictor {
+
+    private static final List<String> MONTHLY_CACHES =
+            List.of(Constants.Cache.ANALYTICS_MONTHLY, Constants.Cache.ANALYTICS_CATEGORY);
+
+    private final CacheManager cacheManager;
+
+    public void evict(UUID userId, Collection<YearMonth> months) {
+        if (!months.isEmpty()) {
+            evictCategoryStats(userId);
+        }
+        for (String name : MONTHLY_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            for (YearMonth month : months) {
+                cache.evict(month.getMonthValue() + "-" + month.getYear() + "-" + userId);
+            }
+        }
+    }
+
+    /**
+     * Category stats count every expense, so any expense or category write for the user
+     * invalidates them.
+     */
+    public void evictCategoryStats(UUID userId) {
+        Cache cache = cacheManager.getCache(Constants.Cache.CATEGORIES_STATS);
+        if (cache != null) {
+            cache.evict(YearMonth.now() + "-" + userId);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.DashboardResponse;
+import com.expenseTracker.demo.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the dashboard sections concurrently on the analytics lane, each in its own read-only
+ * transaction, so the dashboard takes about as long as its slowest section rather than the sum
+ * of them. Every section runs on a lane thread of {@link AnalyticsBulkhead#executeAll}, so a
+ * dashboard uses at most one analytics connection per free lane thread and never waits on the
+ * pool; under load its sections share fewer threads. Sections get the user explicitly and go
+ * through the {@link AnalyticsService} proxy, so the cached sections are served from the
+ * analytics caches. If a section fails, the others are cancelled and its exception is rethrown.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsDashboardService {
+
+    private static final List<String> SECTIONS =
+            List.of("monthlySummary", "categoryBreakdown", "dailyTrend", "highestExpense", "insights");
+
+    private final AnalyticsService analyticsService;
+    private final AnalyticsBulkhead analyticsBulkhead;
+
+    public DashboardResponse getDashboard(User user, int month, int year) {
+        // Each section sets its own field; executeAll returning orders those writes before build()
+        DashboardResponse.DashboardResponseBuilder response = DashboardResponse.builder();
+        Map<String, Long> millis = new ConcurrentHashMap<>();
+
+        analyticsBulkhead.executeAll(List.of(
+                timed(millis, "monthlySummary",
+                        () -> response.monthlySummary(analyticsService.getMonthlySummary(user, month, year))),
+                timed(millis, "categoryBreakdown",
+                        () -> response.categoryBreakdown(analyticsService.getCategoryBreakdown(user, month, year))),
+                timed(millis, "dailyTrend",
+                        () -> response.dailyTrend(analyticsService.getDailyTrend(user, month, year))),
+                timed(millis, "highestExpense",
+                        () -> response.highestExpense(analyticsService.getHighestExpense(user))),
+                timed(millis, "insights",
+                        () -> response.insights(analyticsService.getInsights(user)))));
+
+        Map<String, Long> sectionMillis = new LinkedHashMap<>();
+        for (String section : SECTIONS) {
+            sectionMillis.put(section, millis.get(section));
+        }
+        return response.sectionMillis(sectionMillis).build();
+    }
+
+    private static Runnable timed(Map<String, Long> millis, String name, Runnable section) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                section.run();
+            } finally {
+                millis.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        };
+    }
+}
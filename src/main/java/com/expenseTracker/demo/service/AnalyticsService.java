@@ -10,12 +10,12 @@ import com.expenseTracker.demo.repository.ExpenseRepository;
 import com.expenseTracker.demo.util.Constants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,23 +24,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    /** Applied to every statement as its query timeout, so a slow query frees its lane thread. */
+    private static final String QUERY_TIMEOUT = "${analytics.query-timeout-seconds:5}";
+
     private final ExpenseRepository expenseRepository;
 
-    public User getCurrentUser() {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-    }
+    @Transactional(readOnly = true, timeoutString = QUERY_TIMEOUT)
+    @Cacheable(value = Constants.Cache.ANALYTICS_MONTHLY, key = "#month + '-' + #year + '-' + #user.id")
+    public MonthlySummaryResponse getMonthlySummary(User user, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = Constants.Cache.ANALYTICS_MONTHLY, key = "#month + '-' + #year + '-' + #root.target.getCurrentUser().id")
-    public MonthlySummaryResponse getMonthlySummary(int month, int year) {
-        User user = getCurrentUser();
-        
-        BigDecimal total = expenseRepository.calculateMonthlyTotal(user, month, year);
-        long count = expenseRepository.countByDateRange(
-                user, 
-                LocalDate.of(year, month, 1),
-                LocalDate.of(year, month, 1).plusMonths(1).minusDays(1)
-        );
+        BigDecimal total = expenseRepository.calculateMonthlyTotal(user, period.atDay(1), period.plusMonths(1).atDay(1));
+        long count = expenseRepository.countByDateRange(user, period.atDay(1), period.atEndOfMonth());
 
         return MonthlySummaryResponse.builder()
                 .month(month)
@@ -50,12 +45,12 @@ public class AnalyticsService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = Constants.Cache.ANALYTICS_CATEGORY, key = "#month + '-' + #year + '-' + #root.target.getCurrentUser().id")
-    public List<CategoryBreakdownItem> getCategoryBreakdown(int month, int year) {
-        User user = getCurrentUser();
-        
-        List<Map<String, Object>> breakdown = expenseRepository.getCategoryBreakdown(user, month, year);
+    @Transactional(readOnly = true, timeoutString = QUERY_TIMEOUT)
+    @Cacheable(value = Constants.Cache.ANALYTICS_CATEGORY, key = "#month + '-' + #year + '-' + #user.id")
+    public List<CategoryBreakdownItem> getCategoryBreakdown(User user, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        List<Map<String, Object>> breakdown = expenseRepository.getCategoryBreakdown(
+                user, period.atDay(1), period.plusMonths(1).atDay(1));
         
         return breakdown.stream()
                 .map(item -> CategoryBreakdownItem.builder()
@@ -66,24 +61,21 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> getDailyTrend(int month, int year) {
-        User user = getCurrentUser();
-        return expenseRepository.getDailyTrend(user, month, year);
+    @Transactional(readOnly = true, timeoutString = QUERY_TIMEOUT)
+    public List<Map<String, Object>> getDailyTrend(User user, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return expenseRepository.getDailyTrend(user, period.atDay(1), period.plusMonths(1).atDay(1));
     }
 
-    @Transactional(readOnly = true)
-    public ExpenseResponse getHighestExpense() {
-        User user = getCurrentUser();
-        
+    @Transactional(readOnly = true, timeoutString = QUERY_TIMEOUT)
+    public ExpenseResponse getHighestExpense(User user) {
         return expenseRepository.findHighestExpense(user)
                 .map(ExpenseResponse::from)
                 .orElse(null);
     }
 
-    @Transactional(readOnly = true)
-    public InsightsResponse getInsights() {
-        User user = getCurrentUser();
+    @Transactional(readOnly = true, timeoutString = QUERY_TIMEOUT)
+    public InsightsResponse getInsights(User user) {
         LocalDate now = LocalDate.now();
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
@@ -91,8 +83,11 @@ public class AnalyticsService {
         int previousMonth = currentMonth == 1 ? 12 : currentMonth - 1;
         int previousYear = currentMonth == 1 ? currentYear - 1 : currentYear;
 
-        BigDecimal currentTotal = expenseRepository.calculateMonthlyTotal(user, currentMonth, currentYear);
-        BigDecimal previousTotal = expenseRepository.calculateMonthlyTotal(user, previousMonth, previousYear);
+        YearMonth current = YearMonth.of(currentYear, currentMonth);
+        YearMonth previous = YearMonth.of(previousYear, previousMonth);
+
+        BigDecimal currentTotal = expenseRepository.calculateMonthlyTotal(user, current.atDay(1), current.plusMonths(1).atDay(1));
+        BigDecimal previousTotal = expenseRepository.calculateMonthlyTotal(user, previous.atDay(1), previous.plusMonths(1).atDay(1));
 
         currentTotal = currentTotal != null ? currentTotal : BigDecimal.ZERO;
         previousTotal = previousTotal != null ? previousTotal : BigDecimal.ZERO;
@@ -128,7 +123,9 @@ public class AnalyticsService {
     }
 
     private List<InsightsResponse.CategoryInsight> buildCategoryInsights(User user, int month, int year) {
-        List<Map<String, Object>> breakdown = expenseRepository.getCategoryBreakdown(user, month, year);
+        YearMonth period = YearMonth.of(year, month);
+        List<Map<String, Object>> breakdown = expenseRepository.getCategoryBreakdown(
+                user, period.atDay(1), period.plusMonths(1).atDay(1));
         
         BigDecimal totalSpending = breakdown.stream()
                 .map(item -> (BigDecimal) item.get("total"))
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.UUID;
 
 @Service
@@ -37,9 +37,9 @@ public class BudgetAlertService {
             CategoryBudget budget = budgetRepository.findByCategory(category).orElse(null);
             if (budget == null) return;
 
-            LocalDate now = LocalDate.now();
+            YearMonth now = YearMonth.now();
             BigDecimal monthlySpending = expenseRepository.calculateMonthlyTotal(
-                category.getUser(), now.getMonthValue(), now.getYear()
+                category.getUser(), now.atDay(1), now.plusMonths(1).atDay(1)
             );
 
             if (monthlySpending == null) return;
@@ -1,21 +1,35 @@
 package com.expenseTracker.demo.service;
 
+import com.expenseTracker.demo.dto.request.CategoryMergeRequest;
 import com.expenseTracker.demo.dto.request.CategoryRequest;
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.CategoryMergeResponse;
 import com.expenseTracker.demo.dto.response.CategoryResponse;
 import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.CategoryBudget;
+import com.expenseTracker.demo.entity.SyncTombstone;
 import com.expenseTracker.demo.entity.User;
 import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryBudgetRepository;
 import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.ExpenseBulkRepository;
 import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.SyncTombstoneRepository;
 import com.expenseTracker.demo.util.Constants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,6 +39,14 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
+    private final DescriptionSuggestionService descriptionSuggestionService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final ExpenseBulkRepository expenseBulkRepository;
+    private final BudgetAlertService budgetAlertService;
+    private final AnalyticsCacheEvictor analyticsCacheEvictor;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     public User getCurrentUser() {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -47,6 +69,7 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
         return CategoryResponse.from(category);
     }
 
@@ -60,6 +83,20 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Every category with its all-time expense count, current-month total and budget usage,
+     * from one grouped query. Cached per user and month; expense and category writes evict it.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = Constants.Cache.CATEGORIES_STATS,
+            key = "T(java.time.YearMonth).now() + '-' + #root.target.getCurrentUser().id")
+    public List<CategoryResponse> getAllCategoriesWithStats() {
+        User user = getCurrentUser();
+        YearMonth month = YearMonth.now();
+
+        return categoryRepository.findWithStatsByUser(user, month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(UUID id) {
         User user = getCurrentUser();
@@ -88,6 +125,9 @@ public class CategoryService {
         category.setColorCode(request.getColorCode());
 
         category = categoryRepository.save(category);
+        // Suggestions carry the category name
+        descriptionSuggestionService.invalidate(user.getId());
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
         return CategoryResponse.from(category);
     }
 
@@ -103,6 +143,78 @@ public class CategoryService {
             throw new IllegalArgumentException("Cannot delete category with existing expenses");
         }
 
+        delete(user, category);
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
+    }
+
+    /**
+     * Moves every expense and the budget of one category into another and deletes the source,
+     * with set-based UPDATEs in one transaction. If both categories have a budget the target
+     * keeps its own. Only this user's category list and the analytics months that held source
+     * expenses are evicted.
+     */
+    public CategoryMergeResponse mergeCategory(UUID id, CategoryMergeRequest request) {
+        User user = getCurrentUser();
+        if (id.equals(request.getTargetCategoryId())) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.CATEGORY_MERGE_SELF);
+        }
+
+        Merge merge = transactionTemplate.execute(status -> {
+            Category source = categoryRepository.findByIdAndUser(id, user)
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.CATEGORY_NOT_FOUND));
+            Category target = categoryRepository.findByIdAndUser(request.getTargetCategoryId(), user)
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.CATEGORY_NOT_FOUND));
+
+            ExpenseFilterRequest inSource = ExpenseFilterRequest.builder().categoryId(source.getId()).build();
+            ExpenseBulkRepository.Affected moved = expenseBulkRepository.update(
+                    user.getId(), inSource, target.getId(), null, LocalDateTime.now());
+            expenseBulkRepository.reassignDeleted(user.getId(), source.getId(), target.getId());
+
+            boolean budgetMoved = false;
+            Optional<CategoryBudget> budget = categoryBudgetRepository.findByCategory(source);
+            if (budget.isPresent()) {
+                if (categoryBudgetRepository.existsByCategory(target)) {
+                    categoryBudgetRepository.delete(budget.get());
+                    categoryBudgetRepository.flush();
+                } else {
+                    budget.get().setCategory(target);
+                    budget.get().setAlertSent(false);
+                    budgetMoved = true;
+                }
+            }
+
+            delete(user, source);
+            // Suggestions carry the category name
+            descriptionSuggestionService.invalidate(user.getId());
+            return new Merge(CategoryResponse.from(target), moved.rows(), budgetMoved, moved.months());
+        });
+
+        Cache categories = cacheManager.getCache(Constants.Cache.CATEGORIES_USER);
+        if (categories != null) {
+            categories.evict(user.getId());
+        }
+        analyticsCacheEvictor.evict(user.getId(), merge.months());
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
+        if (merge.months().contains(YearMonth.now())) {
+            budgetAlertService.checkBudgetThreshold(merge.target().getId());
+        }
+
+        return CategoryMergeResponse.builder()
+                .category(merge.target())
+                .expensesMoved(merge.moved())
+                .budgetMoved(merge.budgetMoved())
+                .build();
+    }
+
+    private void delete(User user, Category category) {
         categoryRepository.delete(category);
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .userId(user.getId())
+                .entityType(SyncTombstone.EntityType.CATEGORY)
+                .entityId(category.getId())
+                .build());
+    }
+
+    private record Merge(CategoryResponse target, int moved, boolean budgetMoved, List<YearMonth> months) {
     }
 }
@@ -0,0 +1,239 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.entity.UploadSession;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.repository.SyncTombstoneRepository;
+import com.expenseTracker.demo.repository.UploadSessionRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.storage.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Reclaims space held by soft-deleted expenses and by receipt files that no longer
+ * have a {@code Receipt} row. Work is done in bounded batches, each in its own short
+ * transaction, with a pause between batches so the job never monopolises the database.
+ */
+@Service
+@Slf4j
+public class DataReclamationService {
+
+    private final ExpenseRepository expenseRepository;
+    private final ReceiptRepository receiptRepository;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter expensesPurged;
+    private final Counter receiptsPurged;
+    private final Counter filesDeleted;
+    private final Counter orphanFilesDeleted;
+    private final Counter fileDeleteFailures;
+    private final Timer purgeTimer;
+    private final Timer orphanSweepTimer;
+
+    @Value("${reclamation.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${reclamation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reclamation.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${reclamation.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${reclamation.orphan-grace-hours:24}")
+    private int orphanGraceHours;
+
+    public DataReclamationService(
+            ExpenseRepository expenseRepository,
+            ReceiptRepository receiptRepository,
+            UploadSessionRepository uploadSessionRepository,
+            SyncTombstoneRepository syncTombstoneRepository,
+            ReceiptStorage receiptStorage,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.expenseRepository = expenseRepository;
+        this.receiptRepository = receiptRepository;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.receiptStorage = receiptStorage;
+        this.transactionTemplate = transactionTemplate;
+
+        this.expensesPurged = meterRegistry.counter("reclamation.expenses.purged");
+        this.receiptsPurged = meterRegistry.counter("reclamation.receipts.purged");
+        this.filesDeleted = meterRegistry.counter("reclamation.files.deleted");
+        this.orphanFilesDeleted = meterRegistry.counter("reclamation.orphan.files.deleted");
+        this.fileDeleteFailures = meterRegistry.counter("reclamation.files.delete.failures");
+        this.purgeTimer = meterRegistry.timer("reclamation.purge.duration");
+        this.orphanSweepTimer = meterRegistry.timer("reclamation.orphan.sweep.duration");
+    }
+
+    /**
+     * Hard-deletes expenses soft-deleted more than {@code reclamation.retention-days} ago,
+     * together with their receipts, abandoned upload sessions and stored files.
+     * The soft-delete time is taken from {@code updatedAt}, which is the last write to
+     * the row once {@code isDeleted} is set.
+     */
+    public long purgeSoftDeletedExpenses() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+
+        return purgeTimer.record(() -> {
+            long purged = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<String> fileKeys = new ArrayList<>();
+                Integer deleted = transactionTemplate.execute(status -> purgeBatch(cutoff, fileKeys));
+
+                // Files go only after the rows are committed; a failure here leaves an orphan for the sweep
+                filesDeleted.increment(fileKeys.stream().filter(this::deleteStoredFile).count());
+
+                purged += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+                pause();
+            }
+            return purged;
+        });
+    }
+
+    /**
+     * Deletes sync tombstones older than {@code reclamation.retention-days}. Sync cursors older
+     * than that are reset, so no client can still need them.
+     */
+    public int purgeSyncTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        return transactionTemplate.execute(status -> syncTombstoneRepository.deleteOlderThan(cutoff));
+    }
+
+    /**
+     * Deletes stored files that have no {@code Receipt} row. Files younger than
+     * {@code reclamation.orphan-grace-hours} are skipped because an upload may have
+     * stored its file but not yet committed the row. Every run walks the whole listing,
+     * checking it against the database one batch at a time, so orphans anywhere in storage
+     * are reached; only the deletes are capped, at {@code max-batches-per-run} batches' worth.
+     */
+    public long deleteOrphanFiles() {
+        Instant graceCutoff = Instant.now().minus(Duration.ofHours(orphanGraceHours));
+        long maxDeletes = (long) maxBatchesPerRun * batchSize;
+
+        return orphanSweepTimer.record(() -> {
+            long deleted = 0;
+            try (Stream<StoredObject> objects = receiptStorage.list()) {
+                Iterator<StoredObject> iterator = objects
+                        .filter(object -> object.getLastModified().isBefore(graceCutoff))
+                        .iterator();
+
+                List<StoredObject> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext() && deleted < maxDeletes) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        deleted += deleteOrphans(batch, maxDeletes - deleted);
+                        batch.clear();
+                        pause();
+                    }
+                }
+            }
+            return deleted;
+        });
+    }
+
+    private int purgeBatch(LocalDateTime cutoff, List<String> fileKeys) {
+        List<UUID> expenseIds = expenseRepository.findIdsDeletedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (expenseIds.isEmpty()) {
+            return 0;
+        }
+
+        fileKeys.addAll(receiptRepository.findFilePathsByExpenseIds(expenseIds));
+
+        List<UploadSession> sessions = uploadSessionRepository.findByExpenseIdIn(expenseIds);
+        sessions.forEach(session -> deleteStagingFile(session.getFilePath()));
+        uploadSessionRepository.deleteAllInBatch(sessions);
+
+        int receipts = receiptRepository.deleteByExpenseIds(expenseIds);
+        int expenses = expenseRepository.hardDeleteByIdIn(expenseIds);
+
+        receiptsPurged.increment(receipts);
+        expensesPurged.increment(expenses);
+        log.debug("Purged {} soft-deleted expenses and {} receipts", expenses, receipts);
+        return expenseIds.size();
+    }
+
+    private int deleteOrphans(List<StoredObject> batch, long limit) {
+        Set<String> fileNames = new HashSet<>();
+        batch.forEach(object -> fileNames.add(fileName(object.getKey())));
+
+        // Receipt file names are generated UUIDs, so they identify a file regardless of how file_path was written
+        Set<String> referenced = new HashSet<>(receiptRepository.findExistingFileNames(fileNames));
+
+        int deleted = 0;
+        for (StoredObject object : batch) {
+            if (deleted >= limit) {
+                break;
+            }
+            if (!referenced.contains(fileName(object.getKey())) && deleteStoredFile(object.getKey())) {
+                deleted++;
+            }
+        }
+        orphanFilesDeleted.increment(deleted);
+        return deleted;
+    }
+
+    private boolean deleteStoredFile(String key) {
+        try {
+            receiptStorage.delete(key);
+            return true;
+        } catch (RuntimeException e) {
+            fileDeleteFailures.increment();
+            log.warn("Failed to delete stored file: {}", key, e);
+            return false;
+        }
+    }
+
+    private void deleteStagingFile(String path) {
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            log.warn("Failed to delete staging file: {}", path, e);
+        }
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String fileName(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,176 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * One user's distinct expense descriptions as an array sorted by normalized text, so a prefix
+ * lookup is a binary search plus a scan of the matching range. Reads use a volatile snapshot
+ * and never lock; writes are serialized and publish a new array (copy-on-write), which is cheap
+ * at the few thousand entries a user is capped to.
+ */
+final class DescriptionIndex {
+
+    private static final Comparator<DescriptionSuggestionResponse> RANKING =
+            Comparator.comparingInt(DescriptionSuggestionResponse::getUseCount)
+                    .thenComparing(DescriptionSuggestionResponse::getLastUsed);
+
+    private record Entry(String key, DescriptionSuggestionResponse suggestion) {
+    }
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::key);
+
+    private final int maxEntries;
+    private volatile Entry[] entries;
+
+    /**
+     * @param suggestions the user's most recently used descriptions, at most {@code maxEntries}
+     */
+    DescriptionIndex(List<DescriptionSuggestionResponse> suggestions, int maxEntries) {
+        this.maxEntries = maxEntries;
+
+        Map<String, DescriptionSuggestionResponse> byKey = new LinkedHashMap<>();
+        for (DescriptionSuggestionResponse suggestion : suggestions) {
+            String key = normalize(suggestion.getDescription());
+            if (key != null) {
+                byKey.merge(key, suggestion, DescriptionIndex::merge);
+            }
+        }
+        this.entries = byKey.entrySet().stream()
+                .map(e -> new Entry(e.getKey(), e.getValue()))
+                .sorted(BY_KEY)
+                .toArray(Entry[]::new);
+    }
+
+    static String normalize(String description) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        return description.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Descriptions starting with {@code prefix}, most used first, then most recently used.
+     */
+    List<DescriptionSuggestionResponse> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key == null) {
+            return List.of();
+        }
+
+        Entry[] snapshot = entries;
+        PriorityQueue<DescriptionSuggestionResponse> best = new PriorityQueue<>(limit + 1, RANKING);
+        for (int i = lowerBound(snapshot, key); i < snapshot.length && snapshot[i].key().startsWith(key); i++) {
+            best.offer(snapshot[i].suggestion());
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<DescriptionSuggestionResponse> result = new ArrayList<>(best);
+        result.sort(RANKING.reversed());
+        return result;
+    }
+
+    /**
+     * Counts one more use of the suggestion's description. The newest use (by expense date)
+     * supplies the amount and category shown with it.
+     */
+    synchronized void record(DescriptionSuggestionResponse usage) {
+        String key = normalize(usage.getDescription());
+        if (key == null) {
+            return;
+        }
+
+        Entry[] current = entries;
+        int index = Arrays.binarySearch(current, new Entry(key, null), BY_KEY);
+        if (index >= 0) {
+            Entry[] updated = current.clone();
+            updated[index] = new Entry(key, merge(current[index].suggestion(), usage));
+            entries = updated;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        Entry[] updated = new Entry[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = new Entry(key, usage.toBuilder().useCount(1).build());
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        entries = updated.length > maxEntries ? withoutLeastRecent(updated) : updated;
+    }
+
+    /**
+     * Drops one use of {@code description}; the entry disappears when no uses remain.
+     */
+    synchronized void remove(String description) {
+        String key = normalize(description);
+        if (key == null) {
+            return;
+        }
+
+        Entry[] current = entries;
+        int index = Arrays.binarySearch(current, new Entry(key, null), BY_KEY);
+        if (index < 0) {
+            return;
+        }
+
+        DescriptionSuggestionResponse suggestion = current[index].suggestion();
+        if (suggestion.getUseCount() > 1) {
+            Entry[] updated = current.clone();
+            updated[index] = new Entry(key, suggestion.toBuilder().useCount(suggestion.getUseCount() - 1).build());
+            entries = updated;
+        } else {
+            entries = without(current, index);
+        }
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    private static DescriptionSuggestionResponse merge(DescriptionSuggestionResponse existing,
+                                                       DescriptionSuggestionResponse usage) {
+        int useCount = existing.getUseCount() + Math.max(usage.getUseCount(), 1);
+        DescriptionSuggestionResponse newest = usage.getLastUsed().isBefore(existing.getLastUsed()) ? existing : usage;
+        return newest.toBuilder().useCount(useCount).build();
+    }
+
+    private static int lowerBound(Entry[] snapshot, String key) {
+        int low = 0;
+        int high = snapshot.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Entry[] withoutLeastRecent(Entry[] current) {
+        int oldest = 0;
+        for (int i = 1; i < current.length; i++) {
+            if (current[i].suggestion().getLastUsed().isBefore(current[oldest].suggestion().getLastUsed())) {
+                oldest = i;
+            }
+        }
+        return without(current, oldest);
+    }
+
+    private static Entry[] without(Entry[] current, int index) {
+        Entry[] updated = new Entry[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        return updated;
+    }
+}
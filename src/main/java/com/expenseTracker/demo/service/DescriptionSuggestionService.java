@@ -0,0 +1,106 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.repository.ExpenseSearchRepository;
+import com.expenseTracker.demo.util.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Typeahead for expense descriptions. Each user's index is built from the database on first
+ * use and then kept current by {@link ExpenseService} writes, so lookups never hit the database.
+ * Indexes are bounded per user ({@code suggestions.max-entries-per-user}) and across users
+ * ({@code suggestions.max-users}, least recently used evicted first).
+ */
+@Service
+public class DescriptionSuggestionService {
+
+    private final ExpenseSearchRepository expenseSearchRepository;
+    private final int maxEntriesPerUser;
+    private final Cache<UUID, DescriptionIndex> indexes;
+
+    public DescriptionSuggestionService(
+            ExpenseSearchRepository expenseSearchRepository,
+            @Value("${suggestions.max-users:10000}") long maxUsers,
+            @Value("${suggestions.max-entries-per-user:2000}") int maxEntriesPerUser) {
+        this.expenseSearchRepository = expenseSearchRepository;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public List<DescriptionSuggestionResponse> suggest(UUID userId, String prefix, int limit) {
+        limit = Math.max(1, Math.min(limit, Constants.Suggestions.MAX_LIMIT));
+        DescriptionIndex index = indexes.get(userId, id -> new DescriptionIndex(
+                expenseSearchRepository.findRecentDescriptions(id, maxEntriesPerUser), maxEntriesPerUser));
+        return index.lookup(prefix, limit);
+    }
+
+    /**
+     * Applies a saved expense to the user's index once the transaction commits. Pass the
+     * description it had before an update (or null) so that use is removed.
+     */
+    public void expenseSaved(UUID userId, String previousDescription, Expense expense) {
+        DescriptionSuggestionResponse usage = DescriptionSuggestionResponse.builder()
+                .description(expense.getDescription())
+                .lastAmount(expense.getAmount())
+                .categoryId(expense.getCategory().getId())
+                .categoryName(expense.getCategory().getName())
+                .lastUsed(expense.getExpenseDate())
+                .useCount(1)
+                .build();
+
+        afterCommit(userId, index -> {
+            if (previousDescription != null) {
+                index.remove(previousDescription);
+            }
+            index.record(usage);
+        });
+    }
+
+    public void expenseDeleted(UUID userId, String description) {
+        afterCommit(userId, index -> index.remove(description));
+    }
+
+    /**
+     * Drops the user's index, e.g. after a category rename; it is rebuilt on the next lookup.
+     */
+    public void invalidate(UUID userId) {
+        afterCommit(userId, index -> indexes.invalidate(userId));
+    }
+
+    // Only indexes already in memory are updated; an absent one will be built with the change.
+    // getIfPresent also returns null while a lookup is still building the index, possibly from
+    // rows read before this commit. invalidate waits for that load and discards its result.
+    private void afterCommit(UUID userId, Consumer<DescriptionIndex> change) {
+        Runnable apply = () -> {
+            DescriptionIndex index = indexes.getIfPresent(userId);
+            if (index != null) {
+                change.accept(index);
+            } else {
+                indexes.invalidate(userId);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
@@ -32,8 +32,8 @@ public class EmailService {
             int month = now.getMonthValue();
             int year = now.getYear();
 
-            MonthlySummaryResponse summary = analyticsService.getMonthlySummary(month, year);
-            List<CategoryBreakdownItem> breakdown = analyticsService.getCategoryBreakdown(month, year);
+            MonthlySummaryResponse summary = analyticsService.getMonthlySummary(user, month, year);
+            List<CategoryBreakdownItem> breakdown = analyticsService.getCategoryBreakdown(user, month, year);
 
             String subject = "Your Monthly Expense Report - " + now.getMonth() + " " + year;
             String body = buildEmailBody(user, summary, breakdown);
@@ -0,0 +1,260 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.BatchExpenseRequest;
+import com.expenseTracker.demo.dto.request.ExpenseRequest;
+import com.expenseTracker.demo.dto.response.BatchExpenseResponse;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.util.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many expense operations in one request and one transaction. Categories and target
+ * expenses are each loaded with a single query, inserts and updates are flushed as JDBC batches
+ * ({@code hibernate.jdbc.batch_size}), and analytics eviction and budget checks run once per
+ * affected month and category instead of once per item. Invalid items are reported with the
+ * status the single-item endpoint would have returned and do not abort the rest of the batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseBatchService {
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final BudgetAlertService budgetAlertService;
+    private final DescriptionSuggestionService descriptionSuggestionService;
+    private final AnalyticsCacheEvictor analyticsCacheEvictor;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    public BatchExpenseResponse processBatch(BatchExpenseRequest request) {
+        User user = getCurrentUser();
+        Batch batch = new Batch(user, request.getOperations());
+
+        List<BatchExpenseResponse.ItemResult> results = transactionTemplate.execute(status -> batch.apply());
+
+        analyticsCacheEvictor.evict(user.getId(), batch.affectedMonths);
+        batch.budgetCategoryIds.forEach(budgetAlertService::checkBudgetThreshold);
+
+        int failed = (int) results.stream().filter(result -> result.getStatus() >= 400).count();
+        return BatchExpenseResponse.builder()
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+
+    private final class Batch {
+
+        private final User user;
+        private final List<BatchExpenseRequest.Operation> operations;
+        private final Set<YearMonth> affectedMonths = new HashSet<>();
+        private final Set<UUID> budgetCategoryIds = new LinkedHashSet<>();
+        private final YearMonth currentMonth = YearMonth.now();
+
+        private Map<UUID, Category> categories;
+        private Map<UUID, Expense> expenses;
+
+        private Batch(User user, List<BatchExpenseRequest.Operation> operations) {
+            this.user = user;
+            this.operations = operations;
+        }
+
+        private List<BatchExpenseResponse.ItemResult> apply() {
+            categories = loadCategories();
+            expenses = loadExpenses();
+
+            List<BatchExpenseResponse.ItemResult> results = new ArrayList<>(operations.size());
+            Expense[] created = new Expense[operations.size()];
+            for (int i = 0; i < operations.size(); i++) {
+                BatchExpenseRequest.Operation operation = operations.get(i);
+                BatchExpenseResponse.ItemResult result = BatchExpenseResponse.ItemResult.builder()
+                        .index(i)
+                        .op(operation.getOp())
+                        .id(operation.getId())
+                        .build();
+                try {
+                    created[i] = applyOne(operation, result);
+                } catch (ResourceNotFoundException e) {
+                    result.setStatus(HttpStatus.NOT_FOUND.value());
+                    result.setError(e.getMessage());
+                } catch (IllegalArgumentException e) {
+                    result.setStatus(HttpStatus.BAD_REQUEST.value());
+                    result.setError(e.getMessage());
+                }
+                results.add(result);
+            }
+
+            // Sends the queued inserts/updates as JDBC batches and fills creation timestamps
+            expenseRepository.flush();
+            for (int i = 0; i < created.length; i++) {
+                if (created[i] != null) {
+                    results.get(i).setId(created[i].getId());
+                    results.get(i).setExpense(ExpenseResponse.from(created[i]));
+                }
+            }
+            return results;
+        }
+
+        // Returns a newly created expense, whose response has to wait for the flush; other
+        // operations report the expense as it is at their position in the batch.
+        private Expense applyOne(BatchExpenseRequest.Operation operation, BatchExpenseResponse.ItemResult result) {
+            if (operation.getOp() == null) {
+                throw new IllegalArgumentException(Constants.ErrorMessages.BATCH_OPERATION_REQUIRED);
+            }
+
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    ExpenseRequest payload = validPayload(operation);
+                    Category category = category(payload.getCategoryId());
+                    Expense expense = Expense.builder()
+                            .user(user)
+                            .category(category)
+                            .amount(payload.getAmount())
+                            .description(payload.getDescription())
+                            .expenseDate(payload.getExpenseDate())
+                            .paymentMethod(payload.getPaymentMethod())
+                            .notes(payload.getNotes())
+                            .isDeleted(false)
+                            .build();
+                    expenseRepository.save(expense);
+                    written(expense, category);
+                    descriptionSuggestionService.expenseSaved(user.getId(), null, expense);
+                    result.setStatus(HttpStatus.CREATED.value());
+                    return expense;
+                }
+                case UPDATE -> {
+                    Expense expense = expense(operation.getId());
+                    ExpenseRequest payload = validPayload(operation);
+                    Category category = category(payload.getCategoryId());
+                    String previousDescription = expense.getDescription();
+                    affectedMonths.add(YearMonth.from(expense.getExpenseDate()));
+
+                    expense.setCategory(category);
+                    expense.setAmount(payload.getAmount());
+                    expense.setDescription(payload.getDescription());
+                    expense.setExpenseDate(payload.getExpenseDate());
+                    expense.setPaymentMethod(payload.getPaymentMethod());
+                    expense.setNotes(payload.getNotes());
+                    written(expense, category);
+                    descriptionSuggestionService.expenseSaved(user.getId(), previousDescription, expense);
+                    result.setStatus(HttpStatus.OK.value());
+                    result.setExpense(ExpenseResponse.from(expense));
+                    return null;
+                }
+                case DELETE -> {
+                    Expense expense = expense(operation.getId());
+                    expense.setIsDeleted(true);
+                    expenses.remove(expense.getId());
+                    affectedMonths.add(YearMonth.from(expense.getExpenseDate()));
+                    descriptionSuggestionService.expenseDeleted(user.getId(), expense.getDescription());
+                    result.setStatus(HttpStatus.NO_CONTENT.value());
+                    return null;
+                }
+                case GET -> {
+                    result.setExpense(ExpenseResponse.from(expense(operation.getId())));
+                    result.setStatus(HttpStatus.OK.value());
+                    return null;
+                }
+                default -> throw new IllegalArgumentException(Constants.ErrorMessages.BATCH_OPERATION_REQUIRED);
+            }
+        }
+
+        private void written(Expense expense, Category category) {
+            YearMonth month = YearMonth.from(expense.getExpenseDate());
+            affectedMonths.add(month);
+            // Budget alerts only consider the current month's spending
+            if (month.equals(currentMonth)) {
+                budgetCategoryIds.add(category.getId());
+            }
+        }
+
+        private ExpenseRequest validPayload(BatchExpenseRequest.Operation operation) {
+            ExpenseRequest payload = operation.getExpense();
+            if (payload == null) {
+                throw new IllegalArgumentException(Constants.ErrorMessages.BATCH_PAYLOAD_REQUIRED);
+            }
+            Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(payload);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            return payload;
+        }
+
+        private Category category(UUID id) {
+            Category category = categories.get(id);
+            if (category == null) {
+                throw new ResourceNotFoundException(Constants.ErrorMessages.CATEGORY_NOT_FOUND);
+            }
+            return category;
+        }
+
+        private Expense expense(UUID id) {
+            if (id == null) {
+                throw new IllegalArgumentException(Constants.ErrorMessages.BATCH_ID_REQUIRED);
+            }
+            Expense expense = expenses.get(id);
+            if (expense == null) {
+                throw new ResourceNotFoundException(Constants.ErrorMessages.EXPENSE_NOT_FOUND);
+            }
+            return expense;
+        }
+
+        private Map<UUID, Category> loadCategories() {
+            Set<UUID> ids = operations.stream()
+                    .map(BatchExpenseRequest.Operation::getExpense)
+                    .filter(Objects::nonNull)
+                    .map(ExpenseRequest::getCategoryId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (ids.isEmpty()) {
+                return Map.of();
+            }
+            return categoryRepository.findByUserAndIdIn(user, ids).stream()
+                    .collect(Collectors.toMap(Category::getId, Function.identity()));
+        }
+
+        private Map<UUID, Expense> loadExpenses() {
+            Set<UUID> ids = operations.stream()
+                    .map(BatchExpenseRequest.Operation::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (ids.isEmpty()) {
+                return new HashMap<>();
+            }
+            return expenseRepository.findActiveByUserAndIdIn(user, ids).stream()
+                    .collect(Collectors.toMap(Expense::getId, Function.identity(), (a, b) -> a, HashMap::new));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.BulkExpenseUpdateRequest;
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.BulkExpenseResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.ExpenseBulkRepository;
+import com.expenseTracker.demo.repository.ExpenseBulkRepository.Affected;
+import com.expenseTracker.demo.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Updates or soft-deletes every active expense matching the listing filters with a single
+ * statement. The statement returns the months it changed, so only that user's
+ * analytics entries for those months are evicted, and a budget check runs only when a
+ * category change touches the current month. An empty filter is rejected rather than
+ * treated as "all expenses".
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseBulkService {
+
+    private final ExpenseBulkRepository expenseBulkRepository;
+    private final CategoryRepository categoryRepository;
+    private final BudgetAlertService budgetAlertService;
+    private final DescriptionSuggestionService descriptionSuggestionService;
+    private final AnalyticsCacheEvictor analyticsCacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    public BulkExpenseResponse updateExpenses(ExpenseFilterRequest filter, BulkExpenseUpdateRequest request) {
+        User user = getCurrentUser();
+        requireCriteria(filter);
+        if (request.getCategoryId() == null && request.getPaymentMethod() == null) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.BULK_UPDATE_EMPTY);
+        }
+        if (request.getCategoryId() != null && categoryRepository.findByIdAndUser(request.getCategoryId(), user).isEmpty()) {
+            throw new ResourceNotFoundException(Constants.ErrorMessages.CATEGORY_NOT_FOUND);
+        }
+
+        Affected result = transactionTemplate.execute(status -> {
+            Affected affected = expenseBulkRepository.update(user.getId(), filter,
+                    request.getCategoryId(), request.getPaymentMethod(), LocalDateTime.now());
+            // Suggestions remember each description's latest category
+            if (affected.rows() > 0 && request.getCategoryId() != null) {
+                descriptionSuggestionService.invalidate(user.getId());
+            }
+            return affected;
+        });
+
+        analyticsCacheEvictor.evict(user.getId(), result.months());
+        if (request.getCategoryId() != null && result.months().contains(YearMonth.now())) {
+            budgetAlertService.checkBudgetThreshold(request.getCategoryId());
+        }
+        return new BulkExpenseResponse(result.rows());
+    }
+
+    public BulkExpenseResponse deleteExpenses(ExpenseFilterRequest filter) {
+        User user = getCurrentUser();
+        requireCriteria(filter);
+
+        Affected result = transactionTemplate.execute(status -> {
+            Affected affected = expenseBulkRepository.softDelete(user.getId(), filter, LocalDateTime.now());
+            if (affected.rows() > 0) {
+                descriptionSuggestionService.invalidate(user.getId());
+            }
+            return affected;
+        });
+
+        analyticsCacheEvictor.evict(user.getId(), result.months());
+        return new BulkExpenseResponse(result.rows());
+    }
+
+    private static void requireCriteria(ExpenseFilterRequest filter) {
+        if (filter == null || !filter.hasCriteria()) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.BULK_FILTER_REQUIRED);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.request.ExportFormat;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.ExpenseExportRepository;
+import com.expenseTracker.demo.util.CsvWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams a user's full expense history as CSV or NDJSON straight from one database cursor to
+ * the response, replacing hundreds of paged listing requests. Rows are written as they are
+ * fetched and never collected, so memory stays constant however many rows are exported.
+ * CSV columns use the names the CSV import expects by default, so an export can be re-imported.
+ */
+@Service
+@Slf4j
+public class ExpenseExportService {
+
+    static final String[] CSV_HEADER =
+            {"id", "date", "amount", "description", "category", "paymentMethod", "notes", "createdAt"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExpenseExportRepository expenseExportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+
+    public ExpenseExportService(ExpenseExportRepository expenseExportRepository,
+                                PlatformTransactionManager transactionManager,
+                                JsonMapper jsonMapper) {
+        this.expenseExportRepository = expenseExportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = jsonMapper.writerFor(ExpenseResponse.class);
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    /**
+     * Resolves the user now and returns the body that performs the export once the response
+     * starts streaming.
+     */
+    public StreamingResponseBody exportExpenses(ExpenseFilterRequest filter, ExportFormat format) {
+        UUID userId = getCurrentUser().getId();
+        return out -> {
+            export(userId, filter, format, out);
+            // Completes the response body, including the gzip trailer when compression is on
+            out.close();
+        };
+    }
+
+    /**
+     * Writes the export to {@code out} without closing it and returns the number of rows written.
+     */
+    long export(UUID userId, ExpenseFilterRequest filter, ExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long[] rows = {0};
+        try {
+            if (format == ExportFormat.CSV) {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+                CsvWriter csv = new CsvWriter(writer, ',');
+                csv.writeRecord((Object[]) CSV_HEADER);
+                stream(userId, filter, expense -> {
+                    rows[0]++;
+                    writeCsv(csv, expense);
+                });
+                writer.flush();
+            } else {
+                BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+                stream(userId, filter, expense -> {
+                    rows[0]++;
+                    writeJson(buffered, expense);
+                });
+                buffered.flush();
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor and its transaction are already closed
+            throw e.getCause();
+        }
+        log.debug("Exported {} expenses as {} for user {} in {} ms",
+                rows[0], format, userId, (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    private void stream(UUID userId, ExpenseFilterRequest filter, Consumer<ExpenseResponse> action) {
+        readOnlyTransaction.executeWithoutResult(status -> expenseExportRepository.forEach(userId, filter, action));
+    }
+
+    private static void writeCsv(CsvWriter csv, ExpenseResponse expense) {
+        try {
+            csv.writeRecord(expense.getId(), expense.getExpenseDate(), expense.getAmount().toPlainString(),
+                    expense.getDescription(), expense.getCategoryName(), expense.getPaymentMethod(),
+                    expense.getNotes(), expense.getCreatedAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(OutputStream out, ExpenseResponse expense) {
+        try {
+            out.write(jsonWriter.writeValueAsBytes(expense));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,577 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseImportProfile;
+import com.expenseTracker.demo.dto.response.ExpenseImportResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.ExpenseImportRepository;
+import com.expenseTracker.demo.util.Constants;
+import com.expenseTracker.demo.util.CsvReader;
+import com.expenseTracker.demo.util.UuidV7;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Imports expenses from CSV files such as bank statements. The upload is spooled to a staging
+ * file so a slow client never holds a database connection, then parsed one record at a time by
+ * a background worker and inserted in JDBC batches of {@code imports.batch-size} rows, each
+ * committed in its own short transaction. A failure part way keeps the batches already
+ * committed, and the job reports how many rows they hold. Categories are resolved by name from
+ * a per-import map, and analytics eviction, budget checks and the typeahead refresh run once
+ * when the import ends. Progress is kept in memory on the instance that accepted the upload.
+ */
+@Service
+@Slf4j
+public class ExpenseImportService {
+
+    private final ExpenseImportRepository expenseImportRepository;
+    private final CategoryRepository categoryRepository;
+    private final FileStorageService fileStorageService;
+    private final BudgetAlertService budgetAlertService;
+    private final DescriptionSuggestionService descriptionSuggestionService;
+    private final AnalyticsCacheEvictor analyticsCacheEvictor;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxFileSize;
+    private final int batchSize;
+    private final ExecutorService importExecutor;
+    private final Cache<UUID, ImportJob> jobs;
+
+    public ExpenseImportService(
+            ExpenseImportRepository expenseImportRepository,
+            CategoryRepository categoryRepository,
+            FileStorageService fileStorageService,
+            BudgetAlertService budgetAlertService,
+            DescriptionSuggestionService descriptionSuggestionService,
+            AnalyticsCacheEvictor analyticsCacheEvictor,
+            CacheManager cacheManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${imports.max-file-size:104857600}") long maxFileSize,
+            @Value("${imports.batch-size:1000}") int batchSize,
+            @Value("${imports.max-concurrent:2}") int maxConcurrent,
+            @Value("${imports.retention-hours:24}") long retentionHours) {
+        this.expenseImportRepository = expenseImportRepository;
+        this.categoryRepository = categoryRepository;
+        this.fileStorageService = fileStorageService;
+        this.budgetAlertService = budgetAlertService;
+        this.descriptionSuggestionService = descriptionSuggestionService;
+        this.analyticsCacheEvictor = analyticsCacheEvictor;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = transactionTemplate;
+        this.maxFileSize = maxFileSize;
+        this.batchSize = batchSize;
+        this.importExecutor = Executors.newFixedThreadPool(maxConcurrent,
+                Thread.ofPlatform().name("expense-import-", 1).daemon().factory());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(retentionHours))
+                .build();
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    public ExpenseImportResponse startImport(ExpenseImportProfile profile, long contentLength, InputStream body) {
+        User user = getCurrentUser();
+        DateTimeFormatter dateFormat = dateFormatter(profile.getDateFormat());
+
+        if (contentLength > maxFileSize) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.FILE_TOO_LARGE);
+        }
+
+        Path staged = spool(body);
+        long size;
+        try {
+            size = Files.size(staged);
+        } catch (IOException e) {
+            deleteQuietly(staged);
+            throw new UncheckedIOException("Failed to stage import file", e);
+        }
+        if (size == 0) {
+            deleteQuietly(staged);
+            throw new IllegalArgumentException(Constants.ErrorMessages.IMPORT_FILE_EMPTY);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), user.getId(), size);
+        jobs.put(job.id, job);
+        importExecutor.execute(() -> run(job, new Importer(user, profile, dateFormat, job), staged));
+        return job.toResponse();
+    }
+
+    public ExpenseImportResponse getImport(UUID importId) {
+        ImportJob job = jobs.getIfPresent(importId);
+        if (job == null || !job.userId.equals(getCurrentUser().getId())) {
+            throw new ResourceNotFoundException(Constants.ErrorMessages.IMPORT_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Importer importer, Path staged) {
+        job.status = ExpenseImportResponse.Status.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+
+        try (CountingInputStream counted = new CountingInputStream(Files.newInputStream(staged), job);
+             CsvReader csv = new CsvReader(new BufferedReader(
+                     new InputStreamReader(counted, StandardCharsets.UTF_8), 64 * 1024), importer.delimiter)) {
+
+            importer.importAll(csv);
+            importer.finish();
+
+            job.finishedAt = LocalDateTime.now();
+            job.status = ExpenseImportResponse.Status.COMPLETED;
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            log.info("Imported {} expenses ({} skipped) for user {} in {} ms ({} rows/s)",
+                    job.imported, job.skipped, job.userId, elapsedMs, job.rowsRead * 1000 / elapsedMs);
+        } catch (Exception e) {
+            // Batches committed before the failure are kept and counted as imported
+            try {
+                importer.finish();
+            } catch (RuntimeException finishFailure) {
+                e.addSuppressed(finishFailure);
+            }
+            job.failureReason = e instanceof IllegalArgumentException || e instanceof UncheckedIOException
+                    ? e.getMessage() : "Import failed";
+            job.finishedAt = LocalDateTime.now();
+            job.status = ExpenseImportResponse.Status.FAILED;
+            log.error("Expense import {} failed for user {}", job.id, job.userId, e);
+        } finally {
+            deleteQuietly(staged);
+        }
+    }
+
+    private Path spool(InputStream body) {
+        Path staged = null;
+        try {
+            staged = fileStorageService.newStagingFile();
+            try (OutputStream out = Files.newOutputStream(staged)) {
+                byte[] buffer = new byte[64 * 1024];
+                long total = 0;
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxFileSize) {
+                        throw new IllegalArgumentException(Constants.ErrorMessages.FILE_TOO_LARGE);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return staged;
+        } catch (IOException e) {
+            deleteQuietly(staged);
+            throw new UncheckedIOException("Failed to stage import file", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(staged);
+            throw e;
+        }
+    }
+
+    private static DateTimeFormatter dateFormatter(String pattern) {
+        try {
+            return DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid date format: " + pattern);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged import file {}", file, e);
+        }
+    }
+
+    /**
+     * Parses and inserts the rows of one import. Runs on the import worker thread only.
+     */
+    private final class Importer {
+
+        private final User user;
+        private final ExpenseImportProfile profile;
+        private final DateTimeFormatter dateFormat;
+        private final ImportJob job;
+        private final char delimiter;
+        private final YearMonth currentMonth = YearMonth.now();
+        private final Set<YearMonth> affectedMonths = new HashSet<>();
+        private final Set<UUID> budgetCategoryIds = new LinkedHashSet<>();
+        private final List<Expense> pending = new ArrayList<>();
+
+        private Map<String, Category> categories;
+        private int dateIndex;
+        private int amountIndex;
+        private int descriptionIndex;
+        private int categoryIndex;
+        private int paymentMethodIndex;
+        private int notesIndex;
+
+        private Importer(User user, ExpenseImportProfile profile, DateTimeFormatter dateFormat, ImportJob job) {
+            this.user = user;
+            this.profile = profile;
+            this.dateFormat = dateFormat;
+            this.job = job;
+            this.delimiter = profile.getDelimiter().charAt(0);
+        }
+
+        private void importAll(CsvReader csv) {
+            try {
+                // Per-import cache: one query, then every category name resolves in memory
+                categories = new HashMap<>();
+                for (Category category : categoryRepository.findByUserOrderByNameAsc(user)) {
+                    categories.put(key(category.getName()), category);
+                }
+
+                resolveColumns(profile.isHeader() ? csv.next() : null);
+
+                List<String> record;
+                while ((record = csv.next()) != null) {
+                    job.rowsRead++;
+                    try {
+                        Expense expense = toExpense(record);
+                        if (expense == null) {
+                            job.skipped++;
+                            continue;
+                        }
+                        pending.add(expense);
+                        if (pending.size() >= batchSize) {
+                            flush();
+                        }
+                    } catch (IllegalArgumentException e) {
+                        job.skipped++;
+                        job.rowError(csv.getRecordLine(), e.getMessage());
+                    }
+                }
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read import file: " + e.getMessage(), e);
+            }
+        }
+
+        private void finish() {
+            analyticsCacheEvictor.evict(user.getId(), affectedMonths);
+            if (job.categoriesCreated > 0) {
+                org.springframework.cache.Cache cache = cacheManager.getCache(Constants.Cache.CATEGORIES_USER);
+                if (cache != null) {
+                    cache.evict(user.getId());
+                }
+            }
+            if (job.imported > 0) {
+                descriptionSuggestionService.invalidate(user.getId());
+            }
+            budgetCategoryIds.forEach(budgetAlertService::checkBudgetThreshold);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Stamped just before the commit so delta sync's settle window covers the gap
+            LocalDateTime now = LocalDateTime.now();
+            for (Expense expense : pending) {
+                expense.setCreatedAt(now);
+                expense.setUpdatedAt(now);
+            }
+            transactionTemplate.executeWithoutResult(status -> expenseImportRepository.insertBatch(pending));
+            job.imported += pending.size();
+            pending.clear();
+        }
+
+        private void resolveColumns(List<String> header) {
+            Map<String, Integer> names = new HashMap<>();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    String name = header.get(i);
+                    // Spreadsheet exports often start with a UTF-8 byte order mark
+                    if (i == 0 && name.startsWith("\uFEFF")) {
+                        name = name.substring(1);
+                    }
+                    names.putIfAbsent(key(name), i);
+                }
+            }
+            dateIndex = column(names, profile.getDateColumn(), true);
+            amountIndex = column(names, profile.getAmountColumn(), true);
+            descriptionIndex = column(names, profile.getDescriptionColumn(), false);
+            categoryIndex = column(names, profile.getCategoryColumn(), false);
+            paymentMethodIndex = column(names, profile.getPaymentMethodColumn(), false);
+            notesIndex = column(names, profile.getNotesColumn(), false);
+        }
+
+        private int column(Map<String, Integer> names, String column, boolean required) {
+            if (column == null || column.isBlank()) {
+                return -1;
+            }
+            Integer index = names.get(key(column));
+            if (index != null) {
+                return index;
+            }
+            if (column.strip().chars().allMatch(Character::isDigit)) {
+                return Integer.parseInt(column.strip());
+            }
+            if (required) {
+                throw new IllegalArgumentException("Column '" + column + "' not found in the file");
+            }
+            return -1;
+        }
+
+        // Returns null for rows that are intentionally skipped (credits when negating amounts)
+        private Expense toExpense(List<String> record) {
+            LocalDate date = parseDate(field(record, dateIndex));
+            BigDecimal amount = parseAmount(field(record, amountIndex));
+            if (profile.isNegateAmounts()) {
+                amount = amount.negate();
+                if (amount.signum() <= 0) {
+                    return null;
+                }
+            } else if (amount.signum() <= 0) {
+                throw new IllegalArgumentException("Amount must be greater than 0");
+            }
+
+            Category category = category(field(record, categoryIndex));
+            Expense expense = Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(amount)
+                    .description(text(field(record, descriptionIndex)))
+                    .expenseDate(date)
+                    .paymentMethod(paymentMethod(field(record, paymentMethodIndex)))
+                    .notes(text(field(record, notesIndex)))
+                    .isDeleted(false)
+                    .build();
+            expense.setId(UuidV7.next());
+
+            YearMonth month = YearMonth.from(date);
+            affectedMonths.add(month);
+            if (month.equals(currentMonth)) {
+                budgetCategoryIds.add(category.getId());
+            }
+            return expense;
+        }
+
+        private LocalDate parseDate(String value) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Expense date is required");
+            }
+            LocalDate date;
+            try {
+                date = LocalDate.parse(value, dateFormat);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'");
+            }
+            if (date.isAfter(LocalDate.now())) {
+                throw new IllegalArgumentException("Expense date cannot be in the future");
+            }
+            return date;
+        }
+
+        // Accepts currency symbols, thousands separators and accounting-style (1.00) negatives
+        private BigDecimal parseAmount(String value) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Amount is required");
+            }
+            boolean negative = value.startsWith("(") && value.endsWith(")");
+            StringBuilder digits = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isDigit(c) || c == '.') {
+                    digits.append(c);
+                } else if (c == '-') {
+                    negative = !negative;
+                }
+            }
+
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(digits.toString());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount '" + value + "'");
+            }
+            if (amount.stripTrailingZeros().scale() > 2 || amount.precision() - amount.scale() > 8) {
+                throw new IllegalArgumentException("Amount must have at most 8 integer digits and 2 decimal places");
+            }
+            amount = amount.setScale(2);
+            return negative ? amount.negate() : amount;
+        }
+
+        private Category category(String name) {
+            if (!name.isEmpty()) {
+                Category category = categories.get(key(name));
+                if (category != null) {
+                    return category;
+                }
+                if (profile.isCreateCategories() && name.length() <= Constants.Validation.CATEGORY_NAME_MAX_LENGTH) {
+                    return createCategory(name);
+                }
+            }
+            Category fallback = categories.get(key(profile.getDefaultCategory()));
+            return fallback != null ? fallback : createCategory(profile.getDefaultCategory().strip());
+        }
+
+        private Category createCategory(String name) {
+            // Flushed right away: the JDBC inserts reference it by foreign key
+            Category category = categoryRepository.saveAndFlush(Category.builder()
+                    .user(user)
+                    .name(name)
+                    .build());
+            categories.put(key(name), category);
+            job.categoriesCreated++;
+            return category;
+        }
+
+        private Expense.PaymentMethod paymentMethod(String value) {
+            if (value.isEmpty()) {
+                return profile.getDefaultPaymentMethod();
+            }
+            try {
+                return Expense.PaymentMethod.valueOf(
+                        value.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                return profile.getDefaultPaymentMethod();
+            }
+        }
+
+        private static String field(List<String> record, int index) {
+            return index >= 0 && index < record.size() ? record.get(index).strip() : "";
+        }
+
+        private static String text(String value) {
+            if (value.isEmpty()) {
+                return null;
+            }
+            return value.length() > Constants.Validation.DESCRIPTION_MAX_LENGTH
+                    ? value.substring(0, Constants.Validation.DESCRIPTION_MAX_LENGTH)
+                    : value;
+        }
+
+        private static String key(String name) {
+            return name.strip().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Progress of one import. Written only by its worker thread and read by status requests.
+     */
+    private static final class ImportJob {
+
+        private final UUID id;
+        private final UUID userId;
+        private final long totalBytes;
+        private final List<ExpenseImportResponse.RowError> errors = new CopyOnWriteArrayList<>();
+
+        private volatile ExpenseImportResponse.Status status = ExpenseImportResponse.Status.QUEUED;
+        private volatile long bytesRead;
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long skipped;
+        private volatile int categoriesCreated;
+        private volatile String failureReason;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(UUID id, UUID userId, long totalBytes) {
+            this.id = id;
+            this.userId = userId;
+            this.totalBytes = totalBytes;
+        }
+
+        private void rowError(long line, String message) {
+            if (errors.size() < Constants.Import.MAX_REPORTED_ERRORS) {
+                errors.add(new ExpenseImportResponse.RowError(line, message));
+            }
+        }
+
+        private ExpenseImportResponse toResponse() {
+            return ExpenseImportResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .totalBytes(totalBytes)
+                    .bytesRead(bytesRead)
+                    .percentComplete(status == ExpenseImportResponse.Status.COMPLETED
+                            ? 100 : (int) (bytesRead * 100 / totalBytes))
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .categoriesCreated(categoriesCreated)
+                    .errors(List.copyOf(errors))
+                    .failureReason(failureReason)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final ImportJob job;
+
+        private CountingInputStream(InputStream in, ImportJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                job.bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                job.bytesRead += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.expenseTracker.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the yearly range partitions of the {@code expenses} table (see V3 migration).
+ * Partitions are created ahead of the dates they cover, and partitions older than
+ * {@code partitioning.expenses.retention-years} can be detached into standalone tables
+ * for archiving.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExpensePartitionService {
+
+    private static final String PARENT_TABLE = "expenses";
+    private static final String DEFAULT_PARTITION = "expenses_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("expenses_y(\\d{4})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${partitioning.expenses.years-ahead:1}")
+    private int yearsAhead;
+
+    @Value("${partitioning.expenses.retention-years:0}")
+    private int retentionYears;
+
+    /**
+     * Ensures a partition exists for the current year, the next {@code years-ahead} years and
+     * any year that has rows sitting in the default partition (e.g. backdated expenses older
+     * than the first partition). Those rows are moved into the new partition in the same
+     * transaction.
+     */
+    @Transactional
+    public List<String> createMissingPartitions() {
+        List<Integer> attached = attachedPartitionYears();
+        int currentYear = Year.now().getValue();
+
+        Set<Integer> years = new TreeSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT EXTRACT(YEAR FROM expense_date)::int FROM " + DEFAULT_PARTITION, Integer.class));
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            years.add(year);
+        }
+
+        List<String> created = new ArrayList<>();
+        for (int year : years) {
+            if (!attached.contains(year)) {
+                created.add(createPartition(year));
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Detaches partitions for years before {@code current year - retention-years} and renames
+     * them to {@code expenses_archive_y<year>}. The detached tables keep their data and indexes
+     * so they can be dumped or moved to cheaper storage. Disabled when {@code retention-years} is 0.
+     */
+    @Transactional
+    public List<String> detachExpiredPartitions() {
+        if (retentionYears <= 0) {
+            return List.of();
+        }
+
+        int oldestRetainedYear = Year.now().getValue() - retentionYears;
+        List<String> detached = new ArrayList<>();
+        for (int year : attachedPartitionYears()) {
+            if (year < oldestRetainedYear) {
+                String partition = partitionName(year);
+                String archive = "expenses_archive_y" + year;
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archive);
+                detached.add(archive);
+                log.info("Detached expense partition {} as {}", partition, archive);
+            }
+        }
+        return detached;
+    }
+
+    private String createPartition(int year) {
+        String partition = partitionName(year);
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+
+        jdbcTemplate.execute("CREATE TABLE " + partition
+                + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)");
+
+        // Generated columns (search_vector) cannot be written; they are recomputed on insert
+        String columns = String.join(", ", jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND is_generated = 'NEVER' " +
+                "ORDER BY ordinal_position",
+                String.class, PARENT_TABLE));
+        int moved = jdbcTemplate.update("INSERT INTO " + partition + " (" + columns + ") SELECT " + columns
+                + " FROM " + DEFAULT_PARTITION + " WHERE expense_date >= ? AND expense_date < ?", from, to);
+        if (moved > 0) {
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE expense_date >= ? AND expense_date < ?", from, to);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        log.info("Created expense partition {} ({} rows moved from default partition)", partition, moved);
+        return partition;
+    }
+
+    private List<Integer> attachedPartitionYears() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass", String.class, PARENT_TABLE);
+
+        List<Integer> years = new ArrayList<>();
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches()) {
+                years.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return years;
+    }
+
+    private static String partitionName(int year) {
+        return "expenses_y" + year;
+    }
+}
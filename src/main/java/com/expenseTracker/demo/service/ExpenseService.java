@@ -1,6 +1,9 @@
 package com.expenseTracker.demo.service;
 
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
 import com.expenseTracker.demo.dto.request.ExpenseRequest;
+import com.expenseTracker.demo.dto.response.CursorPageResponse;
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
 import com.expenseTracker.demo.dto.response.ExpenseResponse;
 import com.expenseTracker.demo.entity.Category;
 import com.expenseTracker.demo.entity.Expense;
@@ -8,19 +11,25 @@ import com.expenseTracker.demo.entity.User;
 import com.expenseTracker.demo.exception.ResourceNotFoundException;
 import com.expenseTracker.demo.repository.CategoryRepository;
 import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ExpenseSearchRepository;
+import com.expenseTracker.demo.repository.ExpenseSpecifications;
 import com.expenseTracker.demo.util.Constants;
+import com.expenseTracker.demo.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,8 +37,11 @@ import java.util.UUID;
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
+    private final ExpenseSearchRepository expenseSearchRepository;
     private final CategoryRepository categoryRepository;
     private final BudgetAlertService budgetAlertService;
+    private final DescriptionSuggestionService descriptionSuggestionService;
+    private final AnalyticsCacheEvictor analyticsCacheEvictor;
 
     private User getCurrentUser() {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -55,6 +67,8 @@ public class ExpenseService {
                 .build();
 
         expense = expenseRepository.save(expense);
+        descriptionSuggestionService.expenseSaved(user.getId(), null, expense);
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
 
         budgetAlertService.checkBudgetThreshold(category.getId());
 
@@ -65,50 +79,124 @@ public class ExpenseService {
     public ExpenseResponse getExpenseById(UUID id) {
         User user = getCurrentUser();
         
-        Expense expense = expenseRepository.findByIdAndUserAndIsDeletedFalse(id, user)
+        return expenseRepository.findResponseByIdAndUser(id, user)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.EXPENSE_NOT_FOUND));
-
-        return ExpenseResponse.from(expense);
     }
 
     @Transactional(readOnly = true)
-    public Page<ExpenseResponse> getAllExpenses(
+    public Slice<ExpenseResponse> getAllExpenses(
             int page,
             int size,
             String sortBy,
-            String sortDirection) {
+            String sortDirection,
+            boolean includeCount) {
         
         User user = getCurrentUser();
-        
-        size = Math.min(size, Constants.Pagination.MAX_PAGE_SIZE);
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = pageRequest(page, size, sortBy, sortDirection);
 
-        return expenseRepository.findByUserAndIsDeletedFalse(user, pageable)
-                .map(ExpenseResponse::from);
+        return includeCount
+                ? expenseRepository.findResponsesByUser(user, pageable)
+                : expenseRepository.findResponseSliceByUser(user, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<ExpenseResponse> getExpensesWithFilters(
-            UUID categoryId,
-            LocalDate startDate,
-            LocalDate endDate,
-            BigDecimal minAmount,
-            BigDecimal maxAmount,
+    public Slice<ExpenseResponse> getExpensesWithFilters(
+            ExpenseFilterRequest filter,
             int page,
             int size,
             String sortBy,
-            String sortDirection) {
+            String sortDirection,
+            boolean includeCount) {
         
         User user = getCurrentUser();
-        
-        size = Math.min(size, Constants.Pagination.MAX_PAGE_SIZE);
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = pageRequest(page, size, sortBy, sortDirection);
 
-        return expenseRepository.findByFilters(
-                user, categoryId, startDate, endDate, minAmount, maxAmount, pageable
-        ).map(ExpenseResponse::from);
+        Specification<Expense> spec = ExpenseSpecifications.activeForUser(user)
+                .and(ExpenseSpecifications.withFilters(filter));
+
+        return includeCount
+                ? expenseRepository.findResponsePage(spec, pageable)
+                : expenseRepository.findResponseSlice(spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ExpenseResponse> searchExpenses(
+            String query,
+            ExpenseFilterRequest filter,
+            int page,
+            int size,
+            boolean includeCount) {
+
+        String tsQuery = ExpenseSearchRepository.toPrefixQuery(query);
+        if (tsQuery == null) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_SEARCH_QUERY);
+        }
+
+        User user = getCurrentUser();
+        Pageable pageable = PageRequest.of(page, Math.min(size, Constants.Pagination.MAX_PAGE_SIZE));
+        return expenseSearchRepository.search(user.getId(), tsQuery, filter, pageable, includeCount);
+    }
+
+    public List<DescriptionSuggestionResponse> suggestDescriptions(String prefix, int limit) {
+        User user = getCurrentUser();
+        return descriptionSuggestionService.suggest(user.getId(), prefix, limit);
+    }
+
+    /**
+     * Keyset listing: each page seeks past the last row of the previous one via an opaque
+     * cursor, so page cost does not grow with depth and no COUNT is run unless requested.
+     * Only index-backed sort fields are accepted; a cursor carries its own sort order.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ExpenseResponse> scrollExpenses(
+            ExpenseFilterRequest filter,
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDirection,
+            boolean includeCount) {
+
+        User user = getCurrentUser();
+        size = Math.max(1, Math.min(size, Constants.Pagination.MAX_PAGE_SIZE));
+
+        String[] position = cursor != null ? CursorCodec.decode(cursor, 4) : null;
+        if (position != null) {
+            sortBy = position[0];
+            sortDirection = position[1];
+        }
+        if (!Constants.Pagination.KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_SORT_FIELD);
+        }
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection);
+
+        Specification<Expense> spec = ExpenseSpecifications.activeForUser(user)
+                .and(ExpenseSpecifications.withFilters(filter));
+        Specification<Expense> page = position != null
+                ? spec.and(seekAfter(sortBy, position[2], position[3], direction.isDescending()))
+                : spec;
+
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        List<ExpenseResponse> rows = expenseRepository.findResponses(page, sort, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ExpenseResponse last = rows.get(rows.size() - 1);
+            Object key = "amount".equals(sortBy) ? last.getAmount() : last.getExpenseDate();
+            nextCursor = CursorCodec.encode(sortBy, direction.name(), key.toString(), last.getId().toString());
+        }
+
+        return CursorPageResponse.<ExpenseResponse>builder()
+                .content(rows)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(includeCount ? expenseRepository.count(spec) : null)
+                .build();
     }
 
     @Transactional
@@ -122,6 +210,7 @@ public class ExpenseService {
         Category category = categoryRepository.findByIdAndUser(request.getCategoryId(), user)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.CATEGORY_NOT_FOUND));
 
+        String previousDescription = expense.getDescription();
         expense.setCategory(category);
         expense.setAmount(request.getAmount());
         expense.setDescription(request.getDescription());
@@ -130,6 +219,8 @@ public class ExpenseService {
         expense.setNotes(request.getNotes());
 
         expense = expenseRepository.save(expense);
+        descriptionSuggestionService.expenseSaved(user.getId(), previousDescription, expense);
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
         return ExpenseResponse.from(expense);
     }
 
@@ -143,5 +234,27 @@ public class ExpenseService {
 
         expense.setIsDeleted(true);
         expenseRepository.save(expense);
+        descriptionSuggestionService.expenseDeleted(user.getId(), expense.getDescription());
+        analyticsCacheEvictor.evictCategoryStats(user.getId());
+    }
+
+    private Pageable pageRequest(int page, int size, String sortBy, String sortDirection) {
+        if (!Constants.Pagination.SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_SORT_FIELD);
+        }
+        size = Math.min(size, Constants.Pagination.MAX_PAGE_SIZE);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        return PageRequest.of(page, size, sort);
+    }
+
+    private Specification<Expense> seekAfter(String sortBy, String key, String id, boolean descending) {
+        try {
+            UUID lastId = UUID.fromString(id);
+            return "amount".equals(sortBy)
+                    ? ExpenseSpecifications.seekAfter(sortBy, new BigDecimal(key), lastId, descending)
+                    : ExpenseSpecifications.seekAfter(sortBy, LocalDate.parse(key), lastId, descending);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_CURSOR);
+        }
     }
 }
@@ -1,26 +1,27 @@
 package com.expenseTracker.demo.service;
 
+import com.expenseTracker.demo.dto.response.ReceiptResponse;
 import com.expenseTracker.demo.entity.Expense;
 import com.expenseTracker.demo.entity.Receipt;
 import com.expenseTracker.demo.entity.User;
 import com.expenseTracker.demo.exception.ResourceNotFoundException;
 import com.expenseTracker.demo.repository.ExpenseRepository;
 import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
 import com.expenseTracker.demo.util.Constants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.UUID;
@@ -31,6 +32,8 @@ public class FileStorageService {
 
     private final ExpenseRepository expenseRepository;
     private final ReceiptRepository receiptRepository;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -39,31 +42,50 @@ public class FileStorageService {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 
-    @Transactional
-    public Receipt uploadReceipt(UUID expenseId, MultipartFile file) {
+    /**
+     * Stores the file before the receipt transaction starts, so a slow upload to storage does
+     * not hold a database connection. If the receipt cannot be recorded afterwards the stored
+     * file is deleted again.
+     */
+    public ReceiptResponse uploadReceipt(UUID expenseId, MultipartFile file) {
         User user = getCurrentUser();
 
         Expense expense = expenseRepository.findByIdAndUserAndIsDeletedFalse(expenseId, user)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.EXPENSE_NOT_FOUND));
 
         if (receiptRepository.existsByExpense(expense)) {
-            throw new IllegalArgumentException("Receipt already exists for this expense");
+            throw new IllegalArgumentException(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS);
         }
 
         validateFile(file);
 
         String fileName = generateFileName(file.getOriginalFilename());
-        String filePath = saveFile(file, user.getId(), expenseId, fileName);
+        String key = saveFile(file, user.getId(), expenseId, fileName);
+
+        try {
+            Receipt receipt = transactionTemplate.execute(status -> recordReceipt(expense, file, fileName, key));
+            return ReceiptResponse.from(receipt, expenseId);
+        } catch (RuntimeException e) {
+            receiptStorage.delete(key);
+            throw e;
+        }
+    }
+
+    private Receipt recordReceipt(Expense expense, MultipartFile file, String fileName, String key) {
+        // Another upload may have recorded a receipt while this file was being stored
+        Expense reference = expenseRepository.getReferenceById(expense.getId());
+        if (receiptRepository.existsByExpense(reference)) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS);
+        }
 
         Receipt receipt = Receipt.builder()
-                .expense(expense)
+                .expense(reference)
                 .fileName(fileName)
-                .filePath(filePath)
+                .filePath(key)
                 .fileSize(file.getSize())
                 .fileType(file.getContentType())
                 .uploadedAt(LocalDateTime.now())
                 .build();
-
         return receiptRepository.save(receipt);
     }
 
@@ -77,18 +99,7 @@ public class FileStorageService {
         Receipt receipt = receiptRepository.findByExpense(expense)
                 .orElseThrow(() -> new ResourceNotFoundException("Receipt not found"));
 
-        try {
-            Path file = Paths.get(receipt.getFilePath());
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new ResourceNotFoundException("File not found or not readable");
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading file", e);
-        }
+        return receiptStorage.load(receipt.getFilePath());
     }
 
     private void validateFile(MultipartFile file) {
@@ -100,16 +111,17 @@ public class FileStorageService {
             throw new IllegalArgumentException(Constants.ErrorMessages.FILE_TOO_LARGE);
         }
 
-        String contentType = file.getContentType();
-        boolean isValidType = Arrays.stream(Constants.FileUpload.ALLOWED_IMAGE_TYPES).anyMatch(type -> type.equals(contentType)) ||
-                              Arrays.stream(Constants.FileUpload.ALLOWED_DOCUMENT_TYPES).anyMatch(type -> type.equals(contentType));
-
-        if (!isValidType) {
+        if (!isAllowedContentType(file.getContentType())) {
             throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_FILE_TYPE);
         }
     }
 
-    private String generateFileName(String originalFilename) {
+    boolean isAllowedContentType(String contentType) {
+        return Arrays.stream(Constants.FileUpload.ALLOWED_IMAGE_TYPES).anyMatch(type -> type.equals(contentType)) ||
+               Arrays.stream(Constants.FileUpload.ALLOWED_DOCUMENT_TYPES).anyMatch(type -> type.equals(contentType));
+    }
+
+    String generateFileName(String originalFilename) {
         String extension = "";
         if (originalFilename != null && originalFilename.contains(".")) {
             extension = originalFilename.substring(originalFilename.lastIndexOf("."));
@@ -117,15 +129,25 @@ public class FileStorageService {
         return UUID.randomUUID().toString() + extension;
     }
 
+    Path newStagingFile() throws IOException {
+        Path stagingDir = Paths.get(uploadDir, Constants.FileUpload.STAGING_DIR);
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(UUID.randomUUID() + ".part");
+    }
+
+    String storeReceiptFile(UUID userId, UUID expenseId, String fileName, Path stagedFile, String contentType) {
+        String key = userId + "/" + expenseId + "/" + fileName;
+        receiptStorage.store(key, stagedFile, contentType);
+        return key;
+    }
+
     private String saveFile(MultipartFile file, UUID userId, UUID expenseId, String fileName) {
         try {
-            Path userDir = Paths.get(uploadDir, userId.toString(), expenseId.toString());
-            Files.createDirectories(userDir);
-
-            Path targetLocation = userDir.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            Path stagedFile = newStagingFile();
+            // transferTo lets the container move its buffered temp file instead of copying it again
+            file.transferTo(stagedFile.toAbsolutePath().toFile());
 
-            return targetLocation.toString();
+            return storeReceiptFile(userId, expenseId, fileName, stagedFile, file.getContentType());
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file", e);
         }
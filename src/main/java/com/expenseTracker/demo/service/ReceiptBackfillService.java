@@ -0,0 +1,90 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves receipts saved by the local backend before the storage abstraction onto storage keys.
+ * Their {@code file_path} holds the whole local path ({@code uploads/{userId}/{expenseId}/{fileName}}).
+ * Each one is copied from that path into the configured storage unless its key is already
+ * there, for example after the upload dir was synced into the bucket. Its {@code file_path}
+ * is then rewritten to the key. The local files are left in place. Receipts whose file is in
+ * neither place are logged and keep their path.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptBackfillService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReceiptStorage receiptStorage;
+    private final FileStorageService fileStorageService;
+
+    private record ReceiptPath(UUID id, String filePath, String fileType) {
+    }
+
+    /** Returns the number of receipts rewritten to a storage key. */
+    public int backfillLegacyReceipts() {
+        int rewritten = 0;
+        int missing = 0;
+        UUID lastId = new UUID(0, 0);
+        List<ReceiptPath> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT id, file_path, file_type FROM receipts WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new ReceiptPath(
+                            rs.getObject("id", UUID.class), rs.getString("file_path"), rs.getString("file_type")),
+                    lastId, BATCH_SIZE);
+
+            for (ReceiptPath receipt : batch) {
+                lastId = receipt.id();
+                String key = ReceiptStorage.keyOf(receipt.filePath());
+                if (key.equals(receipt.filePath())) {
+                    continue;
+                }
+                if (!receiptStorage.exists(key) && !copyToStorage(receipt, key)) {
+                    missing++;
+                    continue;
+                }
+                // Only if the row was not changed meanwhile
+                rewritten += jdbcTemplate.update("UPDATE receipts SET file_path = ? WHERE id = ? AND file_path = ?",
+                        key, receipt.id(), receipt.filePath());
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (missing > 0) {
+            log.warn("{} legacy receipts were not backfilled because their files were not found", missing);
+        }
+        return rewritten;
+    }
+
+    private boolean copyToStorage(ReceiptPath receipt, String key) {
+        Path file = Paths.get(receipt.filePath());
+        if (!Files.isReadable(file)) {
+            log.warn("Legacy receipt file not found: receipt {}, path {}", receipt.id(), receipt.filePath());
+            return false;
+        }
+        try {
+            // store consumes its source, so hand it a copy and keep the original
+            Path copy = fileStorageService.newStagingFile();
+            Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+            receiptStorage.store(key, copy, receipt.fileType());
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to copy legacy receipt " + receipt.id(), e);
+        }
+    }
+}
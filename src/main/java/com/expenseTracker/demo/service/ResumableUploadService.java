@@ -0,0 +1,269 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.UploadSessionRequest;
+import com.expenseTracker.demo.dto.response.ReceiptResponse;
+import com.expenseTracker.demo.dto.response.UploadSessionResponse;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.Receipt;
+import com.expenseTracker.demo.entity.UploadSession;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.repository.UploadSessionRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService {
+
+    private static final Map<String, byte[]> FILE_SIGNATURES = Map.of(
+            "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+            "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},
+            "application/pdf", new byte[]{'%', 'P', 'D', 'F', '-'}
+    );
+
+    private final ExpenseRepository expenseRepository;
+    private final ReceiptRepository receiptRepository;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileStorageService fileStorageService;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    @Transactional
+    public UploadSessionResponse createSession(UUID expenseId, UploadSessionRequest request) {
+        User user = getCurrentUser();
+
+        Expense expense = expenseRepository.findByIdAndUserAndIsDeletedFalse(expenseId, user)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.EXPENSE_NOT_FOUND));
+
+        if (receiptRepository.existsByExpense(expense)) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS);
+        }
+
+        if (!fileStorageService.isAllowedContentType(request.getContentType())) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_FILE_TYPE);
+        }
+
+        String fileName = fileStorageService.generateFileName(request.getFileName());
+        Path target;
+        try {
+            target = fileStorageService.newStagingFile();
+            Files.createFile(target);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create upload file", e);
+        }
+
+        UploadSession session = UploadSession.builder()
+                .user(user)
+                .expense(expense)
+                .fileName(fileName)
+                .filePath(target.toString())
+                .fileType(request.getContentType())
+                .totalSize(request.getTotalSize())
+                .bytesReceived(0L)
+                .expiresAt(nextExpiry())
+                .build();
+
+        session = uploadSessionRepository.save(session);
+        return UploadSessionResponse.from(session, expenseId, Constants.FileUpload.MAX_CHUNK_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getSession(UUID expenseId, UUID sessionId) {
+        UploadSession session = findSession(expenseId, sessionId, getCurrentUser());
+        return UploadSessionResponse.from(session, expenseId, Constants.FileUpload.MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Writes one chunk at {@code offset} directly into the session's staging file.
+     * Deliberately not transactional so a slow client does not pin a database connection
+     * while the chunk streams in; the offset is advanced with a compare-and-set update.
+     */
+    public UploadSessionResponse appendChunk(UUID expenseId, UUID sessionId, long offset, long contentLength, InputStream body) {
+        UploadSession session = findSession(expenseId, sessionId, getCurrentUser());
+
+        if (offset != session.getBytesReceived()) {
+            throw new IllegalArgumentException("Chunk offset " + offset + " does not match expected offset " + session.getBytesReceived());
+        }
+
+        long remaining = session.getTotalSize() - offset;
+        if (contentLength <= 0 || contentLength > Constants.FileUpload.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + Constants.FileUpload.MAX_CHUNK_SIZE + " bytes");
+        }
+        if (contentLength > remaining) {
+            throw new IllegalArgumentException("Chunk exceeds declared file size");
+        }
+
+        long written = writeChunk(Paths.get(session.getFilePath()), offset, contentLength, body);
+        if (written != contentLength) {
+            throw new IllegalArgumentException("Chunk was truncated: expected " + contentLength + " bytes but received " + written);
+        }
+
+        LocalDateTime expiresAt = nextExpiry();
+        int updated = uploadSessionRepository.advanceOffset(session.getId(), offset, offset + written, expiresAt);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Upload session was modified concurrently; query the session for the current offset");
+        }
+
+        session.setBytesReceived(offset + written);
+        session.setExpiresAt(expiresAt);
+        return UploadSessionResponse.from(session, expenseId, Constants.FileUpload.MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Verifies the staged file and moves it to storage outside any transaction, so no database
+     * connection is held while a large file is uploaded to S3. The session is then claimed and the
+     * receipt recorded in one short transaction. Each attempt stores under a fresh file name, so
+     * when that transaction fails (a concurrent completion, cancel or expiry won, or the expense
+     * got a receipt meanwhile) the attempt's own stored file can be deleted again.
+     */
+    public ReceiptResponse completeSession(UUID expenseId, UUID sessionId) {
+        User user = getCurrentUser();
+        UploadSession session = findSession(expenseId, sessionId, user);
+        Path file = Paths.get(session.getFilePath());
+
+        if (!session.getBytesReceived().equals(session.getTotalSize())) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.UPLOAD_INCOMPLETE);
+        }
+
+        if (receiptRepository.existsByExpense(session.getExpense())) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS);
+        }
+
+        try {
+            if (Files.size(file) != session.getTotalSize()) {
+                throw new IllegalArgumentException(Constants.ErrorMessages.UPLOAD_INCOMPLETE);
+            }
+            if (!matchesSignature(file, session.getFileType())) {
+                throw new IllegalArgumentException(Constants.ErrorMessages.FILE_CONTENT_MISMATCH);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to verify uploaded file", e);
+        }
+
+        String fileName = fileStorageService.generateFileName(session.getFileName());
+        String key = fileStorageService.storeReceiptFile(
+                user.getId(), expenseId, fileName, file, session.getFileType());
+
+        try {
+            Receipt receipt = transactionTemplate.execute(status -> recordReceipt(session, fileName, key));
+            return ReceiptResponse.from(receipt, expenseId);
+        } catch (RuntimeException e) {
+            receiptStorage.delete(key);
+            throw e;
+        }
+    }
+
+    private Receipt recordReceipt(UploadSession session, String fileName, String key) {
+        // Deleting the row first makes exactly one completion (or cancel/expiry) own the session
+        if (uploadSessionRepository.deleteSession(session.getId()) == 0) {
+            throw new ResourceNotFoundException(Constants.ErrorMessages.UPLOAD_SESSION_NOT_FOUND);
+        }
+        Expense expense = expenseRepository.getReferenceById(session.getExpense().getId());
+        if (receiptRepository.existsByExpense(expense)) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS);
+        }
+
+        Receipt receipt = Receipt.builder()
+                .expense(expense)
+                .fileName(fileName)
+                .filePath(key)
+                .fileSize(session.getTotalSize())
+                .fileType(session.getFileType())
+                .uploadedAt(LocalDateTime.now())
+                .build();
+        return receiptRepository.save(receipt);
+    }
+
+    @Transactional
+    public void cancelSession(UUID expenseId, UUID sessionId) {
+        discard(findSession(expenseId, sessionId, getCurrentUser()));
+    }
+
+    @Transactional
+    public int expireSessions() {
+        List<UploadSession> expired = uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now());
+        expired.forEach(this::discard);
+        return expired.size();
+    }
+
+    private UploadSession findSession(UUID expenseId, UUID sessionId, User user) {
+        return uploadSessionRepository.findByIdAndUserAndExpenseId(sessionId, user, expenseId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ErrorMessages.UPLOAD_SESSION_NOT_FOUND));
+    }
+
+    private long writeChunk(Path file, long offset, long length, InputStream body) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(body)) {
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            return written;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write upload chunk", e);
+        }
+    }
+
+    private boolean matchesSignature(Path file, String contentType) throws IOException {
+        byte[] signature = FILE_SIGNATURES.get(contentType);
+        if (signature == null) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(signature.length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(header);
+            } while (read > 0 && header.hasRemaining());
+        }
+        return !header.hasRemaining() && Arrays.equals(header.array(), signature);
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            Files.deleteIfExists(Paths.get(session.getFilePath()));
+        } catch (IOException e) {
+            log.warn("Failed to delete upload file for session: {}", session.getId(), e);
+        }
+        uploadSessionRepository.delete(session);
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plusHours(Constants.FileUpload.UPLOAD_SESSION_TTL_HOURS);
+    }
+}
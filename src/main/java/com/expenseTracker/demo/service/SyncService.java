@@ -0,0 +1,157 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.BudgetResponse;
+import com.expenseTracker.demo.dto.response.CategoryResponse;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.dto.response.SyncResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.SyncRepository;
+import com.expenseTracker.demo.repository.SyncRepository.Change;
+import com.expenseTracker.demo.repository.SyncRepository.Position;
+import com.expenseTracker.demo.util.Constants;
+import com.expenseTracker.demo.util.CursorCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync for mobile clients: everything created, updated or deleted since the client's
+ * cursor, so a launch downloads a handful of rows instead of the full history. Expenses,
+ * categories, budgets and category deletes are separate feeds, each keyset-paged by
+ * {@code (updatedAt, id)}; the opaque cursor carries the position in all four.
+ * <p>
+ * Feeds stop {@code sync.settle-seconds} before now because rows are stamped before their
+ * transaction commits and a cursor must never move past a row that is not visible yet. Every
+ * write path commits within moments of stamping; imports commit each batch as it is stamped. A cursor older than
+ * {@code reclamation.retention-days} may have missed purged deletes, so the client is told to
+ * reset and the feeds start over.
+ */
+@Service
+public class SyncService {
+
+    private static final int CURSOR_PARTS = 9;
+
+    private final SyncRepository syncRepository;
+    private final long settleSeconds;
+    private final int retentionDays;
+
+    public SyncService(
+            SyncRepository syncRepository,
+            @Value("${sync.settle-seconds:5}") long settleSeconds,
+            @Value("${reclamation.retention-days:30}") int retentionDays) {
+        this.syncRepository = syncRepository;
+        this.settleSeconds = settleSeconds;
+        this.retentionDays = retentionDays;
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    /**
+     * Runs on the primary. A replica lagging by more than the settle window would not yet show
+     * rows the primary already stamped below {@code upTo}, and the cursor would move past them.
+     */
+    @Transactional
+    public SyncResponse sync(String cursor, int limit) {
+        User user = getCurrentUser();
+        limit = Math.max(1, Math.min(limit, Constants.Sync.MAX_LIMIT));
+        LocalDateTime now = LocalDateTime.now();
+
+        Position[] positions = cursor != null ? decode(cursor, now) : null;
+        boolean resetRequired = cursor != null && positions == null;
+        if (positions == null) {
+            positions = new Position[]{Position.START, Position.START, Position.START, Position.START};
+        }
+
+        LocalDateTime upTo = now.minusSeconds(settleSeconds);
+
+        // One row past the limit tells whether the feed has more
+        List<Change<ExpenseResponse>> expenses =
+                syncRepository.expensesChangedAfter(user.getId(), positions[0], upTo, limit + 1);
+        List<Change<CategoryResponse>> categories =
+                syncRepository.categoriesChangedAfter(user.getId(), positions[1], upTo, limit + 1);
+        List<Change<BudgetResponse>> budgets =
+                syncRepository.budgetsChangedAfter(user.getId(), positions[2], upTo, limit + 1);
+        List<Change<UUID>> deletedCategories =
+                syncRepository.categoriesDeletedAfter(user.getId(), positions[3], upTo, limit + 1);
+
+        boolean hasMore = expenses.size() > limit || categories.size() > limit
+                || budgets.size() > limit || deletedCategories.size() > limit;
+        expenses = truncate(expenses, limit);
+        categories = truncate(categories, limit);
+        budgets = truncate(budgets, limit);
+        deletedCategories = truncate(deletedCategories, limit);
+
+        List<ExpenseResponse> changedExpenses = new ArrayList<>();
+        List<UUID> deletedExpenses = new ArrayList<>();
+        for (Change<ExpenseResponse> change : expenses) {
+            if (change.deleted()) {
+                deletedExpenses.add(change.id());
+            } else {
+                changedExpenses.add(change.item());
+            }
+        }
+
+        String nextCursor = encode(now,
+                advance(positions[0], expenses),
+                advance(positions[1], categories),
+                advance(positions[2], budgets),
+                advance(positions[3], deletedCategories));
+
+        return SyncResponse.builder()
+                .expenses(changedExpenses)
+                .categories(categories.stream().map(Change::item).toList())
+                .budgets(budgets.stream().map(Change::item).toList())
+                .deleted(new SyncResponse.Deleted(deletedExpenses, deletedCategories.stream().map(Change::item).toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .resetRequired(resetRequired)
+                .build();
+    }
+
+    /**
+     * Returns the four feed positions, or null when the cursor is too old to resume from.
+     */
+    private Position[] decode(String cursor, LocalDateTime now) {
+        String[] parts = CursorCodec.decode(cursor, CURSOR_PARTS);
+        try {
+            LocalDateTime issuedAt = LocalDateTime.parse(parts[0]);
+            if (issuedAt.isBefore(now.minusDays(retentionDays))) {
+                return null;
+            }
+            Position[] positions = new Position[4];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = new Position(LocalDateTime.parse(parts[1 + 2 * i]), UUID.fromString(parts[2 + 2 * i]));
+            }
+            return positions;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(Constants.ErrorMessages.INVALID_CURSOR);
+        }
+    }
+
+    private static String encode(LocalDateTime issuedAt, Position... positions) {
+        String[] parts = new String[CURSOR_PARTS];
+        parts[0] = issuedAt.toString();
+        for (int i = 0; i < positions.length; i++) {
+            parts[1 + 2 * i] = positions[i].updatedAt().toString();
+            parts[2 + 2 * i] = positions[i].id().toString();
+        }
+        return CursorCodec.encode(parts);
+    }
+
+    private static Position advance(Position current, List<? extends Change<?>> changes) {
+        return changes.isEmpty() ? current : changes.get(changes.size() - 1).position();
+    }
+
+    private static <T> List<T> truncate(List<T> rows, int limit) {
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+}
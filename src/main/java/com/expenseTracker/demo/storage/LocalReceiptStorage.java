@@ -0,0 +1,101 @@
+package com.expenseTracker.demo.storage;
+
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.util.Constants;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+public class LocalReceiptStorage implements ReceiptStorage {
+
+    private final Path root;
+
+    public LocalReceiptStorage(String uploadDir) {
+        this.root = Paths.get(uploadDir).normalize();
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) {
+        try {
+            Path target = resolve(key);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        Path file = resolve(key);
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("File not found or not readable");
+        }
+        return new FileSystemResource(file);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file", e);
+        }
+    }
+
+    @Override
+    public Stream<StoredObject> list() {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        Path stagingDir = root.resolve(Constants.FileUpload.STAGING_DIR);
+        try {
+            return Files.walk(root)
+                    .filter(path -> !path.startsWith(stagingDir))
+                    .filter(Files::isRegularFile)
+                    .map(this::toStoredObject);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list stored files", e);
+        }
+    }
+
+    private StoredObject toStoredObject(Path file) {
+        try {
+            String key = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            return new StoredObject(key, Files.getLastModifiedTime(file).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path stored = Paths.get(key).normalize();
+        // Receipts written before the storage abstraction kept the upload dir in file_path
+        if (stored.startsWith(root)) {
+            return stored;
+        }
+
+        Path resolved = root.resolve(stored).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key");
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,45 @@
+package com.expenseTracker.demo.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Backend-neutral storage for receipt files, addressed by a relative key
+ * such as {@code {userId}/{expenseId}/{fileName}}.
+ */
+public interface ReceiptStorage {
+
+    /**
+     * Maps a receipt's {@code file_path} to its storage key. Receipts saved by the local backend
+     * before the storage abstraction kept the whole path, upload dir included
+     * ({@code uploads/{userId}/{expenseId}/{fileName}}); their key is the last three segments.
+     */
+    static String keyOf(String filePath) {
+        String[] segments = filePath.replace('\\', '/').split("/");
+        if (segments.length <= 3) {
+            return filePath;
+        }
+        return String.join("/", Arrays.copyOfRange(segments, segments.length - 3, segments.length));
+    }
+
+    /**
+     * Stores the contents of a local file under {@code key}. The source file is
+     * consumed: implementations move or upload it and then remove it.
+     */
+    void store(String key, Path source, String contentType);
+
+    Resource load(String key);
+
+    boolean exists(String key);
+
+    void delete(String key);
+
+    /**
+     * Lists every stored receipt. The returned stream may hold open resources
+     * and must be closed by the caller.
+     */
+    Stream<StoredObject> list();
+}
@@ -0,0 +1,308 @@
+package com.expenseTracker.demo.storage;
+
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Stores receipts in an S3-compatible bucket. Files larger than one part are sent with a
+ * multipart upload that streams each part from disk, and read back with ranged GETs issued
+ * in parallel into a temporary file, so no receipt is ever held in memory as a whole.
+ * Reads and deletes accept the full paths stored by the local backend before the storage
+ * abstraction and use the key they map to (see {@link ReceiptStorage#keyOf}).
+ */
+@Slf4j
+public class S3ReceiptStorage implements ReceiptStorage, AutoCloseable {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final long partSize;
+    private final ExecutorService downloadExecutor;
+
+    public S3ReceiptStorage(S3Client s3, String bucket, long partSize, int downloadParallelism) {
+        if (partSize < 5L * 1024 * 1024) {
+            throw new IllegalArgumentException("S3 multipart part size must be at least 5 MB");
+        }
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.partSize = partSize;
+        this.downloadExecutor = Executors.newFixedThreadPool(downloadParallelism);
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) {
+        try {
+            long size = Files.size(source);
+            if (size <= partSize) {
+                s3.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .build(),
+                        RequestBody.fromFile(source));
+            } else {
+                multipartUpload(key, source, size, contentType);
+            }
+            Files.deleteIfExists(source);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        }
+    }
+
+    @Override
+    public Resource load(String filePath) {
+        String key = ReceiptStorage.keyOf(filePath);
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException e) {
+            throw new ResourceNotFoundException("File not found or not readable");
+        }
+
+        long size = head.contentLength();
+        if (size <= partSize) {
+            ResponseInputStream<GetObjectResponse> stream = s3.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .ifMatch(head.eTag())
+                    .build());
+            return new ObjectResource(stream, key, size);
+        }
+
+        try {
+            Path temp = parallelDownload(key, head.eTag(), size);
+            return new ObjectResource(Files.newInputStream(temp, StandardOpenOption.DELETE_ON_CLOSE), key, size);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading file", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String filePath) {
+        try {
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(ReceiptStorage.keyOf(filePath)).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete(String filePath) {
+        s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(ReceiptStorage.keyOf(filePath)).build());
+    }
+
+    @Override
+    public Stream<StoredObject> list() {
+        return s3.listObjectsV2Paginator(ListObjectsV2Request.builder().bucket(bucket).build())
+                .contents()
+                .stream()
+                .map(object -> new StoredObject(object.key(), object.lastModified()));
+    }
+
+    @Override
+    public void close() {
+        downloadExecutor.shutdown();
+    }
+
+    private void multipartUpload(String key, Path source, long size, String contentType) {
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build())
+                .uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                long partOffset = offset;
+
+                String eTag = s3.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(length)
+                                .build(),
+                        RequestBody.fromContentProvider(() -> openRange(source, partOffset, length), length, contentType))
+                        .eTag();
+
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            try {
+                s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortFailure) {
+                log.warn("Failed to abort multipart upload {} for key {}", uploadId, key, abortFailure);
+            }
+            throw e;
+        }
+    }
+
+    private Path parallelDownload(String key, String eTag, long size) throws IOException {
+        Path temp = Files.createTempFile("receipt-", ".download");
+        List<Future<?>> parts = new ArrayList<>();
+
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            for (long offset = 0; offset < size; offset += partSize) {
+                long start = offset;
+                long end = Math.min(offset + partSize, size) - 1;
+                parts.add(downloadExecutor.submit(() -> {
+                    downloadRange(key, eTag, start, end, target);
+                    return null;
+                }));
+            }
+
+            for (Future<?> part : parts) {
+                part.get();
+            }
+            return temp;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parts.forEach(part -> part.cancel(true));
+            Files.deleteIfExists(temp);
+            throw new IOException("Interrupted while downloading " + key, e);
+        } catch (ExecutionException e) {
+            parts.forEach(part -> part.cancel(true));
+            Files.deleteIfExists(temp);
+            throw new IOException("Failed to download " + key, e.getCause());
+        }
+    }
+
+    private void downloadRange(String key, String eTag, long start, long end, FileChannel target) throws IOException {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .ifMatch(eTag)
+                .range("bytes=" + start + "-" + end)
+                .build();
+
+        try (ReadableByteChannel source = Channels.newChannel(s3.getObject(request))) {
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = target.transferFrom(source, position, remaining);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of stream for " + key + " at byte " + position);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static InputStream openRange(Path source, long offset, long length) {
+        try {
+            InputStream in = Files.newInputStream(source);
+            in.skipNBytes(offset);
+            return new RangeInputStream(in, length);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read upload part", e);
+        }
+    }
+
+    private static final class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+
+    private static final class ObjectResource extends InputStreamResource {
+
+        private final String key;
+        private final long size;
+
+        private ObjectResource(InputStream stream, String key, long size) {
+            super(stream);
+            this.key = key;
+            this.size = size;
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+    }
+}
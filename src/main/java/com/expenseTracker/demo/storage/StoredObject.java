@@ -0,0 +1,14 @@
+package com.expenseTracker.demo.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class StoredObject {
+
+    private final String key;
+    private final Instant lastModified;
+}
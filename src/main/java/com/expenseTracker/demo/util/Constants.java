@@ -1,5 +1,7 @@
 package com.expenseTracker.demo.util;
 
+import java.util.Set;
+
 public final class Constants {
 
     private Constants() {
@@ -26,14 +28,52 @@ public final class Constants {
         public static final int MAX_PAGE_SIZE = 100;
         public static final String DEFAULT_SORT_FIELD = "createdAt";
         public static final String DEFAULT_SORT_DIRECTION = "DESC";
+        public static final Set<String> SORT_FIELDS = Set.of("expenseDate", "amount", "createdAt");
+        // Only fields with a (user_id, field, id) index; anything else would not seek in constant time
+        public static final Set<String> KEYSET_SORT_FIELDS = Set.of("expenseDate", "amount");
+    }
+
+    public static final class Batch {
+        public static final int MAX_OPERATIONS = 500;
+    }
+
+    public static final class Import {
+        public static final int MAX_REPORTED_ERRORS = 100;
+    }
+
+    public static final class Sync {
+        public static final int DEFAULT_LIMIT = 500;
+        public static final int MAX_LIMIT = 1000;
+    }
+
+    public static final class Archive {
+        public static final String EXPENSES_ENTRY = "expenses.csv";
+        public static final String CATEGORIES_ENTRY = "categories.json";
+        public static final String BUDGETS_ENTRY = "budgets.json";
+        public static final String MANIFEST_ENTRY = "manifest.json";
+        public static final String RECEIPTS_DIR = "receipts/";
+        public static final int MAX_REPORTED_MISSING = 100;
+        public static final int RECEIPT_PAGE_SIZE = 500;
+    }
+
+    public static final class Suggestions {
+        public static final int DEFAULT_LIMIT = 8;
+        public static final int MAX_LIMIT = 20;
     }
 
     public static final class Cache {
         public static final String ANALYTICS_MONTHLY = "analytics:monthly";
         public static final String ANALYTICS_CATEGORY = "analytics:category";
         public static final String CATEGORIES_USER = "categories:user";
+        public static final String CATEGORIES_STATS = "categories:stats";
         public static final int TTL_ANALYTICS_MINUTES = 60;
         public static final int TTL_CATEGORIES_MINUTES = 15;
+
+        // Hibernate second-level cache regions, sized in hibernate-cache.conf
+        public static final String REGION_CATEGORIES = "categories";
+        public static final String REGION_CATEGORY_BUDGETS = "category-budgets";
+        public static final String REGION_USERS = "users";
+        public static final String REGION_USER_EMAILS = "user-emails";
     }
 
     public static final class RateLimit {
@@ -46,6 +86,10 @@ public final class Constants {
         public static final String[] ALLOWED_IMAGE_TYPES = {"image/jpeg", "image/png"};
         public static final String[] ALLOWED_DOCUMENT_TYPES = {"application/pdf"};
         public static final String UPLOAD_DIR = "uploads";
+        public static final String STAGING_DIR = ".staging";
+        public static final long MAX_RESUMABLE_FILE_SIZE = 50L * 1024 * 1024; // 50 MB
+        public static final long MAX_CHUNK_SIZE = 5L * 1024 * 1024; // 5 MB
+        public static final int UPLOAD_SESSION_TTL_HOURS = 24;
     }
 
     public static final class Security {
@@ -65,5 +109,27 @@ public final class Constants {
         public static final String RATE_LIMIT_EXCEEDED = "Rate limit exceeded. Please try again later";
         public static final String FILE_TOO_LARGE = "File size exceeds maximum allowed size";
         public static final String INVALID_FILE_TYPE = "Invalid file type";
+        public static final String RECEIPT_ALREADY_EXISTS = "Receipt already exists for this expense";
+        public static final String UPLOAD_SESSION_NOT_FOUND = "Upload session not found";
+        public static final String UPLOAD_INCOMPLETE = "Upload is incomplete";
+        public static final String FILE_CONTENT_MISMATCH = "File content does not match declared type";
+        public static final String INVALID_SORT_FIELD = "Unsupported sort field";
+        public static final String INVALID_CURSOR = "Invalid or expired cursor";
+        public static final String INVALID_SEARCH_QUERY = "Search query must contain at least one word";
+        public static final String BATCH_ID_REQUIRED = "Expense ID is required";
+        public static final String BATCH_PAYLOAD_REQUIRED = "Expense payload is required";
+        public static final String BATCH_OPERATION_REQUIRED = "Operation type is required";
+        public static final String IMPORT_NOT_FOUND = "Import not found";
+        public static final String IMPORT_FILE_EMPTY = "Import file is empty";
+        public static final String UNSUPPORTED_EXPORT_FORMAT = "Unsupported export format; use csv or ndjson";
+        public static final String ARCHIVE_NOT_FOUND = "Archive not found";
+        public static final String ARCHIVE_NOT_READY = "Archive is not ready yet";
+        public static final String BULK_FILTER_REQUIRED = "At least one filter is required for bulk operations";
+        public static final String BULK_UPDATE_EMPTY = "Provide a categoryId or paymentMethod to update";
+        public static final String CATEGORY_MERGE_SELF = "Cannot merge a category into itself";
+        public static final String ANALYTICS_BUSY = "Analytics is busy. Please try again shortly";
+        public static final String SERVER_BUSY = "Server is busy. Please try again shortly";
+        public static final String QUERY_TIMEOUT = "The request took too long. Please try again shortly";
+        public static final String DEADLINE_EXCEEDED = "The request did not complete within its deadline";
     }
 }
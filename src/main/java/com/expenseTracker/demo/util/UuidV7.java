@@ -0,0 +1,21 @@
+package com.expenseTracker.demo.util;
+
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+
+import java.util.UUID;
+
+/**
+ * Time-ordered (RFC 9562 version 7) identifiers for rows written outside Hibernate, such as
+ * JDBC batch inserts. It shares Hibernate's generator with {@code BaseEntity}, so ids from
+ * both paths are monotonic within this JVM and land at the right edge of the primary key index.
+ */
+public final class UuidV7 {
+
+    private UuidV7() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static UUID next() {
+        return UuidVersion7Strategy.INSTANCE.generateUuid(null);
+    }
+}
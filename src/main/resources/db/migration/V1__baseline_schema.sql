@@ -0,0 +1,90 @@
+-- Baseline: the schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip it, so this must stay exactly the
+-- pre-Flyway schema; every later table, column and index belongs in a new migration.
+
+CREATE TABLE users (
+    id            UUID         NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    full_name     VARCHAR(100),
+    role          VARCHAR(20)  NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    is_active     BOOLEAN      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE categories (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    user_id     UUID         NOT NULL,
+    name        VARCHAR(50)  NOT NULL,
+    description VARCHAR(500),
+    color_code  VARCHAR(7),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_category_name UNIQUE (user_id, name)
+);
+
+CREATE TABLE category_budgets (
+    id              UUID           NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    category_id     UUID           NOT NULL UNIQUE,
+    monthly_limit   NUMERIC(10, 2) NOT NULL,
+    alert_threshold INTEGER        NOT NULL,
+    alert_sent      BOOLEAN        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE expenses (
+    id             UUID           NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6),
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    amount         NUMERIC(10, 2) NOT NULL,
+    description    VARCHAR(500),
+    expense_date   DATE           NOT NULL,
+    payment_method VARCHAR(20) CHECK (payment_method IN ('CASH', 'CARD', 'UPI', 'NET_BANKING', 'OTHER')),
+    notes          VARCHAR(500),
+    is_deleted     BOOLEAN        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE idempotency_keys (
+    id              UUID         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    request_hash    VARCHAR(255) NOT NULL,
+    response_data   TEXT,
+    http_status     INTEGER,
+    expires_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE receipts (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    expense_id  UUID         NOT NULL UNIQUE,
+    file_name   VARCHAR(255) NOT NULL,
+    file_path   VARCHAR(255) NOT NULL,
+    file_size   BIGINT       NOT NULL,
+    file_type   VARCHAR(50)  NOT NULL,
+    uploaded_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_category_user ON categories (user_id);
+CREATE INDEX idx_expense_user_date ON expenses (user_id, expense_date DESC);
+CREATE INDEX idx_expense_user_category ON expenses (user_id, category_id);
+CREATE INDEX idx_expense_user_amount ON expenses (user_id, amount);
+CREATE INDEX idx_created_at ON idempotency_keys (created_at);
+
+ALTER TABLE categories ADD CONSTRAINT fk_category_user FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE category_budgets ADD CONSTRAINT fk_budget_category FOREIGN KEY (category_id) REFERENCES categories;
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_category FOREIGN KEY (category_id) REFERENCES categories;
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_user FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE receipts ADD CONSTRAINT fk_receipt_expense FOREIGN KEY (expense_id) REFERENCES expenses;
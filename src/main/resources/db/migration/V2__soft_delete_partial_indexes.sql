@@ -0,0 +1,33 @@
+-- Every expense read filters is_deleted = false, so the hot-path indexes are partial and skip
+-- soft-deleted rows. Built CONCURRENTLY so the migration does not block writes on a large table;
+-- Flyway runs this script outside a transaction.
+
+-- Monthly total, daily trend, category breakdown, the listing count and the default listing
+-- order (id breaks ties). amount and category_id ride in the leaf so the aggregates are
+-- index-only scans.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expense_active_user_date
+    ON expenses (user_id, expense_date DESC, id DESC) INCLUDE (amount, category_id)
+    WHERE is_deleted = false;
+
+-- Highest expense (ORDER BY amount DESC LIMIT 1) and amount range filters.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expense_active_user_amount
+    ON expenses (user_id, amount DESC)
+    WHERE is_deleted = false;
+
+-- Category filter on the listing and the category-in-use check on delete.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expense_active_category_date
+    ON expenses (category_id, expense_date DESC)
+    WHERE is_deleted = false;
+
+-- Reclamation scan for soft-deleted rows past retention.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expense_deleted_updated
+    ON expenses (updated_at)
+    WHERE is_deleted = true;
+
+-- Superseded by the partial indexes above.
+DROP INDEX CONCURRENTLY IF EXISTS idx_expense_user_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_expense_user_category;
+DROP INDEX CONCURRENTLY IF EXISTS idx_expense_user_amount;
+
+-- Databases baselined from ddl-auto may predate this index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_receipt_file_name ON receipts (file_name);
@@ -0,0 +1,91 @@
+-- Range-partition expenses by expense_date, one partition per year plus a DEFAULT catch-all.
+-- Month and range queries prune to a single partition, and old years can be detached for
+-- archiving. Upcoming partitions are created by ExpensePartitionService.
+--
+-- A primary key on a partitioned table must include the partition key, and foreign keys can
+-- only reference such a key, so the receipts/upload_sessions -> expenses foreign keys are
+-- dropped; their lifecycle is enforced by the application (see DataReclamationService).
+-- This migration rewrites the table and should run in a maintenance window on large datasets.
+
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'expenses'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE expenses RENAME TO expenses_unpartitioned;
+ALTER INDEX expenses_pkey RENAME TO expenses_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_expense_active_user_date;
+DROP INDEX IF EXISTS idx_expense_active_user_amount;
+DROP INDEX IF EXISTS idx_expense_active_category_date;
+DROP INDEX IF EXISTS idx_expense_deleted_updated;
+
+CREATE TABLE expenses (
+    id             UUID           NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6),
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    amount         NUMERIC(10, 2) NOT NULL,
+    description    VARCHAR(500),
+    expense_date   DATE           NOT NULL,
+    payment_method VARCHAR(20) CHECK (payment_method IN ('CASH', 'CARD', 'UPI', 'NET_BANKING', 'OTHER')),
+    notes          VARCHAR(500),
+    is_deleted     BOOLEAN        NOT NULL,
+    PRIMARY KEY (id, expense_date)
+) PARTITION BY RANGE (expense_date);
+
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_category FOREIGN KEY (category_id) REFERENCES categories;
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_user FOREIGN KEY (user_id) REFERENCES users;
+
+CREATE TABLE expenses_default PARTITION OF expenses DEFAULT;
+
+-- One partition per year from the oldest existing expense through next year
+DO $$
+DECLARE
+    first_year INT;
+    last_year  INT := EXTRACT(YEAR FROM CURRENT_DATE)::INT + 1;
+BEGIN
+    SELECT COALESCE(EXTRACT(YEAR FROM MIN(expense_date))::INT, last_year - 1)
+    INTO first_year
+    FROM expenses_unpartitioned;
+
+    FOR year IN first_year..last_year LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF expenses FOR VALUES FROM (%L) TO (%L)',
+                       'expenses_y' || year, make_date(year, 1, 1), make_date(year + 1, 1, 1));
+    END LOOP;
+END $$;
+
+INSERT INTO expenses (id, created_at, updated_at, user_id, category_id, amount, description,
+                      expense_date, payment_method, notes, is_deleted)
+SELECT id, created_at, updated_at, user_id, category_id, amount, description,
+       expense_date, payment_method, notes, is_deleted
+FROM expenses_unpartitioned;
+
+DROP TABLE expenses_unpartitioned;
+
+-- Same partial indexes as V2, now created per partition
+CREATE INDEX idx_expense_active_user_date
+    ON expenses (user_id, expense_date DESC, id DESC) INCLUDE (amount, category_id)
+    WHERE is_deleted = false;
+
+CREATE INDEX idx_expense_active_user_amount
+    ON expenses (user_id, amount DESC)
+    WHERE is_deleted = false;
+
+CREATE INDEX idx_expense_active_category_date
+    ON expenses (category_id, expense_date DESC)
+    WHERE is_deleted = false;
+
+CREATE INDEX idx_expense_deleted_updated
+    ON expenses (updated_at)
+    WHERE is_deleted = true;
+
+ANALYZE expenses;
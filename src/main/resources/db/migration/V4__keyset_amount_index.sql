@@ -0,0 +1,9 @@
+-- Keyset pagination by amount seeks on (amount, id); add id as the tie-breaker so the
+-- seek predicate and ORDER BY amount, id are fully served by the index.
+-- Partitioned indexes cannot be built CONCURRENTLY, so this briefly blocks writes.
+
+DROP INDEX IF EXISTS idx_expense_active_user_amount;
+
+CREATE INDEX idx_expense_active_user_amount
+    ON expenses (user_id, amount DESC, id DESC)
+    WHERE is_deleted = false;
@@ -0,0 +1,10 @@
+-- Trigram index for the case-insensitive description filter (lower(description) LIKE '%text%').
+-- A B-tree cannot serve a leading wildcard, so without this every text filter scans all of the
+-- user's active rows. pg_trgm is a trusted extension, so the database owner can create it.
+-- CONCURRENTLY is not supported on partitioned tables; the build briefly blocks writes.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_expense_active_description_trgm
+    ON expenses USING gin (lower(description) gin_trgm_ops)
+    WHERE is_deleted = false;
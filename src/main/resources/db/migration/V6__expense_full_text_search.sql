@@ -0,0 +1,16 @@
+-- Full-text search over description (weight A) and notes (weight B). The tsvector is a stored
+-- generated column, so Postgres keeps it current on every insert and update.
+-- The GIN index leads with user_id (btree_gin) so a search only visits the caller's matches;
+-- with a plain GIN on search_vector the planner prefers the user_id B-tree and re-checks every
+-- one of the user's rows. Adding the column rewrites the table; run in a maintenance window.
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE expenses ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(description, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(notes, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_expense_active_search
+    ON expenses USING gin (user_id, search_vector)
+    WHERE is_deleted = false;
@@ -0,0 +1,25 @@
+-- Delta sync pages each user's changes by (updated_at, id), including soft-deleted expenses,
+-- so these indexes cover all rows rather than only active ones. Rows written before
+-- updated_at was always set would never be seen by a change cursor, so backfill them first.
+-- CONCURRENTLY is not supported on partitioned tables; the expenses build briefly blocks writes.
+
+UPDATE expenses SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE categories SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE category_budgets SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_expense_user_updated ON expenses (user_id, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_category_user_updated ON categories (user_id, updated_at, id);
+
+-- Categories are hard-deleted; sync reports the delete from a tombstone until reclamation
+-- removes it after reclamation.retention-days.
+CREATE TABLE sync_tombstones (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    user_id     UUID         NOT NULL,
+    entity_type VARCHAR(20)  NOT NULL CHECK (entity_type IN ('CATEGORY')),
+    entity_id   UUID         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tombstone_user_created ON sync_tombstones (user_id, created_at, id);
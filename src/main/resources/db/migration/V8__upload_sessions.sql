@@ -0,0 +1,23 @@
+-- Resumable receipt upload sessions. Not part of the V1 baseline, so baselined databases get
+-- the table here; IF NOT EXISTS covers databases where ddl-auto already created it.
+-- expenses is partitioned (V3), so expense_id cannot carry a foreign key; sessions are removed
+-- with their expense by the application.
+
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id             UUID         NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6),
+    user_id        UUID         NOT NULL,
+    expense_id     UUID         NOT NULL,
+    file_name      VARCHAR(255) NOT NULL,
+    file_path      VARCHAR(255) NOT NULL,
+    file_type      VARCHAR(50)  NOT NULL,
+    total_size     BIGINT       NOT NULL,
+    bytes_received BIGINT       NOT NULL,
+    expires_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_upload_session_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_session_user ON upload_sessions (user_id);
+CREATE INDEX IF NOT EXISTS idx_upload_session_expires ON upload_sessions (expires_at);
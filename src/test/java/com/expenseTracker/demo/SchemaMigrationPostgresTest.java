@@ -0,0 +1,73 @@
+package com.expenseTracker.demo;
+
+import com.expenseTracker.demo.support.PostgresTestDatabase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the Flyway settings from application.properties and Hibernate
+ * validating the schema, against a new database and against one created by ddl-auto before
+ * Flyway, which is baselined at V1 and only runs the later migrations.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class SchemaMigrationPostgresTest {
+
+    @Test
+    @DisplayName("Should migrate an empty database to a schema Hibernate validates")
+    void emptyDatabase_MigratesAndValidates() {
+        try (PostgresTestDatabase database = PostgresTestDatabase.create()) {
+            startApplication(database).close();
+
+            List<String> versions = new JdbcTemplate(database.dataSource()).queryForList(
+                    "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+            assertEquals("1", versions.getFirst());
+        }
+    }
+
+    @Test
+    @DisplayName("Should baseline a pre-Flyway database, apply the later migrations and validate")
+    void preFlywayDatabase_BaselinesMigratesAndValidates() {
+        try (PostgresTestDatabase database = PostgresTestDatabase.create()) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/pre-flyway-schema.sql")).execute(database.dataSource());
+            JdbcTemplate jdbc = new JdbcTemplate(database.dataSource());
+            UUID userId = UUID.randomUUID();
+            jdbc.update("INSERT INTO users (id, created_at, email, password_hash, role, is_active)" +
+                    " VALUES (?, now(), 'existing@example.com', 'hash', 'USER', true)", userId);
+            jdbc.update("INSERT INTO expenses (id, created_at, user_id, amount, expense_date, is_deleted)" +
+                    " VALUES (?, now(), ?, 12.50, DATE '2024-03-01', false)", UUID.randomUUID(), userId);
+
+            startApplication(database).close();
+
+            List<String> descriptions = jdbc.queryForList(
+                    "SELECT description FROM flyway_schema_history ORDER BY installed_rank", String.class);
+            assertEquals("<< Flyway Baseline >>", descriptions.getFirst());
+            assertTrue(descriptions.contains("upload sessions"), "Migrations applied: " + descriptions);
+            assertEquals(1, jdbc.queryForObject("SELECT count(*) FROM expenses_y2024", Integer.class));
+            assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM upload_sessions", Integer.class));
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(PostgresTestDatabase database) {
+        return new SpringApplicationBuilder(ExpenseBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + database.url(),
+                        "--spring.datasource.username=" + database.username(),
+                        "--spring.datasource.password=" + database.password(),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.flyway.enabled=true");
+    }
+}
@@ -0,0 +1,169 @@
+package com.expenseTracker.demo.controller;
+
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.support.TestAccount;
+import com.expenseTracker.demo.util.Constants;
+import com.expenseTracker.demo.util.CursorCodec;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks {@code /api/expenses/scroll} page by page over rows that share sort keys, so most page
+ * boundaries fall inside a run of equal amounts or dates and only the id tiebreaker decides
+ * where the next page starts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExpenseScrollTest {
+
+    private static final int ROWS = 23;
+    private static final int PAGE_SIZE = 4;
+    private static final String[] AMOUNTS = {"10.00", "25.50", "99.99"};
+    private static final LocalDate[] DATES = {
+            LocalDate.of(2026, 1, 5), LocalDate.of(2026, 2, 10), LocalDate.of(2026, 3, 15)};
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private MockMvc mockMvc;
+    private TestAccount account;
+    private User user;
+    private Set<String> expenseIds;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        account = TestAccount.create(context, "scroll");
+        user = account.user();
+        Category category = account.food();
+
+        expenseIds = new HashSet<>();
+        for (int i = 0; i < ROWS; i++) {
+            // Amounts and dates cycle at different rates, so each key has runs of ties
+            Expense expense = expenseRepository.save(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(new BigDecimal(AMOUNTS[i % AMOUNTS.length]))
+                    .description("Expense " + i)
+                    .expenseDate(DATES[(i / 2) % DATES.length])
+                    .paymentMethod(Expense.PaymentMethod.CARD)
+                    .isDeleted(false)
+                    .build());
+            expenseIds.add(expense.getId().toString());
+        }
+
+        account.authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        account.delete();
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({"amount, ASC", "amount, DESC", "expenseDate, ASC", "expenseDate, DESC"})
+    @DisplayName("Should return every expense exactly once in key order when ties span page boundaries")
+    void scroll_TiesAcrossPages(String sortBy, String direction) throws Exception {
+        List<String> ids = new ArrayList<>();
+        List<Comparable<Object>> keys = new ArrayList<>();
+
+        DocumentContext page = scroll(get("/api/expenses/scroll")
+                .param("sortBy", sortBy)
+                .param("sortDirection", direction)
+                .param("size", String.valueOf(PAGE_SIZE)));
+        int pages = 1;
+        while (true) {
+            List<String> pageIds = page.read("$.content[*].id");
+            List<Object> pageKeys = page.read("$.content[*]." + sortBy);
+            ids.addAll(pageIds);
+            pageKeys.forEach(key -> keys.add(sortKey(sortBy, key)));
+
+            if (!page.<Boolean>read("$.hasNext")) {
+                assertNull(page.read("$.nextCursor"));
+                break;
+            }
+            assertEquals(PAGE_SIZE, pageIds.size());
+            page = scroll(get("/api/expenses/scroll")
+                    .param("cursor", page.<String>read("$.nextCursor"))
+                    .param("size", String.valueOf(PAGE_SIZE)));
+            pages++;
+        }
+
+        assertEquals((ROWS + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+        assertEquals(ROWS, ids.size(), "Expenses were repeated or skipped: " + ids);
+        assertEquals(expenseIds, new HashSet<>(ids));
+        int sign = "DESC".equals(direction) ? -1 : 1;
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(sign * keys.get(i - 1).compareTo(keys.get(i)) <= 0,
+                    "Out of order at " + i + ": " + keys);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and unsupported sort fields with 400")
+    void scroll_InvalidInput_BadRequest() throws Exception {
+        String id = expenseIds.iterator().next();
+
+        for (String cursor : new String[]{
+                "not a cursor",
+                CursorCodec.encode("amount", "DESC", "10.00"),
+                CursorCodec.encode("amount", "DESC", "ten", id),
+                CursorCodec.encode("expenseDate", "ASC", "2026-13-45", id),
+                CursorCodec.encode("amount", "ASC", "10.00", "not-a-uuid"),
+                CursorCodec.encode("amount", "SIDEWAYS", "10.00", id),
+                CursorCodec.encode("description", "ASC", "Expense 1", id)}) {
+            mockMvc.perform(get("/api/expenses/scroll").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(get("/api/expenses/scroll").param("sortBy", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(Constants.ErrorMessages.INVALID_SORT_FIELD));
+    }
+
+    private DocumentContext scroll(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.parse(body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortKey(String sortBy, Object value) {
+        Comparable<?> key = "amount".equals(sortBy)
+                ? new BigDecimal(value.toString())
+                : LocalDate.parse(value.toString());
+        return (Comparable<Object>) key;
+    }
+}
@@ -0,0 +1,79 @@
+package com.expenseTracker.demo.datasource;
+
+import com.expenseTracker.demo.exception.DeadlineExceededException;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.service.AnalyticsBulkhead;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DeadlineDataSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private AnalyticsBulkhead analyticsBulkhead;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should give statements the time left before the deadline and fail them once it has passed")
+    void statementsBoundedByDeadline() {
+        assertEquals(0, executedQueryTimeout());
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2500));
+        assertEquals(3, executedQueryTimeout());
+
+        RequestDeadline.set(System.nanoTime() - 1);
+        assertThrows(QueryTimeoutException.class, () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        assertThrows(QueryTimeoutException.class, () -> expenseRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should carry the deadline onto the analytics lane and stop waiting once it passes")
+    void analyticsLaneBoundedByDeadline() {
+        RequestDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        OptionalLong onLane = analyticsBulkhead.execute(RequestDeadline::remainingMillis);
+        assertTrue(onLane.isPresent() && onLane.getAsLong() > 0);
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+        assertThrows(DeadlineExceededException.class, () -> analyticsBulkhead.execute(() -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+    }
+
+    private int executedQueryTimeout() {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                statement.executeQuery().close();
+                return statement.getQueryTimeout();
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.expenseTracker.demo.datasource;
+
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.service.SyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+        "datasource.replica.read-your-writes-window=1m"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SyncService syncService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and writes to the primary")
+    void routesByTransactionReadOnlyFlag() {
+        assertTrue(databaseUrl(true).contains("replicadb"));
+        assertTrue(databaseUrl(false).contains("testdb"));
+        assertTrue(databaseUrl(true).contains("replicadb"));
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after they write, without pinning other users")
+    void pinsRecentWritersToPrimary() {
+        User writer = authenticate();
+        assertTrue(databaseUrl(true).contains("replicadb"));
+        double pinnedBefore = pinnedReads();
+
+        databaseUrl(false);
+        assertTrue(databaseUrl(true).contains("testdb"));
+        assertEquals(pinnedBefore + 1, pinnedReads());
+
+        authenticate();
+        assertTrue(databaseUrl(true).contains("replicadb"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(writer, null, writer.getAuthorities()));
+        assertTrue(databaseUrl(true).contains("testdb"));
+    }
+
+    @Test
+    @DisplayName("Should keep analytics lane reads on the analytics pool for a recent writer")
+    void analyticsLaneIgnoresPin() throws Exception {
+        User writer = authenticate();
+        databaseUrl(false);
+        double analyticsBefore = analyticsReads();
+
+        String[] url = new String[1];
+        Thread lane = AnalyticsLane.threadFactory().newThread(() -> {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(writer, null, writer.getAuthorities()));
+            url[0] = databaseUrl(true);
+        });
+        lane.start();
+        lane.join(5000);
+
+        assertTrue(url[0].contains("replicadb"));
+        assertEquals(analyticsBefore + 1, analyticsReads());
+    }
+
+    @Test
+    @DisplayName("Should run delta sync on the primary")
+    void syncReadsPrimary() {
+        authenticate();
+        double replicaBefore = replicaReads();
+
+        // The replica database has no tables, so a sync routed there would fail
+        assertNotNull(syncService.sync(null, 10).getNextCursor());
+        assertEquals(replicaBefore, replicaReads());
+    }
+
+    private String databaseUrl(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+
+    private double pinnedReads() {
+        return meterRegistry.counter("datasource.routing.reads", "target", "primary").count();
+    }
+
+    private double analyticsReads() {
+        return meterRegistry.counter("datasource.routing.reads", "target", "analytics").count();
+    }
+
+    private double replicaReads() {
+        return meterRegistry.counter("datasource.routing.reads", "target", "replica").count();
+    }
+
+    private static User authenticate() {
+        User user = User.builder().email(UUID.randomUUID() + "@example.com").role(User.Role.USER).build();
+        user.setId(UUID.randomUUID());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return user;
+    }
+}
@@ -0,0 +1,106 @@
+package com.expenseTracker.demo.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private final AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(
+            true, 20, 4, 200, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Should group slow-by-design routes apart from ordinary writes")
+    void groupOf() {
+        assertEquals(AdaptiveConcurrencyFilter.Group.AUTH, groupOf("POST", "/api/auth/login"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.ANALYTICS, groupOf("GET", "/api/analytics/dashboard"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.WRITES, groupOf("POST", "/api/expenses"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.WRITES, groupOf("PUT", "/api/categories/1"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.READS, groupOf("GET", "/api/expenses"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("POST", "/api/expenses/batch"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("POST", "/api/expenses/imports"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("PUT", "/api/expenses/42/receipt/uploads/7"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("POST", "/api/expenses/42/receipt"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("GET", "/api/expenses/export"));
+        assertEquals(AdaptiveConcurrencyFilter.Group.BULK, groupOf("POST", "/api/account/archives"));
+    }
+
+    @Test
+    @DisplayName("Should shed analytics only while congested writes are still in flight")
+    void analytics_ShedOnlyWhileWritesBusy() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(200, send("POST", "/api/expenses", 0));
+        }
+        for (int i = 0; i < 30; i++) {
+            send("POST", "/api/expenses", 5);
+        }
+
+        // The write spike is over: congestion alone must not shed analytics
+        assertEquals(200, send("GET", "/api/analytics/insights", 0));
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/expenses"), new MockHttpServletResponse(),
+                        new MockFilterChain() {
+                            @Override
+                            public void doFilter(ServletRequest req, ServletResponse res) {
+                                inside.countDown();
+                                await(release);
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+            assertEquals(503, send("GET", "/api/analytics/insights", 0));
+        } finally {
+            release.countDown();
+        }
+        write.get(5, TimeUnit.SECONDS);
+    }
+
+    private int send(String method, String uri, long sleepMillis) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                if (sleepMillis > 0) {
+                    try {
+                        Thread.sleep(sleepMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        return response.getStatus();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AdaptiveConcurrencyFilter.Group groupOf(String method, String uri) {
+        return AdaptiveConcurrencyFilter.groupOf(new MockHttpServletRequest(method, uri));
+    }
+}
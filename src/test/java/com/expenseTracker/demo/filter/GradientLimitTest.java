@@ -0,0 +1,74 @@
+package com.expenseTracker.demo.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Should grow while saturated at steady latency and hold when mostly idle")
+    void steadyLatency_GrowsOnlyWhenUsed() {
+        GradientLimit limit = new GradientLimit(20, 4, 200);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, 2);
+        }
+        assertEquals(20, limit.getLimit());
+        assertFalse(limit.isCongested());
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > 40);
+    }
+
+    @Test
+    @DisplayName("Should shrink toward the minimum when latency climbs and recover once it settles")
+    void risingLatency_ShrinksAndRecovers() {
+        GradientLimit limit = new GradientLimit(50, 4, 200);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, 50);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(SLOW, limit.getLimit());
+        }
+        assertTrue(limit.isCongested());
+        assertTrue(limit.getLimit() < before / 2, "limit " + limit.getLimit() + " was " + before);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(SLOW, limit.getLimit());
+        }
+        assertEquals(4, limit.getLimit(), "sustained overload drives the limit to the minimum");
+
+        for (int i = 0; i < 300; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+        assertFalse(limit.isCongested());
+        assertTrue(limit.getLimit() > 10);
+    }
+
+    @Test
+    @DisplayName("Should stop reporting congestion once samples stop arriving")
+    void congestion_ExpiresWithoutSamples() {
+        GradientLimit limit = new GradientLimit(50, 4, 200);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, 50, now += FAST);
+        }
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(SLOW, limit.getLimit(), now += SLOW);
+        }
+        assertTrue(limit.isCongested(now));
+        assertTrue(limit.isCongested(now + TimeUnit.SECONDS.toNanos(1)));
+        assertFalse(limit.isCongested(now + TimeUnit.SECONDS.toNanos(3)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.expenseTracker.demo.filter;
+
+import com.expenseTracker.demo.config.RequestDeadlineProperties;
+import com.expenseTracker.demo.datasource.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(
+            new RequestDeadlineProperties(true, Duration.ofSeconds(10), Duration.ofSeconds(30), Map.of(
+                    "/api/analytics/**", Duration.ofSeconds(5),
+                    "/api/analytics/insights", Duration.ofSeconds(2),
+                    "/api/expenses/export", Duration.ZERO)),
+            meterRegistry);
+
+    @Test
+    @DisplayName("Should take the client's timeout up to the maximum, else the most specific route's")
+    void timeoutOf() {
+        assertEquals(Duration.ofSeconds(10), filter.timeoutOf(request("/api/expenses", null)));
+        assertEquals(Duration.ofSeconds(5), filter.timeoutOf(request("/api/analytics/daily-trend", null)));
+        assertEquals(Duration.ofSeconds(2), filter.timeoutOf(request("/api/analytics/insights", null)));
+        assertEquals(Duration.ZERO, filter.timeoutOf(request("/api/expenses/export", null)));
+
+        assertEquals(Duration.ofMillis(750), filter.timeoutOf(request("/api/analytics/insights", "750")));
+        assertEquals(Duration.ofSeconds(30), filter.timeoutOf(request("/api/expenses", "600000")));
+        assertEquals(Duration.ofSeconds(5), filter.timeoutOf(request("/api/analytics/daily-trend", "soon")));
+    }
+
+    @Test
+    @DisplayName("Should hold the deadline only while the request runs and count requests that overran it")
+    void deadlineScopedToRequest() throws Exception {
+        MockHttpServletRequest request = request("/api/expenses", "1");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                assertTrue(RequestDeadline.remainingMillis().isPresent());
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/expenses");
+                while (!RequestDeadline.isExpired()) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+
+        assertTrue(RequestDeadline.remainingMillis().isEmpty());
+        assertEquals(1, meterRegistry.counter("request.deadline.exceeded", "route", "/api/expenses").count());
+
+        filter.doFilter(request("/api/expenses/export", null), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                assertTrue(RequestDeadline.remainingMillis().isEmpty());
+            }
+        });
+    }
+
+    private static MockHttpServletRequest request(String uri, String timeoutHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (timeoutHeader != null) {
+            request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, timeoutHeader);
+        }
+        return request;
+    }
+}
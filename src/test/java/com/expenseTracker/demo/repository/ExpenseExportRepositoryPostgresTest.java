@@ -0,0 +1,83 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.support.HeapSampler;
+import com.expenseTracker.demo.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports from a real PostgreSQL, where the driver only streams through a cursor when a fetch
+ * size is set and the query runs in a transaction; otherwise it reads the whole result first.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class ExpenseExportRepositoryPostgresTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MB = 1024 * 1024;
+
+    private static PostgresTestDatabase database;
+    private static UUID userId;
+
+    private final ExpenseExportRepository repository = new ExpenseExportRepository(database.dataSource(), 1000);
+
+    @BeforeAll
+    static void setUp() {
+        database = PostgresTestDatabase.create().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(database.dataSource());
+        userId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, created_at, email, password_hash, role, is_active)" +
+                " VALUES (?, now(), 'export@example.com', 'hash', 'USER', true)", userId);
+        jdbc.update("INSERT INTO categories (id, created_at, user_id, name) VALUES (?, now(), ?, 'Food')",
+                categoryId, userId);
+        jdbc.update("INSERT INTO expenses (id, created_at, updated_at, user_id, category_id, amount, description," +
+                " expense_date, payment_method, is_deleted)" +
+                " SELECT gen_random_uuid(), now(), now(), ?, ?, (x % 10000) / 100.0 + 1, 'Expense number ' || x," +
+                " current_date - (x % 3650), 'CARD', false FROM generate_series(1, ?) AS x",
+                userId, categoryId, ROWS);
+        jdbc.execute("ANALYZE expenses");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream a million rows through a cursor inside a transaction")
+    void forEach_InTransaction_StreamsThroughCursor() {
+        HeapSampler heap = new HeapSampler(ROWS / 20).baseline();
+
+        new TransactionTemplate(new DataSourceTransactionManager(database.dataSource())).executeWithoutResult(
+                status -> repository.forEach(userId, new ExpenseFilterRequest(), expense -> heap.tick()));
+
+        assertEquals(ROWS, heap.ticks());
+        long growth = heap.growthSinceBaseline();
+        assertTrue(growth < 32 * MB, "Heap grew by " + growth / MB + " MB while exporting; samples " + heap.samples());
+    }
+
+    @Test
+    @DisplayName("Should detect the whole result being buffered when there is no transaction")
+    void forEach_WithoutTransaction_BuffersWholeResult() {
+        HeapSampler heap = new HeapSampler(ROWS / 20).baseline();
+
+        repository.forEach(userId, new ExpenseFilterRequest(), expense -> heap.tick());
+
+        assertEquals(ROWS, heap.ticks());
+        long growth = heap.growthSinceBaseline();
+        assertTrue(growth > 100 * MB, "Expected the buffered result to hold the heap, grew by " + growth / MB + " MB");
+    }
+}
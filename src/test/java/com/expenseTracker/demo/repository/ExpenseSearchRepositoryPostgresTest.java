@@ -0,0 +1,177 @@
+package com.expenseTracker.demo.repository;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Full-text search against the {@code search_vector} column and GIN index created by the
+ * migrations, which H2 cannot run.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class ExpenseSearchRepositoryPostgresTest {
+
+    private static PostgresTestDatabase database;
+    private static JdbcTemplate jdbc;
+    private static UUID userId;
+    private static UUID food;
+    private static UUID travel;
+
+    // Ranked by where "coffee" appears: description and notes, description only, notes only
+    private static UUID coffeeWithClient;
+    private static UUID coffeeBeans;
+    private static UUID groceries;
+
+    private final ExpenseSearchRepository repository =
+            new ExpenseSearchRepository(new NamedParameterJdbcTemplate(database.dataSource()));
+
+    @BeforeAll
+    static void setUp() {
+        database = PostgresTestDatabase.create().migrate();
+        jdbc = new JdbcTemplate(database.dataSource());
+        userId = user("search@example.com");
+        food = category(userId, "Food");
+        travel = category(userId, "Travel");
+
+        coffeeWithClient = expense(userId, travel, "Coffee with client", "coffee meeting",
+                "25.00", LocalDate.of(2025, 2, 1), Expense.PaymentMethod.CARD, false);
+        coffeeBeans = expense(userId, food, "Coffee beans", null,
+                "12.00", LocalDate.of(2025, 3, 10), Expense.PaymentMethod.CARD, false);
+        groceries = expense(userId, food, "Groceries", "milk and coffee filters",
+                "40.00", LocalDate.of(2025, 3, 12), Expense.PaymentMethod.CASH, false);
+        expense(userId, food, "Rent", null, "900.00", LocalDate.of(2025, 3, 1), Expense.PaymentMethod.UPI, false);
+        expense(userId, food, "Coffee refund", null, "5.00", LocalDate.of(2025, 3, 2), Expense.PaymentMethod.CARD, true);
+
+        UUID otherUser = user("other@example.com");
+        expense(otherUser, category(otherUser, "Food"), "Coffee", null,
+                "3.00", LocalDate.of(2025, 3, 3), Expense.PaymentMethod.CARD, false);
+        jdbc.execute("ANALYZE expenses");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank description matches over notes matches and only return the user's active expenses")
+    void search_RanksByWeightAndScopesToUser() {
+        Slice<ExpenseResponse> results = search("coff", new ExpenseFilterRequest(), 20, true);
+
+        assertEquals(List.of(coffeeWithClient, coffeeBeans, groceries), ids(results));
+        assertEquals(3, ((Page<ExpenseResponse>) results).getTotalElements());
+        assertEquals("Travel", results.getContent().getFirst().getCategoryName());
+
+        // Every word must prefix-match a lexeme of the description or notes
+        assertEquals(List.of(groceries), ids(search("gro coff", new ExpenseFilterRequest(), 20, true)));
+        assertEquals(List.of(), ids(search("coffee tea", new ExpenseFilterRequest(), 20, true)));
+    }
+
+    @Test
+    @DisplayName("Should apply the listing filters together with the search query")
+    void search_CombinesFiltersWithQuery() {
+        ExpenseFilterRequest byCategory = new ExpenseFilterRequest();
+        byCategory.setCategoryId(food);
+        assertEquals(List.of(coffeeBeans, groceries), ids(search("coffee", byCategory, 20, true)));
+
+        ExpenseFilterRequest byDate = new ExpenseFilterRequest();
+        byDate.setStartDate(LocalDate.of(2025, 3, 1));
+        byDate.setEndDate(LocalDate.of(2025, 3, 11));
+        assertEquals(List.of(coffeeBeans), ids(search("coffee", byDate, 20, true)));
+
+        ExpenseFilterRequest byAmount = new ExpenseFilterRequest();
+        byAmount.setMinAmount(new BigDecimal("20.00"));
+        byAmount.setMaxAmount(new BigDecimal("30.00"));
+        assertEquals(List.of(coffeeWithClient), ids(search("coffee", byAmount, 20, true)));
+
+        ExpenseFilterRequest byPaymentAndCategories = new ExpenseFilterRequest();
+        byPaymentAndCategories.setPaymentMethods(List.of(Expense.PaymentMethod.CARD));
+        byPaymentAndCategories.setCategoryIds(List.of(food, travel));
+        Slice<ExpenseResponse> card = search("coffee", byPaymentAndCategories, 20, true);
+        assertEquals(List.of(coffeeWithClient, coffeeBeans), ids(card));
+        assertEquals(2, ((Page<ExpenseResponse>) card).getTotalElements());
+
+        ExpenseFilterRequest byDescription = new ExpenseFilterRequest();
+        byDescription.setDescription("BEANS");
+        assertEquals(List.of(coffeeBeans), ids(search("coffee", byDescription, 20, true)));
+    }
+
+    @Test
+    @DisplayName("Should page ranked results and skip the count when it is not requested")
+    void search_PagesWithAndWithoutCount() {
+        Slice<ExpenseResponse> first = search("coffee", new ExpenseFilterRequest(), 2, false);
+        assertFalse(first instanceof Page, "No count query without includeCount");
+        assertEquals(List.of(coffeeWithClient, coffeeBeans), ids(first));
+        assertTrue(first.hasNext());
+
+        Slice<ExpenseResponse> second = repository.search(userId, ExpenseSearchRepository.toPrefixQuery("coffee"),
+                new ExpenseFilterRequest(), PageRequest.of(1, 2), false);
+        assertEquals(List.of(groceries), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should treat operator characters as separators and match nothing for stop words only")
+    void search_OperatorCharactersAndStopWords() {
+        assertNull(ExpenseSearchRepository.toPrefixQuery("  & | ! ( ) :* "));
+        assertEquals("coffee:* & client:*", ExpenseSearchRepository.toPrefixQuery("Coffee & (client) | !coffee"));
+        assertEquals(List.of(coffeeWithClient),
+                ids(search("Coffee & (client) | !coffee", new ExpenseFilterRequest(), 20, true)));
+
+        // "the" and "and" are English stop words, so the tsquery is empty and matches no row
+        Slice<ExpenseResponse> stopWords = search("the and", new ExpenseFilterRequest(), 20, true);
+        assertEquals(List.of(), ids(stopWords));
+        assertEquals(0, ((Page<ExpenseResponse>) stopWords).getTotalElements());
+    }
+
+    private Slice<ExpenseResponse> search(String q, ExpenseFilterRequest filter, int size, boolean includeCount) {
+        return repository.search(userId, ExpenseSearchRepository.toPrefixQuery(q), filter,
+                PageRequest.of(0, size), includeCount);
+    }
+
+    private static List<UUID> ids(Slice<ExpenseResponse> results) {
+        return results.getContent().stream().map(ExpenseResponse::getId).toList();
+    }
+
+    private static UUID user(String email) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, created_at, email, password_hash, role, is_active)" +
+                " VALUES (?, now(), ?, 'hash', 'USER', true)", id, email);
+        return id;
+    }
+
+    private static UUID category(UUID user, String name) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO categories (id, created_at, user_id, name) VALUES (?, now(), ?, ?)", id, user, name);
+        return id;
+    }
+
+    private static UUID expense(UUID user, UUID category, String description, String notes, String amount,
+                                LocalDate date, Expense.PaymentMethod paymentMethod, boolean deleted) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO expenses (id, created_at, updated_at, user_id, category_id, amount, description," +
+                        " notes, expense_date, payment_method, is_deleted) VALUES (?, now(), now(), ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, user, category, new BigDecimal(amount), description, notes, date, paymentMethod.name(), deleted);
+        return id;
+    }
+}
@@ -0,0 +1,213 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.AccountArchiveResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.CategoryBudget;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.Receipt;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.CategoryBudgetRepository;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.support.TestAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountArchiveServiceTest {
+
+    private static final byte[] RECEIPT_CONTENT = "%PDF-1.4 receipt".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private AccountArchiveService accountArchiveService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @MockitoSpyBean
+    private ReceiptStorage receiptStorage;
+
+    private TestAccount account;
+    private User user;
+    private Expense withReceipt;
+    private Expense withMissingReceipt;
+    private String receiptKey;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        account = TestAccount.create(context, "archive");
+        user = account.user();
+        Category food = account.food();
+        categoryBudgetRepository.save(CategoryBudget.builder()
+                .category(food)
+                .monthlyLimit(new BigDecimal("300.00"))
+                .build());
+
+        withReceipt = expenseRepository.save(expense(food, "Dinner", "42.00"));
+        withMissingReceipt = expenseRepository.save(expense(food, "Taxi", "18.50"));
+
+        receiptKey = user.getId() + "/" + withReceipt.getId() + "/receipt.pdf";
+        Path source = Files.createTempFile("receipt", ".pdf");
+        Files.write(source, RECEIPT_CONTENT);
+        receiptStorage.store(receiptKey, source, "application/pdf");
+        receiptRepository.save(receipt(withReceipt, "receipt.pdf", receiptKey));
+        receiptRepository.save(receipt(withMissingReceipt, "gone.png", user.getId() + "/missing/gone.png"));
+
+        account.authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiptStorage.delete(receiptKey);
+        account.delete();
+    }
+
+    @Test
+    @DisplayName("Should write expenses, categories, budgets, receipt files and a manifest in one archive")
+    void write_AllAccountData() throws IOException {
+        AccountArchiveService.ArchiveJob job = new AccountArchiveService.ArchiveJob(UUID.randomUUID(), user.getId(), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        accountArchiveService.write(user, out, job);
+
+        Map<String, String> entries = unzip(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(List.of("expenses.csv", "categories.json", "budgets.json",
+                "receipts/" + withReceipt.getId() + "/receipt.pdf", "manifest.json"), List.copyOf(entries.keySet()));
+
+        String[] csv = entries.get("expenses.csv").split("\r\n");
+        assertEquals(3, csv.length);
+        assertTrue(csv[0].startsWith("id,date,amount"));
+        assertTrue(entries.get("categories.json").contains("\"name\":\"Food\""));
+        assertTrue(entries.get("budgets.json").contains("\"categoryName\":\"Food\""));
+        assertTrue(entries.get("budgets.json").contains("\"monthlyLimit\":300.00"));
+        assertEquals(new String(RECEIPT_CONTENT, StandardCharsets.US_ASCII),
+                entries.get("receipts/" + withReceipt.getId() + "/receipt.pdf"));
+
+        String manifest = entries.get("manifest.json");
+        assertTrue(manifest.contains("\"expenses\":2"));
+        assertTrue(manifest.contains("\"receipts\":1"));
+        assertTrue(manifest.contains("\"missingReceipts\":[\"" + withMissingReceipt.getId() + "/gone.png\"]"));
+
+        AccountArchiveResponse progress = job.toResponse();
+        assertEquals(2, progress.getExpenses());
+        assertEquals(1, progress.getCategories());
+        assertEquals(1, progress.getBudgets());
+        assertEquals(1, progress.getReceipts());
+        assertEquals(out.size(), progress.getBytesWritten());
+    }
+
+    @Test
+    @DisplayName("Should load receipt files from storage outside any database transaction")
+    void write_LoadsReceiptsOutsideTransaction() throws IOException {
+        AtomicBoolean loadedInTransaction = new AtomicBoolean();
+        doAnswer(invocation -> {
+            loadedInTransaction.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(receiptStorage).load(anyString());
+        AccountArchiveService.ArchiveJob job = new AccountArchiveService.ArchiveJob(UUID.randomUUID(), user.getId(), null);
+
+        accountArchiveService.write(user, new ByteArrayOutputStream(), job);
+
+        assertFalse(loadedInTransaction.get(), "Receipt files must be copied after the page transaction ends");
+        assertEquals(1, job.toResponse().getReceipts());
+    }
+
+    @Test
+    @DisplayName("Should build the archive in the background and serve the finished file")
+    void startArchive_CompletesAndDownloads() throws Exception {
+        AccountArchiveResponse started = accountArchiveService.startArchive();
+
+        AccountArchiveResponse status = started;
+        for (int i = 0; i < 100 && status.getStatus() != AccountArchiveResponse.Status.COMPLETED
+                && status.getStatus() != AccountArchiveResponse.Status.FAILED; i++) {
+            Thread.sleep(100);
+            status = accountArchiveService.getArchive(started.getId());
+        }
+
+        assertEquals(AccountArchiveResponse.Status.COMPLETED, status.getStatus());
+        assertEquals("/api/account/archives/" + started.getId() + "/download", status.getDownloadUrl());
+
+        Resource archive = accountArchiveService.downloadArchive(started.getId());
+        assertEquals(status.getBytesWritten(), archive.contentLength());
+        try (InputStream in = archive.getInputStream()) {
+            assertTrue(unzip(in).containsKey("receipts/" + withReceipt.getId() + "/receipt.pdf"));
+        }
+        Files.deleteIfExists(archive.getFile().toPath());
+    }
+
+    private Expense expense(Category category, String description, String amount) {
+        return Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(false)
+                .build();
+    }
+
+    private static Receipt receipt(Expense expense, String fileName, String key) {
+        return Receipt.builder()
+                .expense(expense)
+                .fileName(fileName)
+                .filePath(key)
+                .fileSize((long) RECEIPT_CONTENT.length)
+                .fileType("application/pdf")
+                .uploadedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Map<String, String> unzip(InputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,239 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.CategoryRequest;
+import com.expenseTracker.demo.dto.response.MonthlySummaryResponse;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ServiceOverloadedException;
+import com.expenseTracker.demo.support.TestAccount;
+import com.expenseTracker.demo.util.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsBulkheadTest {
+
+    private static final int LANE_SIZE = 4;
+
+    @Autowired
+    private AnalyticsBulkhead analyticsBulkhead;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("analyticsDataSource")
+    private HikariDataSource analyticsDataSource;
+
+    private TestAccount account;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccount.create(context, "bulkhead").authenticate();
+        user = account.user();
+    }
+
+    @AfterEach
+    void tearDown() {
+        account.delete();
+    }
+
+    @Test
+    @DisplayName("Should run analytics on the lane as the caller, reading through the analytics pool")
+    void execute_RunsOnLaneWithCallerContext() {
+        LocalDate today = LocalDate.now();
+        MonthlySummaryResponse summary = analyticsBulkhead.execute(
+                () -> analyticsService.getMonthlySummary(user, today.getMonthValue(), today.getYear()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalExpenses()));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int activeInLane = analyticsBulkhead.execute(() -> readOnly.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return analyticsDataSource.getHikariPoolMXBean().getActiveConnections();
+        }));
+        assertEquals(1, activeInLane);
+        int activeOutsideLane = readOnly.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return analyticsDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+        assertEquals(0, activeOutsideLane);
+    }
+
+    @Test
+    @DisplayName("Should reject analytics at once when the lane is full while writes still complete")
+    void execute_RejectsWhenLaneIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(LANE_SIZE);
+        List<CompletableFuture<Boolean>> running = new ArrayList<>();
+        for (int i = 0; i < LANE_SIZE; i++) {
+            running.add(CompletableFuture.supplyAsync(() -> analyticsBulkhead.execute(() -> {
+                started.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            })));
+        }
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            ServiceOverloadedException busy = assertThrows(ServiceOverloadedException.class,
+                    () -> analyticsBulkhead.execute(() -> analyticsService.getHighestExpense(user)));
+            assertEquals(Constants.ErrorMessages.ANALYTICS_BUSY, busy.getMessage());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+
+            assertNotNull(categoryService.createCategory(new CategoryRequest("Travel", null, null)).getId());
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Boolean> task : running) {
+            assertTrue(task.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread tasks over the free lane threads only, so concurrent calls never need more connections than the analytics pool has")
+    void executeAll_NeverExceedsLaneOrPool() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Tasks wanting or holding a connection at once; more than the pool would have to wait for one
+        AtomicInteger demand = new AtomicInteger();
+        AtomicInteger peakDemand = new AtomicInteger();
+        Runnable section = () -> {
+            peakDemand.accumulateAndGet(demand.incrementAndGet(), Math::max);
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                    sleep(100);
+                });
+            } finally {
+                demand.decrementAndGet();
+            }
+        };
+
+        int callers = 3;
+        CountDownLatch go = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> calls = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                await(go);
+                try {
+                    analyticsBulkhead.executeAll(List.of(section, section, section, section, section));
+                    return true;
+                } catch (ServiceOverloadedException e) {
+                    return false;
+                }
+            }));
+        }
+        go.countDown();
+
+        int completed = 0;
+        for (CompletableFuture<Boolean> call : calls) {
+            completed += call.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertTrue(completed >= 1);
+        assertTrue(peakDemand.get() <= analyticsDataSource.getMaximumPoolSize(), "Peak demand " + peakDemand);
+    }
+
+    @Test
+    @DisplayName("Should run every task on the one free lane thread, and reject only when none is free")
+    void executeAll_UsesWhateverLaneIsFree() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(LANE_SIZE - 1);
+        List<CompletableFuture<Boolean>> running = new ArrayList<>();
+        for (int i = 0; i < LANE_SIZE - 1; i++) {
+            running.add(CompletableFuture.supplyAsync(() -> analyticsBulkhead.execute(() -> {
+                started.countDown();
+                return await(release);
+            })));
+        }
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            AtomicInteger ran = new AtomicInteger();
+            Runnable task = () -> {
+                threads.add(Thread.currentThread().getName());
+                ran.incrementAndGet();
+                sleep(20);
+            };
+            analyticsBulkhead.executeAll(List.of(task, task, task, task, task));
+            assertEquals(5, ran.get());
+            assertEquals(1, threads.size());
+
+            IllegalStateException failure = new IllegalStateException("section failed");
+            Thread.sleep(100);
+            assertSame(failure, assertThrows(IllegalStateException.class,
+                    () -> analyticsBulkhead.executeAll(List.of(task, () -> { throw failure; }, task))));
+
+            // Let the thread that ran those return to the lane before taking it
+            Thread.sleep(100);
+            running.add(CompletableFuture.supplyAsync(() -> analyticsBulkhead.execute(() -> await(release))));
+            Thread.sleep(100);
+            assertThrows(ServiceOverloadedException.class, () -> analyticsBulkhead.executeAll(List.of(task)));
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Boolean> task : running) {
+            assertTrue(task.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.datasource.RequestDeadline;
+import com.expenseTracker.demo.dto.response.DashboardResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.DeadlineExceededException;
+import com.expenseTracker.demo.exception.ServiceOverloadedException;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.support.TestAccount;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsDashboardServiceTest {
+
+    @Autowired
+    private AnalyticsDashboardService analyticsDashboardService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LocalDate today = LocalDate.now();
+    private TestAccount account;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccount.create(context, "dashboard");
+        user = account.user();
+        category = account.food();
+        for (String amount : List.of("12.50", "40.00", "7.25")) {
+            expenseRepository.save(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(new BigDecimal(amount))
+                    .description("Meal")
+                    .expenseDate(today.withDayOfMonth(1))
+                    .paymentMethod(Expense.PaymentMethod.CARD)
+                    .isDeleted(false)
+                    .build());
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+        account.delete();
+    }
+
+    @Test
+    @DisplayName("Should compute every section for the given user on the analytics lane, reusing the analytics caches")
+    void getDashboard_AllSections() {
+        double analyticsReads = meterRegistry.counter("datasource.routing.reads", "target", "analytics").count();
+
+        DashboardResponse dashboard = analyticsDashboardService.getDashboard(user, today.getMonthValue(), today.getYear());
+
+        assertEquals(3, dashboard.getMonthlySummary().getExpenseCount());
+        assertEquals(0, new BigDecimal("59.75").compareTo(dashboard.getMonthlySummary().getTotalExpenses()));
+        assertEquals("Food", dashboard.getCategoryBreakdown().getFirst().getCategoryName());
+        assertFalse(dashboard.getDailyTrend().isEmpty());
+        assertEquals(0, new BigDecimal("40.00").compareTo(dashboard.getHighestExpense().getAmount()));
+        assertEquals(0, new BigDecimal("59.75").compareTo(dashboard.getInsights().getMonthlyComparison().getCurrentMonthTotal()));
+        assertEquals(List.of("monthlySummary", "categoryBreakdown", "dailyTrend", "highestExpense", "insights"),
+                List.copyOf(dashboard.getSectionMillis().keySet()));
+        assertTrue(dashboard.getSectionMillis().values().stream().allMatch(millis -> millis >= 0));
+        assertTrue(meterRegistry.counter("datasource.routing.reads", "target", "analytics").count() >= analyticsReads + 5);
+
+        assertSame(dashboard.getMonthlySummary(),
+                analyticsService.getMonthlySummary(user, today.getMonthValue(), today.getYear()));
+        assertSame(dashboard.getCategoryBreakdown(),
+                analyticsService.getCategoryBreakdown(user, today.getMonthValue(), today.getYear()));
+    }
+
+    @Test
+    @DisplayName("Should fail the dashboard with the request deadline once it has passed")
+    void getDashboard_DeadlineExceeded() {
+        RequestDeadline.set(System.nanoTime() - 1);
+
+        assertThrows(DeadlineExceededException.class,
+                () -> analyticsDashboardService.getDashboard(user, today.getMonthValue(), today.getYear()));
+    }
+
+    @Test
+    @DisplayName("Should serve or shed concurrent dashboards, never failing for want of an analytics connection")
+    void getDashboard_ConcurrentDashboards() throws Exception {
+        int dashboards = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<DashboardResponse>> calls = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(dashboards)) {
+            for (int i = 0; i < dashboards; i++) {
+                calls.add(callers.submit(() -> {
+                    go.await();
+                    return analyticsDashboardService.getDashboard(user, today.getMonthValue(), today.getYear());
+                }));
+            }
+            go.countDown();
+
+            int served = 0;
+            for (Future<DashboardResponse> call : calls) {
+                try {
+                    assertEquals(3, call.get(10, TimeUnit.SECONDS).getMonthlySummary().getExpenseCount());
+                    served++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ServiceOverloadedException.class, e.getCause());
+                }
+            }
+            assertTrue(served >= 1);
+        }
+    }
+}
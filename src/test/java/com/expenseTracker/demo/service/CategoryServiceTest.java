@@ -0,0 +1,183 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.CategoryMergeRequest;
+import com.expenseTracker.demo.dto.request.CategoryRequest;
+import com.expenseTracker.demo.dto.response.CategoryMergeResponse;
+import com.expenseTracker.demo.dto.response.CategoryResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.CategoryBudget;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.CategoryBudgetRepository;
+import com.expenseTracker.demo.util.Constants;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private BudgetAlertService budgetAlertService;
+
+    private User user;
+    private Category food;
+    private Category dining;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("merge@example.com")
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+        food = category("Food");
+        dining = category("Dining");
+        travel = category("Travel");
+        entityManager.flush();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should move expenses, including deleted ones, and the budget into the target and delete the source")
+    void mergeCategory_MovesExpensesAndBudget() {
+        Expense lunch = expense(dining, false);
+        Expense dinner = expense(dining, false);
+        Expense deleted = expense(dining, true);
+        Expense groceries = expense(food, false);
+        budget(dining, "150.00");
+        entityManager.flush();
+        entityManager.clear();
+
+        CategoryMergeResponse response = categoryService.mergeCategory(dining.getId(), new CategoryMergeRequest(food.getId()));
+
+        assertEquals(food.getId(), response.getCategory().getId());
+        assertEquals(2, response.getExpensesMoved());
+        assertTrue(response.isBudgetMoved());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(entityManager.find(Category.class, dining.getId()));
+        for (Expense expense : new Expense[]{lunch, dinner, deleted, groceries}) {
+            assertEquals(food.getId(), entityManager.find(Expense.class, expense.getId()).getCategory().getId());
+        }
+        assertEquals(0, new BigDecimal("150.00").compareTo(
+                categoryBudgetRepository.findByCategory(entityManager.find(Category.class, food.getId()))
+                        .orElseThrow().getMonthlyLimit()));
+        verify(budgetAlertService).checkBudgetThreshold(food.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep the target's budget and reject merging into itself or a missing category")
+    void mergeCategory_TargetBudgetWinsAndInvalidTargets() {
+        expense(travel, false);
+        budget(travel, "500.00");
+        budget(food, "200.00");
+        entityManager.flush();
+        entityManager.clear();
+
+        CategoryMergeResponse response = categoryService.mergeCategory(travel.getId(), new CategoryMergeRequest(food.getId()));
+        assertFalse(response.isBudgetMoved());
+        assertEquals(1, response.getExpensesMoved());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(0, new BigDecimal("200.00").compareTo(
+                categoryBudgetRepository.findByCategory(entityManager.find(Category.class, food.getId()))
+                        .orElseThrow().getMonthlyLimit()));
+
+        IllegalArgumentException self = assertThrows(IllegalArgumentException.class,
+                () -> categoryService.mergeCategory(food.getId(), new CategoryMergeRequest(food.getId())));
+        assertEquals(Constants.ErrorMessages.CATEGORY_MERGE_SELF, self.getMessage());
+        assertThrows(ResourceNotFoundException.class,
+                () -> categoryService.mergeCategory(dining.getId(), new CategoryMergeRequest(UUID.randomUUID())));
+    }
+
+    @Test
+    @DisplayName("Should return usage stats for every category from one query and refresh them after writes")
+    void getAllCategoriesWithStats() {
+        expense(food, false);
+        expense(food, false);
+        expense(food, true);
+        Expense old = expense(food, false);
+        old.setExpenseDate(LocalDate.now().minusYears(1));
+        budget(food, "80.00");
+        entityManager.flush();
+
+        List<CategoryResponse> stats = categoryService.getAllCategoriesWithStats();
+
+        assertEquals(List.of("Dining", "Food", "Travel"), stats.stream().map(CategoryResponse::getName).toList());
+        CategoryResponse foodStats = stats.get(1);
+        assertEquals(3, foodStats.getExpenseCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(foodStats.getCurrentMonthTotal()));
+        assertEquals(25.0, foodStats.getBudgetUsedPercent());
+        assertEquals(0, stats.get(0).getExpenseCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(stats.get(0).getCurrentMonthTotal()));
+        assertNull(stats.get(0).getBudgetUsedPercent());
+
+        assertSame(stats, categoryService.getAllCategoriesWithStats());
+        categoryService.createCategory(new CategoryRequest("Health", null, null));
+        assertEquals(4, categoryService.getAllCategoriesWithStats().size());
+    }
+
+    private Category category(String name) {
+        Category category = Category.builder().user(user).name(name).build();
+        entityManager.persist(category);
+        return category;
+    }
+
+    private void budget(Category category, String limit) {
+        entityManager.persist(CategoryBudget.builder().category(category).monthlyLimit(new BigDecimal(limit)).build());
+    }
+
+    private Expense expense(Category category, boolean deleted) {
+        Expense expense = Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Meal")
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(deleted)
+                .build();
+        entityManager.persist(expense);
+        return expense;
+    }
+}
@@ -0,0 +1,169 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.Receipt;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.support.TestAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "file.upload-dir=./target/reclamation-test-uploads",
+        "reclamation.batch-size=2",
+        "reclamation.max-batches-per-run=2",
+        "reclamation.batch-pause-ms=0"
+})
+@ActiveProfiles("test")
+class DataReclamationServiceTest {
+
+    private static final Path UPLOAD_DIR = Paths.get("./target/reclamation-test-uploads");
+    private static final int MAX_PER_RUN = 4;
+
+    @Autowired
+    private DataReclamationService dataReclamationService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private ReceiptStorage receiptStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccount account;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+        account = TestAccount.create(context, "reclamation");
+        user = account.user();
+        category = account.food();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        account.delete();
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+    }
+
+    @Test
+    @DisplayName("Should hard-delete expenses soft-deleted past retention with their receipts and files, a capped number per run")
+    void purgeSoftDeletedExpenses() throws IOException {
+        List<Expense> expired = new ArrayList<>();
+        for (int i = 0; i < MAX_PER_RUN + 1; i++) {
+            expired.add(expense(true, LocalDateTime.now().minusDays(40)));
+        }
+        Expense recentlyDeleted = expense(true, LocalDateTime.now().minusDays(5));
+        Expense active = expense(false, LocalDateTime.now().minusDays(40));
+        String receiptKey = storeReceipt(expired.getFirst(), Instant.now());
+
+        assertEquals(MAX_PER_RUN, dataReclamationService.purgeSoftDeletedExpenses());
+        assertEquals(1, dataReclamationService.purgeSoftDeletedExpenses());
+        assertEquals(0, dataReclamationService.purgeSoftDeletedExpenses());
+
+        assertTrue(expired.stream().noneMatch(expense -> expenseRepository.existsById(expense.getId())));
+        assertTrue(expenseRepository.existsById(recentlyDeleted.getId()));
+        assertTrue(expenseRepository.existsById(active.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM receipts WHERE expense_id = ?", Integer.class, expired.getFirst().getId()));
+        assertFalse(receiptStorage.exists(receiptKey));
+    }
+
+    @Test
+    @DisplayName("Should delete old unreferenced files anywhere in storage, a capped number per run, keeping referenced and recent ones")
+    void deleteOrphanFiles() throws IOException {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        List<String> referenced = new ArrayList<>();
+        // More referenced files than one run used to list, so orphans cannot all sit in the first window
+        for (int i = 0; i < MAX_PER_RUN * 2; i++) {
+            referenced.add(storeReceipt(expense(false, LocalDateTime.now()), old));
+        }
+        List<String> orphans = new ArrayList<>();
+        for (int i = 0; i < MAX_PER_RUN + 1; i++) {
+            orphans.add(storeFile(user.getId() + "/" + UUID.randomUUID() + "/" + UUID.randomUUID() + ".png", old));
+        }
+        String recentOrphan = storeFile(user.getId() + "/" + UUID.randomUUID() + "/" + UUID.randomUUID() + ".png", Instant.now());
+
+        assertEquals(MAX_PER_RUN, dataReclamationService.deleteOrphanFiles());
+        assertEquals(1, dataReclamationService.deleteOrphanFiles());
+        assertEquals(0, dataReclamationService.deleteOrphanFiles());
+
+        assertTrue(orphans.stream().noneMatch(receiptStorage::exists));
+        assertTrue(referenced.stream().allMatch(receiptStorage::exists));
+        assertTrue(receiptStorage.exists(recentOrphan));
+    }
+
+    private Expense expense(boolean deleted, LocalDateTime updatedAt) {
+        Expense expense = expenseRepository.save(Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Lunch")
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(deleted)
+                .build());
+        jdbcTemplate.update("UPDATE expenses SET updated_at = ? WHERE id = ?", updatedAt, expense.getId());
+        return expense;
+    }
+
+    private String storeReceipt(Expense expense, Instant lastModified) throws IOException {
+        String fileName = UUID.randomUUID() + ".pdf";
+        String key = user.getId() + "/" + expense.getId() + "/" + fileName;
+        storeFile(key, lastModified);
+        receiptRepository.save(Receipt.builder()
+                .expense(expense)
+                .fileName(fileName)
+                .filePath(key)
+                .fileSize(3L)
+                .fileType("application/pdf")
+                .uploadedAt(LocalDateTime.now())
+                .build());
+        return key;
+    }
+
+    private String storeFile(String key, Instant lastModified) throws IOException {
+        Path source = Files.createTempFile("reclamation", ".tmp");
+        Files.writeString(source, "pdf");
+        receiptStorage.store(key, source, "application/pdf");
+        Files.setLastModifiedTime(UPLOAD_DIR.resolve(key), FileTime.from(lastModified));
+        return key;
+    }
+}
@@ -0,0 +1,192 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.DescriptionSuggestionResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.repository.ExpenseSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DescriptionSuggestionServiceTest {
+
+    private static final int MAX_ENTRIES = 100;
+
+    @Mock
+    private ExpenseSearchRepository expenseSearchRepository;
+
+    private DescriptionSuggestionService suggestionService;
+    private UUID userId;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new DescriptionSuggestionService(expenseSearchRepository, 2, MAX_ENTRIES);
+        userId = UUID.randomUUID();
+        category = Category.builder().name("Food").build();
+        category.setId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should build the index once and rank matches by use count, then recency")
+    void suggest_RanksByUseCountThenRecency() {
+        when(expenseSearchRepository.findRecentDescriptions(userId, MAX_ENTRIES)).thenReturn(List.of(
+                suggestion("Coffee beans", 2, LocalDate.of(2026, 1, 5)),
+                suggestion("Coffee", 7, LocalDate.of(2026, 1, 1)),
+                suggestion("coffee at work", 2, LocalDate.of(2026, 2, 1)),
+                suggestion("Cinema", 9, LocalDate.of(2026, 1, 1))));
+
+        List<DescriptionSuggestionResponse> result = suggestionService.suggest(userId, " COF", 10);
+        suggestionService.suggest(userId, "cin", 10);
+
+        assertEquals(List.of("Coffee", "coffee at work", "Coffee beans"),
+                result.stream().map(DescriptionSuggestionResponse::getDescription).toList());
+        assertEquals(1, suggestionService.suggest(userId, "coffee", 1).size());
+        assertTrue(suggestionService.suggest(userId, "tea", 10).isEmpty());
+        verify(expenseSearchRepository, times(1)).findRecentDescriptions(userId, MAX_ENTRIES);
+    }
+
+    @Test
+    @DisplayName("Should apply saved, updated and deleted expenses to a loaded index")
+    void writes_UpdateLoadedIndex() {
+        when(expenseSearchRepository.findRecentDescriptions(userId, MAX_ENTRIES)).thenReturn(List.of(
+                suggestion("Lunch", 1, LocalDate.of(2026, 1, 1))));
+        suggestionService.suggest(userId, "l", 10);
+
+        suggestionService.expenseSaved(userId, null, expense("lunch ", "25.00", LocalDate.of(2026, 3, 1)));
+        suggestionService.expenseSaved(userId, null, expense("Laundry", "8.00", LocalDate.of(2026, 3, 2)));
+
+        List<DescriptionSuggestionResponse> result = suggestionService.suggest(userId, "l", 10);
+        assertEquals(2, result.size());
+        DescriptionSuggestionResponse lunch = result.get(0);
+        assertEquals("lunch ", lunch.getDescription());
+        assertEquals(2, lunch.getUseCount());
+        assertEquals(new BigDecimal("25.00"), lunch.getLastAmount());
+        assertEquals("Food", lunch.getCategoryName());
+
+        // Renaming the only Laundry expense moves its use to the new description
+        suggestionService.expenseSaved(userId, "Laundry", expense("Dry cleaning", "8.00", LocalDate.of(2026, 3, 2)));
+        assertTrue(suggestionService.suggest(userId, "laun", 10).isEmpty());
+        assertEquals(1, suggestionService.suggest(userId, "dry", 10).size());
+
+        suggestionService.expenseDeleted(userId, "Lunch");
+        assertEquals(1, suggestionService.suggest(userId, "lunch", 10).get(0).getUseCount());
+        suggestionService.expenseDeleted(userId, "Lunch");
+        assertTrue(suggestionService.suggest(userId, "lunch", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not build an index just to apply a write")
+    void writes_SkipUnloadedIndex() {
+        suggestionService.expenseSaved(userId, null, expense("Taxi", "12.00", LocalDate.now()));
+        suggestionService.expenseDeleted(userId, "Taxi");
+
+        verifyNoInteractions(expenseSearchRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild an index whose load overlapped a committed write")
+    void writes_DiscardIndexLoadedDuringWrite() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(expenseSearchRepository.findRecentDescriptions(userId, MAX_ENTRIES))
+                .thenAnswer(invocation -> {
+                    // Read before the write commits
+                    loading.countDown();
+                    committed.await(5, TimeUnit.SECONDS);
+                    return List.of(suggestion("Lunch", 1, LocalDate.of(2026, 1, 1)));
+                })
+                .thenReturn(List.of(suggestion("Lunch", 1, LocalDate.of(2026, 1, 1)),
+                        suggestion("Taxi", 1, LocalDate.of(2026, 3, 1))));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> lookup = executor.submit(() -> suggestionService.suggest(userId, "l", 10));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Thread write = new Thread(() ->
+                    suggestionService.expenseSaved(userId, null, expense("Taxi", "12.00", LocalDate.of(2026, 3, 1))));
+            write.start();
+            // Let the write reach the cache while the load is still running
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (write.getState() == Thread.State.NEW || write.getState() == Thread.State.RUNNABLE) {
+                assertTrue(System.nanoTime() < deadline, "The write neither finished nor waited for the load");
+                Thread.onSpinWait();
+            }
+            committed.countDown();
+            lookup.get(5, TimeUnit.SECONDS);
+            write.join(5000);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, suggestionService.suggest(userId, "taxi", 10).size());
+    }
+
+    @Test
+    @DisplayName("Should cap entries per user by evicting the least recently used description")
+    void record_EvictsLeastRecentWhenFull() {
+        List<DescriptionSuggestionResponse> initial = new ArrayList<>();
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            initial.add(suggestion("Item " + i, 1, LocalDate.of(2026, 1, 1).plusDays(i)));
+        }
+        when(expenseSearchRepository.findRecentDescriptions(userId, MAX_ENTRIES)).thenReturn(initial);
+        suggestionService.suggest(userId, "item", 1);
+
+        suggestionService.expenseSaved(userId, null, expense("Item new", "1.00", LocalDate.of(2026, 12, 1)));
+
+        assertTrue(suggestionService.suggest(userId, "item 0", 10).isEmpty());
+        assertEquals(1, suggestionService.suggest(userId, "item new", 10).size());
+    }
+
+    @Test
+    @DisplayName("Should reload an index after invalidation")
+    void invalidate_ReloadsOnNextLookup() {
+        when(expenseSearchRepository.findRecentDescriptions(eq(userId), anyInt())).thenReturn(List.of());
+        suggestionService.suggest(userId, "a", 5);
+
+        suggestionService.invalidate(userId);
+        suggestionService.suggest(userId, "a", 5);
+
+        verify(expenseSearchRepository, times(2)).findRecentDescriptions(userId, MAX_ENTRIES);
+    }
+
+    private DescriptionSuggestionResponse suggestion(String description, int useCount, LocalDate lastUsed) {
+        return DescriptionSuggestionResponse.builder()
+                .description(description)
+                .lastAmount(BigDecimal.TEN)
+                .categoryId(category.getId())
+                .categoryName(category.getName())
+                .lastUsed(lastUsed)
+                .useCount(useCount)
+                .build();
+    }
+
+    private Expense expense(String description, String amount, LocalDate date) {
+        return Expense.builder()
+                .description(description)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .expenseDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.BatchExpenseRequest;
+import com.expenseTracker.demo.dto.request.ExpenseRequest;
+import com.expenseTracker.demo.dto.response.BatchExpenseResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.util.Constants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ExpenseBatchServiceTest {
+
+    @Autowired
+    private ExpenseBatchService expenseBatchService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private BudgetAlertService budgetAlertService;
+
+    private Statistics statistics;
+    private Category food;
+    private Category travel;
+    private Expense existing;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .email("batch@example.com")
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+
+        food = Category.builder().user(user).name("Food").build();
+        travel = Category.builder().user(user).name("Travel").build();
+        entityManager.persist(food);
+        entityManager.persist(travel);
+
+        existing = Expense.builder()
+                .user(user)
+                .category(food)
+                .amount(new BigDecimal("5.00"))
+                .description("Existing")
+                .expenseDate(LocalDate.now())
+                .isDeleted(false)
+                .build();
+        entityManager.persist(existing);
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should create many expenses with one category query and batched inserts")
+    void processBatch_CreatesInJdbcBatches() {
+        List<BatchExpenseRequest.Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Category category = i % 2 == 0 ? food : travel;
+            operations.add(new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.CREATE, null,
+                    payload(category.getId(), "Item " + i, LocalDate.now())));
+        }
+
+        BatchExpenseResponse response = expenseBatchService.processBatch(new BatchExpenseRequest(operations));
+
+        assertEquals(120, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+        assertNotNull(response.getResults().get(119).getExpense().getCreatedAt());
+        // 1 category lookup + 1 insert statement executed in batches (unbatched would prepare 120)
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(120, statistics.getEntityInsertCount());
+        // One budget check per category written in the current month
+        verify(budgetAlertService).checkBudgetThreshold(food.getId());
+        verify(budgetAlertService).checkBudgetThreshold(travel.getId());
+        verifyNoMoreInteractions(budgetAlertService);
+    }
+
+    @Test
+    @DisplayName("Should report per-item results without aborting the batch")
+    void processBatch_ReportsPerItemResults() {
+        UUID unknown = UUID.randomUUID();
+        List<BatchExpenseRequest.Operation> operations = List.of(
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.GET, existing.getId(), null),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.UPDATE, existing.getId(),
+                        payload(travel.getId(), "Updated", LocalDate.now().minusYears(1))),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.CREATE, null,
+                        payload(unknown, "Bad category", LocalDate.now())),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.CREATE, null,
+                        payload(food.getId(), "Future", LocalDate.now().plusDays(2))),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.DELETE, existing.getId(), null),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.GET, existing.getId(), null),
+                new BatchExpenseRequest.Operation(BatchExpenseRequest.Type.DELETE, null, null));
+
+        BatchExpenseResponse response = expenseBatchService.processBatch(new BatchExpenseRequest(operations));
+
+        List<BatchExpenseResponse.ItemResult> results = response.getResults();
+        assertEquals(List.of(200, 200, 404, 400, 204, 404, 400),
+                results.stream().map(BatchExpenseResponse.ItemResult::getStatus).toList());
+        assertEquals("Existing", results.get(0).getExpense().getDescription());
+        assertEquals("Updated", results.get(1).getExpense().getDescription());
+        assertEquals("Travel", results.get(1).getExpense().getCategoryName());
+        assertEquals(Constants.ErrorMessages.CATEGORY_NOT_FOUND, results.get(2).getError());
+        assertTrue(results.get(3).getError().startsWith("expenseDate"));
+        assertEquals(Constants.ErrorMessages.BATCH_ID_REQUIRED, results.get(6).getError());
+        assertEquals(3, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+
+        entityManager.clear();
+        assertTrue(entityManager.find(Expense.class, existing.getId()).getIsDeleted());
+        // The update moved the expense to last year, so no current-month budget is affected
+        verifyNoInteractions(budgetAlertService);
+    }
+
+    private ExpenseRequest payload(UUID categoryId, String description, LocalDate date) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setCategoryId(categoryId);
+        request.setAmount(new BigDecimal("12.34"));
+        request.setDescription(description);
+        request.setExpenseDate(date);
+        request.setPaymentMethod(Expense.PaymentMethod.CARD);
+        return request;
+    }
+}
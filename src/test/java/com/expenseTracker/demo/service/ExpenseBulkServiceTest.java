@@ -0,0 +1,174 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.BulkExpenseUpdateRequest;
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.util.Constants;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpenseBulkServiceTest {
+
+    @Autowired
+    private ExpenseBulkService expenseBulkService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private BudgetAlertService budgetAlertService;
+
+    private User user;
+    private Category food;
+    private Category travel;
+    private Expense cardNow;
+    private Expense cashNow;
+    private Expense cardLastYear;
+    private Expense otherUsersCard;
+
+    @BeforeEach
+    void setUp() {
+        user = user("bulk@example.com");
+        User other = user("bulk-other@example.com");
+        food = category(user, "Food");
+        travel = category(user, "Travel");
+        Category otherFood = category(other, "Food");
+
+        cardNow = expense(user, food, Expense.PaymentMethod.CARD, LocalDate.now());
+        cashNow = expense(user, food, Expense.PaymentMethod.CASH, LocalDate.now());
+        cardLastYear = expense(user, food, Expense.PaymentMethod.CARD, LocalDate.now().minusYears(1));
+        otherUsersCard = expense(other, otherFood, Expense.PaymentMethod.CARD, LocalDate.now());
+        entityManager.flush();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should recategorize only the user's matching expenses and evict only their months")
+    void updateExpenses_ByFilter() {
+        YearMonth now = YearMonth.now();
+        YearMonth lastYear = now.minusYears(1);
+        Cache monthly = cacheManager.getCache(Constants.Cache.ANALYTICS_MONTHLY);
+        monthly.put(key(now, user.getId()), "cached");
+        monthly.put(key(lastYear, user.getId()), "cached");
+        monthly.put(key(now, otherUsersCard.getUser().getId()), "cached");
+
+        ExpenseFilterRequest filter = ExpenseFilterRequest.builder()
+                .paymentMethods(List.of(Expense.PaymentMethod.CARD))
+                .build();
+        BulkExpenseUpdateRequest request = BulkExpenseUpdateRequest.builder()
+                .categoryId(travel.getId())
+                .paymentMethod(Expense.PaymentMethod.UPI)
+                .build();
+
+        assertEquals(2, expenseBulkService.updateExpenses(filter, request).getAffected());
+
+        entityManager.clear();
+        assertEquals(travel.getId(), reload(cardNow).getCategory().getId());
+        assertEquals(Expense.PaymentMethod.UPI, reload(cardLastYear).getPaymentMethod());
+        assertEquals(food.getId(), reload(cashNow).getCategory().getId());
+        assertEquals(Expense.PaymentMethod.CARD, reload(otherUsersCard).getPaymentMethod());
+
+        assertNull(monthly.get(key(now, user.getId())));
+        assertNull(monthly.get(key(lastYear, user.getId())));
+        assertNotNull(monthly.get(key(now, otherUsersCard.getUser().getId())));
+        verify(budgetAlertService).checkBudgetThreshold(travel.getId());
+    }
+
+    @Test
+    @DisplayName("Should soft-delete matching expenses and reject empty filters or updates")
+    void deleteExpenses_ByFilter() {
+        ExpenseFilterRequest filter = ExpenseFilterRequest.builder()
+                .startDate(LocalDate.now().withDayOfMonth(1))
+                .build();
+
+        assertEquals(2, expenseBulkService.deleteExpenses(filter).getAffected());
+        assertEquals(0, expenseBulkService.deleteExpenses(filter).getAffected());
+
+        entityManager.clear();
+        assertTrue(reload(cardNow).getIsDeleted());
+        assertTrue(reload(cashNow).getIsDeleted());
+        assertFalse(reload(cardLastYear).getIsDeleted());
+        assertFalse(reload(otherUsersCard).getIsDeleted());
+
+        IllegalArgumentException noFilter = assertThrows(IllegalArgumentException.class,
+                () -> expenseBulkService.deleteExpenses(new ExpenseFilterRequest()));
+        assertEquals(Constants.ErrorMessages.BULK_FILTER_REQUIRED, noFilter.getMessage());
+        IllegalArgumentException noFields = assertThrows(IllegalArgumentException.class,
+                () -> expenseBulkService.updateExpenses(filter, new BulkExpenseUpdateRequest()));
+        assertEquals(Constants.ErrorMessages.BULK_UPDATE_EMPTY, noFields.getMessage());
+    }
+
+    private User user(String email) {
+        User created = User.builder()
+                .email(email)
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(created);
+        return created;
+    }
+
+    private Category category(User owner, String name) {
+        Category category = Category.builder().user(owner).name(name).build();
+        entityManager.persist(category);
+        return category;
+    }
+
+    private Expense expense(User owner, Category category, Expense.PaymentMethod paymentMethod, LocalDate date) {
+        Expense expense = Expense.builder()
+                .user(owner)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Bulk")
+                .expenseDate(date)
+                .paymentMethod(paymentMethod)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(expense);
+        return expense;
+    }
+
+    private Expense reload(Expense expense) {
+        return entityManager.find(Expense.class, expense.getId());
+    }
+
+    private static String key(YearMonth month, UUID userId) {
+        return month.getMonthValue() + "-" + month.getYear() + "-" + userId;
+    }
+}
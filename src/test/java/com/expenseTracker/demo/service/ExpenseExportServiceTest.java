@@ -0,0 +1,126 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.request.ExportFormat;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpenseExportServiceTest {
+
+    private static final int EXPORT_ROWS = 3_500;
+
+    @Autowired
+    private ExpenseExportService expenseExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("export@example.com")
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+        food = Category.builder().user(user).name("Food").build();
+        entityManager.persist(food);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should export filtered expenses as CSV and NDJSON, newest first")
+    void export_CsvAndNdjson() throws IOException {
+        persistExpense("Coffee, \"large\"", new BigDecimal("4.50"), LocalDate.now().minusDays(1), "two\nlines");
+        persistExpense("Groceries", new BigDecimal("80.00"), LocalDate.now(), null);
+        persistExpense("Old coffee", new BigDecimal("3.00"), LocalDate.now().minusYears(2), null);
+        entityManager.flush();
+
+        ExpenseFilterRequest filter = ExpenseFilterRequest.builder()
+                .startDate(LocalDate.now().minusMonths(1))
+                .build();
+
+        String csv = export(filter, ExportFormat.CSV);
+        String[] lines = csv.split("\r\n");
+        assertEquals("id,date,amount,description,category,paymentMethod,notes,createdAt", lines[0]);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].contains(LocalDate.now() + ",80.00,Groceries,Food,CARD,,"));
+        assertTrue(lines[2].contains(",4.50,\"Coffee, \"\"large\"\"\",Food,CARD,\"two\nlines\","));
+
+        String ndjson = export(filter, ExportFormat.NDJSON);
+        String[] records = ndjson.split("\n");
+        assertEquals(2, records.length);
+        assertTrue(records[0].startsWith("{") && records[0].contains("\"description\":\"Groceries\""));
+        assertTrue(records[1].contains("\"notes\":\"two\\nlines\""));
+    }
+
+    @Test
+    @DisplayName("Should export every row exactly once, newest first, across several fetch batches")
+    void export_SpansFetchBatches() throws IOException {
+        // Several times exports.fetch-size; flat heap on a real cursor is ExpenseExportRepositoryPostgresTest
+        jdbcTemplate.update("INSERT INTO expenses (id, created_at, updated_at, user_id, category_id, amount," +
+                " description, expense_date, payment_method, notes, is_deleted)" +
+                " SELECT RANDOM_UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, MOD(X, 10000) / 100.0 + 1," +
+                " CONCAT('Expense number ', X), DATEADD('DAY', -X, CURRENT_DATE), 'CARD', NULL, FALSE" +
+                " FROM SYSTEM_RANGE(1, ?)", user.getId(), food.getId(), EXPORT_ROWS);
+
+        String[] lines = export(new ExpenseFilterRequest(), ExportFormat.CSV).split("\r\n");
+
+        assertEquals(EXPORT_ROWS + 1, lines.length);
+        for (int row = 1; row <= EXPORT_ROWS; row++) {
+            assertTrue(lines[row].contains("," + LocalDate.now().minusDays(row) + ","), lines[row]);
+            assertTrue(lines[row].contains(",Expense number " + row + ","), lines[row]);
+        }
+        assertEquals(EXPORT_ROWS, Arrays.stream(lines).skip(1)
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .distinct()
+                .count());
+    }
+
+    private void persistExpense(String description, BigDecimal amount, LocalDate date, String notes) {
+        entityManager.persist(Expense.builder()
+                .user(user)
+                .category(food)
+                .amount(amount)
+                .description(description)
+                .expenseDate(date)
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .notes(notes)
+                .isDeleted(false)
+                .build());
+    }
+
+    private String export(ExpenseFilterRequest filter, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        expenseExportService.export(user.getId(), filter, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
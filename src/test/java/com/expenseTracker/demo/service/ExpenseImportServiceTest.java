@@ -0,0 +1,208 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseImportProfile;
+import com.expenseTracker.demo.dto.response.ExpenseImportResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.support.TestAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "imports.batch-size=2")
+@ActiveProfiles("test")
+class ExpenseImportServiceTest {
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private BudgetAlertService budgetAlertService;
+
+    private TestAccount account;
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccount.create(context, "import").authenticate();
+        user = account.user();
+        food = account.food();
+    }
+
+    @AfterEach
+    void tearDown() {
+        account.delete();
+    }
+
+    @Test
+    @DisplayName("Should import a CSV with the default profile and report invalid rows by line")
+    void startImport_DefaultProfile() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        String csv = "\uFEFFdate,amount,description,category,paymentMethod,notes\r\n"
+                + today + ",12.50,Lunch,food,card,\r\n"
+                + today + ",\"1,200.00\",\"Rent, \"\"March\"\"\",Housing,NET BANKING,\"line one\nline two\"\r\n"
+                + "not-a-date,5.00,Broken,Food,CASH,\r\n"
+                + "\r\n"
+                + today + ",0,Free,Food,CASH,\r\n"
+                + today + ",3.20,Bus,,,";
+
+        ExpenseImportResponse result = runImport(ExpenseImportProfile.builder().build(), csv);
+
+        assertEquals(ExpenseImportResponse.Status.COMPLETED, result.getStatus());
+        assertEquals(5, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertEquals(100, result.getPercentComplete());
+        // Unknown "Housing" and the empty category fall back to the default category, created once
+        assertEquals(1, result.getCategoriesCreated());
+        assertEquals(List.of(
+                        new ExpenseImportResponse.RowError(5, "Invalid date 'not-a-date'"),
+                        new ExpenseImportResponse.RowError(7, "Amount must be greater than 0")),
+                result.getErrors());
+
+        Map<String, Object> rent = jdbcTemplate.queryForMap(
+                "SELECT e.amount, e.description, e.payment_method, e.notes, c.name AS category FROM expenses e" +
+                " JOIN categories c ON c.id = e.category_id WHERE e.user_id = ? AND e.amount > 1000", user.getId());
+        assertEquals(0, new BigDecimal("1200.00").compareTo((BigDecimal) rent.get("amount")));
+        assertEquals("Rent, \"March\"", rent.get("description"));
+        assertEquals(Expense.PaymentMethod.NET_BANKING.name(), rent.get("payment_method"));
+        assertEquals("line one\nline two", rent.get("notes"));
+        assertEquals("Other", rent.get("category"));
+
+        // One budget check per current-month category, after the import
+        verify(budgetAlertService).checkBudgetThreshold(food.getId());
+        verify(budgetAlertService, times(2)).checkBudgetThreshold(any());
+    }
+
+    @Test
+    @DisplayName("Should map a bank statement layout, skip credits and create named categories")
+    void startImport_BankStatementProfile() throws InterruptedException {
+        String csv = "Booking date;Text;Amount;Type\n"
+                + "03/01/2024;Grocery store;-45.10;Groceries\n"
+                + "04/01/2024;Salary;2500.00;Income\n"
+                + "05/01/2024;Cinema;(12.00);Entertainment\n"
+                + "06/01/2024;Supermarket;-8.90;groceries\n";
+
+        ExpenseImportProfile profile = ExpenseImportProfile.builder()
+                .delimiter(";")
+                .dateColumn("Booking date")
+                .dateFormat("dd/MM/yyyy")
+                .amountColumn("amount")
+                .descriptionColumn("Text")
+                .categoryColumn("Type")
+                .paymentMethodColumn(null)
+                .notesColumn(null)
+                .negateAmounts(true)
+                .createCategories(true)
+                .defaultPaymentMethod(Expense.PaymentMethod.CARD)
+                .build();
+
+        ExpenseImportResponse result = runImport(profile, csv);
+
+        assertEquals(ExpenseImportResponse.Status.COMPLETED, result.getStatus());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getSkipped());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(2, result.getCategoriesCreated());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT e.id, e.amount, e.expense_date, e.payment_method, c.id AS category_id, c.name AS category FROM expenses e" +
+                " JOIN categories c ON c.id = e.category_id WHERE e.user_id = ? ORDER BY e.expense_date", user.getId());
+        assertEquals(List.of("Groceries", "Entertainment", "Groceries"),
+                rows.stream().map(row -> row.get("category")).toList());
+        assertEquals(0, new BigDecimal("45.10").compareTo((BigDecimal) rows.get(0).get("amount")));
+        assertEquals(0, new BigDecimal("12.00").compareTo((BigDecimal) rows.get(1).get("amount")));
+        assertEquals("CARD", rows.get(2).get("payment_method"));
+        // Batch-inserted rows and Hibernate-created categories both get time-ordered v7 ids
+        List<UUID> ids = rows.stream().map(row -> (UUID) row.get("id")).toList();
+        assertTrue(ids.stream().allMatch(id -> id.version() == 7));
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(7, ((UUID) rows.get(0).get("category_id")).version());
+        verifyNoInteractions(budgetAlertService);
+    }
+
+    @Test
+    @DisplayName("Should fail the whole import when a required column is missing")
+    void startImport_MissingColumn() throws InterruptedException {
+        ExpenseImportResponse result = runImport(ExpenseImportProfile.builder().build(),
+                "when,amount\n2024-01-01,5.00\n");
+
+        assertEquals(ExpenseImportResponse.Status.FAILED, result.getStatus());
+        assertEquals("Column 'date' not found in the file", result.getFailureReason());
+        assertEquals(0, result.getImported());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM expenses WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep the batches committed before a failure and run the end-of-import work once")
+    void startImport_FailureKeepsCommittedBatches() throws InterruptedException {
+        String today = LocalDate.now().toString();
+        String csv = "date,amount,category\n"
+                + today + ",1.00,Food\n" + today + ",2.00,Food\n"
+                + today + ",3.00,Food\n" + today + ",4.00,Food\n"
+                + today + ",5.00,Food\n"
+                + today + ",\"6.00,Food\n";
+
+        ExpenseImportResponse result = runImport(ExpenseImportProfile.builder().build(), csv);
+
+        assertEquals(ExpenseImportResponse.Status.FAILED, result.getStatus());
+        assertTrue(result.getFailureReason().contains("Unterminated quoted field"), result.getFailureReason());
+        // Two full batches of imports.batch-size=2 committed; the fifth row was still pending
+        assertEquals(4, result.getImported());
+        assertEquals(List.of("1.00", "2.00", "3.00", "4.00"), jdbcTemplate.queryForList(
+                "SELECT amount FROM expenses WHERE user_id = ? ORDER BY amount", BigDecimal.class, user.getId())
+                .stream().map(BigDecimal::toPlainString).toList());
+        verify(budgetAlertService, times(1)).checkBudgetThreshold(food.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty upload")
+    void startImport_EmptyFile() {
+        assertThrows(IllegalArgumentException.class, () -> expenseImportService.startImport(
+                ExpenseImportProfile.builder().build(), 0, new ByteArrayInputStream(new byte[0])));
+    }
+
+    private ExpenseImportResponse runImport(ExpenseImportProfile profile, String csv) throws InterruptedException {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        ExpenseImportResponse started = expenseImportService.startImport(
+                profile, bytes.length, new ByteArrayInputStream(bytes));
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ExpenseImportResponse progress = expenseImportService.getImport(started.getId());
+            if (progress.getStatus() == ExpenseImportResponse.Status.COMPLETED
+                    || progress.getStatus() == ExpenseImportResponse.Status.FAILED) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import did not finish");
+    }
+}
@@ -0,0 +1,137 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partition maintenance against the partitioned {@code expenses} table created by the
+ * migrations, which H2 cannot run. The migrations leave partitions for this year and the next,
+ * so a backdated expense lands in the default partition.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class ExpensePartitionServicePostgresTest {
+
+    private static final int YEARS_AHEAD = 2;
+    private static final int RETENTION_YEARS = 3;
+
+    private PostgresTestDatabase database;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transactionTemplate;
+    private ExpensePartitionService service;
+    private UUID userId;
+    private int currentYear;
+    private int backdatedYear;
+
+    @BeforeEach
+    void setUp() {
+        database = PostgresTestDatabase.create().migrate();
+        jdbc = new JdbcTemplate(database.dataSource());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database.dataSource()));
+        service = new ExpensePartitionService(jdbc);
+        ReflectionTestUtils.setField(service, "yearsAhead", YEARS_AHEAD);
+        userId = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, created_at, email, password_hash, role, is_active)" +
+                " VALUES (?, now(), 'partitions@example.com', 'hash', 'USER', true)", userId);
+        currentYear = Year.now().getValue();
+        backdatedYear = currentYear - RETENTION_YEARS - 2;
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Should move backdated rows out of the default partition and keep them searchable")
+    void createMissingPartitions_MovesBackdatedRows() {
+        UUID id = expense(LocalDate.of(backdatedYear, 6, 15), "Airport taxi", "late flight");
+        assertEquals(1, count("expenses_default"));
+
+        List<String> created = create();
+
+        assertEquals(List.of("expenses_y" + backdatedYear, "expenses_y" + (currentYear + YEARS_AHEAD)), created);
+        assertEquals(0, count("expenses_default"));
+        assertEquals(1, count("expenses_y" + backdatedYear));
+        assertEquals("Airport taxi", jdbc.queryForObject(
+                "SELECT description FROM expenses WHERE id = ?", String.class, id));
+        // The generated column is recomputed on the copied row
+        assertEquals(id, jdbc.queryForObject("SELECT id FROM expenses WHERE user_id = ? AND is_deleted = false" +
+                " AND search_vector @@ websearch_to_tsquery('english', 'taxi flight')", UUID.class, userId));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when every partition already exists")
+    void createMissingPartitions_Idempotent() {
+        expense(LocalDate.of(backdatedYear, 1, 1), "New year's taxi", null);
+        List<String> partitions = partitions();
+
+        assertEquals(2, create().size());
+        List<String> afterFirst = partitions();
+        assertTrue(create().isEmpty());
+
+        assertEquals(partitions.size() + 2, afterFirst.size());
+        assertEquals(afterFirst, partitions());
+        assertEquals(1, count("expenses"));
+    }
+
+    @Test
+    @DisplayName("Should detach partitions older than the retention once it is set")
+    void detachExpiredPartitions_DetachesOldYears() {
+        UUID old = expense(LocalDate.of(backdatedYear, 3, 1), "Old receipt", null);
+        UUID recent = expense(LocalDate.of(currentYear, 1, 2), "Recent receipt", null);
+        create();
+
+        assertTrue(detach().isEmpty(), "Retention is off by default");
+        assertTrue(partitions().contains("expenses_y" + backdatedYear));
+
+        ReflectionTestUtils.setField(service, "retentionYears", RETENTION_YEARS);
+        assertEquals(List.of("expenses_archive_y" + backdatedYear), detach());
+
+        assertFalse(partitions().contains("expenses_y" + backdatedYear));
+        assertTrue(partitions().contains("expenses_y" + currentYear));
+        assertEquals(List.of(recent), jdbc.queryForList("SELECT id FROM expenses", UUID.class));
+        assertEquals(List.of(old), jdbc.queryForList(
+                "SELECT id FROM expenses_archive_y" + backdatedYear, UUID.class));
+        assertTrue(detach().isEmpty());
+    }
+
+    private List<String> create() {
+        return transactionTemplate.execute(status -> service.createMissingPartitions());
+    }
+
+    private List<String> detach() {
+        return transactionTemplate.execute(status -> service.detachExpiredPartitions());
+    }
+
+    private List<String> partitions() {
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid" +
+                " WHERE i.inhparent = 'expenses'::regclass ORDER BY c.relname", String.class);
+    }
+
+    private int count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private UUID expense(LocalDate date, String description, String notes) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO expenses (id, created_at, updated_at, user_id, amount, description, notes," +
+                        " expense_date, is_deleted) VALUES (?, now(), now(), ?, 10.00, ?, ?, ?, false)",
+                id, userId, description, notes, date);
+        return id;
+    }
+}
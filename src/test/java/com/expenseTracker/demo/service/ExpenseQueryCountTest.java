@@ -0,0 +1,191 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
+import com.expenseTracker.demo.dto.response.CursorPageResponse;
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the read paths against N+1 regressions: a page must cost one SELECT (plus one COUNT
+ * when totals are requested) no matter how many rows or distinct categories it contains.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ExpenseQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Expense firstExpense;
+    private final List<UUID> categoryIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .email("query-count@example.com")
+                .passwordHash("hash")
+                .fullName("Query Count")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Category category = Category.builder().user(user).name("Category " + i).colorCode("#00000" + i).build();
+            entityManager.persist(category);
+            categories.add(category);
+            categoryIds.add(category.getId());
+        }
+
+        for (int i = 0; i < 50; i++) {
+            Expense expense = Expense.builder()
+                    .user(user)
+                    .category(categories.get(i % categories.size()))
+                    .amount(BigDecimal.valueOf(10 + i))
+                    .description(i % 10 == 0 ? "Coffee 100% arabica " + i : "Expense " + i)
+                    .expenseDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .paymentMethod(i % 2 == 0 ? Expense.PaymentMethod.CARD : Expense.PaymentMethod.UPI)
+                    .isDeleted(false)
+                    .build();
+            entityManager.persist(expense);
+            if (firstExpense == null) {
+                firstExpense = expense;
+            }
+        }
+
+        // Start from an empty persistence context so lazy categories would have to be loaded
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Listing a page with totals runs one select and one count")
+    void getAllExpenses_WithCount() {
+        Slice<ExpenseResponse> page = expenseService.getAllExpenses(0, PAGE_SIZE, "expenseDate", "DESC", true);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertNotNull(page.getContent().get(0).getCategoryName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Listing a page without totals runs a single select")
+    void getAllExpenses_WithoutCount() {
+        expenseService.getAllExpenses(1, PAGE_SIZE, "amount", "ASC", false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Filtered listing runs one select and one count")
+    void getExpensesWithFilters() {
+        ExpenseFilterRequest filter = ExpenseFilterRequest.builder()
+                .startDate(LocalDate.of(2025, 1, 1))
+                .minAmount(BigDecimal.ONE)
+                .build();
+        Slice<ExpenseResponse> page = expenseService.getExpensesWithFilters(
+                filter, 0, PAGE_SIZE, "expenseDate", "DESC", true);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Keyset scrolling runs a single select per page")
+    void scrollExpenses() {
+        ExpenseFilterRequest filter = new ExpenseFilterRequest();
+        CursorPageResponse<ExpenseResponse> first = expenseService.scrollExpenses(
+                filter, null, PAGE_SIZE, "expenseDate", "DESC", false);
+        CursorPageResponse<ExpenseResponse> second = expenseService.scrollExpenses(
+                filter, first.getNextCursor(), PAGE_SIZE, "expenseDate", "DESC", false);
+
+        assertEquals(PAGE_SIZE, second.getContent().size());
+        assertNotNull(second.getContent().get(PAGE_SIZE - 1).getCategoryColor());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Category, payment method and description filters combine in one select")
+    void getExpensesWithFilters_NewFilters() {
+        ExpenseFilterRequest filter = ExpenseFilterRequest.builder()
+                .categoryIds(List.of(categoryIds.get(0), categoryIds.get(1)))
+                .paymentMethods(List.of(Expense.PaymentMethod.CARD))
+                .build();
+        Slice<ExpenseResponse> page = expenseService.getExpensesWithFilters(
+                filter, 0, PAGE_SIZE, "expenseDate", "DESC", false);
+
+        // Categories 0 and 1 are every 5th row offset 0 or 1; CARD is every even row
+        assertEquals(10, page.getNumberOfElements());
+        assertTrue(page.getContent().stream().allMatch(e -> "CARD".equals(e.getPaymentMethod())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        ExpenseFilterRequest text = ExpenseFilterRequest.builder().description("  100% ARABICA ").build();
+        assertEquals(5, expenseService.getExpensesWithFilters(
+                text, 0, PAGE_SIZE, "expenseDate", "DESC", false).getNumberOfElements());
+
+        ExpenseFilterRequest wildcard = ExpenseFilterRequest.builder().description("%").build();
+        assertEquals(5, expenseService.getExpensesWithFilters(
+                wildcard, 0, PAGE_SIZE, "expenseDate", "DESC", false).getNumberOfElements());
+    }
+
+    @Test
+    @DisplayName("Single lookup runs a single select")
+    void getExpenseById() {
+        ExpenseResponse response = expenseService.getExpenseById(firstExpense.getId());
+
+        assertEquals("Category 0", response.getCategoryName());
+        assertEquals("CARD", response.getPaymentMethod());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
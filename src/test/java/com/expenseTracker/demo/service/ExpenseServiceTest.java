@@ -1,5 +1,6 @@
 package com.expenseTracker.demo.service;
 
+import com.expenseTracker.demo.dto.request.ExpenseFilterRequest;
 import com.expenseTracker.demo.dto.request.ExpenseRequest;
 import com.expenseTracker.demo.dto.response.ExpenseResponse;
 import com.expenseTracker.demo.entity.Category;
@@ -40,6 +41,12 @@ class ExpenseServiceTest {
     @Mock
     private BudgetAlertService budgetAlertService;
 
+    @Mock
+    private DescriptionSuggestionService descriptionSuggestionService;
+
+    @Mock
+    private AnalyticsCacheEvictor analyticsCacheEvictor;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -118,8 +125,8 @@ class ExpenseServiceTest {
     @Test
     @DisplayName("Should get expense by ID successfully")
     void getExpenseById_Success() {
-        when(expenseRepository.findByIdAndUserAndIsDeletedFalse(any(UUID.class), any(User.class)))
-                .thenReturn(Optional.of(expense));
+        when(expenseRepository.findResponseByIdAndUser(any(UUID.class), any(User.class)))
+                .thenReturn(Optional.of(ExpenseResponse.from(expense)));
 
         ExpenseResponse response = expenseService.getExpenseById(expense.getId());
 
@@ -138,4 +145,14 @@ class ExpenseServiceTest {
         verify(expenseRepository).save(expense);
         assertTrue(expense.getIsDeleted());
     }
+
+    @Test
+    @DisplayName("Should reject a search query without any word before querying")
+    void searchExpenses_EmptyOrBlankQuery() {
+        for (String query : new String[]{null, "", "   ", "?! -- ..."}) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> expenseService.searchExpenses(query, new ExpenseFilterRequest(), 0, 20, true));
+            assertEquals(Constants.ErrorMessages.INVALID_SEARCH_QUERY, exception.getMessage());
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.ReceiptResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.support.TestAccount;
+import com.expenseTracker.demo.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "file.upload-dir=./target/file-storage-test-uploads")
+@ActiveProfiles("test")
+class FileStorageServiceTest {
+
+    private static final Path UPLOAD_DIR = Paths.get("./target/file-storage-test-uploads");
+    private static final byte[] PDF = "%PDF-1.7\nreceipt body\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @MockitoSpyBean
+    private ReceiptStorage receiptStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccount account;
+    private User user;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+        account = TestAccount.create(context, "file-storage");
+        user = account.user();
+        Category category = account.food();
+        expense = expenseRepository.save(Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Lunch")
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(false)
+                .build());
+
+        account.authenticate();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        account.delete();
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+    }
+
+    @Test
+    @DisplayName("Should store the file outside the receipt transaction and record it under its key")
+    void uploadReceipt_StoresBeforeTransaction() throws IOException {
+        AtomicBoolean storedInTransaction = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            storedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(receiptStorage).store(anyString(), any(Path.class), anyString());
+
+        ReceiptResponse receipt = fileStorageService.uploadReceipt(expense.getId(), pdf());
+
+        assertFalse(storedInTransaction.get(), "The file must be stored before the receipt transaction starts");
+        String key = storedKey();
+        assertEquals(user.getId() + "/" + expense.getId() + "/" + receipt.getFileName(), key);
+        assertEquals(key, jdbcTemplate.queryForObject(
+                "SELECT file_path FROM receipts WHERE expense_id = ?", String.class, expense.getId()));
+        assertArrayEquals(PDF, receiptStorage.load(key).getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should delete the stored file when another upload recorded a receipt first")
+    void uploadReceipt_ReceiptRecordedMeanwhile_DeletesStoredFile() {
+        // A concurrent upload for the same expense commits while this file is being stored
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            jdbcTemplate.update("INSERT INTO receipts (id, expense_id, file_name, file_path, file_size, file_type," +
+                            " uploaded_at, created_at, updated_at) VALUES (?, ?, 'other.pdf', 'other', 1," +
+                            " 'application/pdf', ?, ?, ?)",
+                    UUID.randomUUID(), expense.getId(), LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now());
+            return null;
+        }).when(receiptStorage).store(anyString(), any(Path.class), anyString());
+
+        IllegalArgumentException exists = assertThrows(IllegalArgumentException.class,
+                () -> fileStorageService.uploadReceipt(expense.getId(), pdf()));
+
+        assertEquals(Constants.ErrorMessages.RECEIPT_ALREADY_EXISTS, exists.getMessage());
+        assertNull(storedKey());
+        assertEquals("other", jdbcTemplate.queryForObject(
+                "SELECT file_path FROM receipts WHERE expense_id = ?", String.class, expense.getId()));
+    }
+
+    private static MockMultipartFile pdf() {
+        return new MockMultipartFile("file", "receipt.pdf", "application/pdf", PDF);
+    }
+
+    /** The one receipt file stored for the expense, or null if there is none. */
+    private String storedKey() {
+        Path expenseDir = UPLOAD_DIR.resolve(user.getId().toString()).resolve(expense.getId().toString());
+        if (!Files.isDirectory(expenseDir)) {
+            return null;
+        }
+        try (var files = Files.list(expenseDir)) {
+            List<String> keys = files.map(file -> UPLOAD_DIR.relativize(file).toString()).toList();
+            assertTrue(keys.size() <= 1, "Stored files: " + keys);
+            return keys.isEmpty() ? null : keys.getFirst();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.Receipt;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.ReceiptRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.support.TestAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "file.upload-dir=./target/backfill-test-uploads")
+@ActiveProfiles("test")
+class ReceiptBackfillServiceTest {
+
+    private static final Path UPLOAD_DIR = Paths.get("./target/backfill-test-uploads");
+    // The upload dir of the host the receipts were saved on, as recorded in their file_path
+    private static final Path LEGACY_DIR = Paths.get("./target/backfill-test-legacy/uploads");
+
+    @Autowired
+    private ReceiptBackfillService receiptBackfillService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private ReceiptStorage receiptStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccount account;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+        FileSystemUtils.deleteRecursively(LEGACY_DIR.getParent());
+        account = TestAccount.create(context, "backfill");
+        user = account.user();
+        category = account.food();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        account.delete();
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+        FileSystemUtils.deleteRecursively(LEGACY_DIR.getParent());
+    }
+
+    @Test
+    @DisplayName("Should copy legacy receipts into storage and rewrite their paths to storage keys")
+    void backfillLegacyReceipts() throws IOException {
+        // Saved before the storage backends, file still on this host
+        Expense copied = expense();
+        String copiedPath = legacyFile(copied, "old.pdf");
+        Receipt copiedReceipt = receipt(copied, "old.pdf", copiedPath);
+
+        // Already synced into storage; the local file is gone
+        Expense synced = expense();
+        String syncedKey = key(synced, "synced.pdf");
+        storeFile(syncedKey);
+        Receipt syncedReceipt = receipt(synced, "synced.pdf", LEGACY_DIR.resolve(syncedKey).toString());
+
+        Expense lost = expense();
+        String lostPath = LEGACY_DIR.resolve(key(lost, "lost.pdf")).toString();
+        Receipt lostReceipt = receipt(lost, "lost.pdf", lostPath);
+
+        Expense current = expense();
+        String currentKey = key(current, "new.pdf");
+        storeFile(currentKey);
+        Receipt currentReceipt = receipt(current, "new.pdf", currentKey);
+
+        assertEquals(2, receiptBackfillService.backfillLegacyReceipts());
+
+        String copiedKey = key(copied, "old.pdf");
+        assertEquals(copiedKey, filePath(copiedReceipt));
+        assertEquals("pdf", Files.readString(UPLOAD_DIR.resolve(copiedKey)));
+        assertTrue(Files.exists(Paths.get(copiedPath)), "The local original is kept");
+        assertEquals(syncedKey, filePath(syncedReceipt));
+        assertEquals(lostPath, filePath(lostReceipt));
+        assertEquals(currentKey, filePath(currentReceipt));
+
+        assertEquals(0, receiptBackfillService.backfillLegacyReceipts());
+    }
+
+    private Expense expense() {
+        return expenseRepository.save(Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Lunch")
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(false)
+                .build());
+    }
+
+    private Receipt receipt(Expense expense, String fileName, String filePath) {
+        return receiptRepository.save(Receipt.builder()
+                .expense(expense)
+                .fileName(fileName)
+                .filePath(filePath)
+                .fileSize(3L)
+                .fileType("application/pdf")
+                .uploadedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String key(Expense expense, String fileName) {
+        return user.getId() + "/" + expense.getId() + "/" + fileName;
+    }
+
+    private String legacyFile(Expense expense, String fileName) throws IOException {
+        Path file = LEGACY_DIR.resolve(key(expense, fileName));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "pdf");
+        return file.toString();
+    }
+
+    private void storeFile(String key) throws IOException {
+        Path source = Files.createTempFile("backfill", ".tmp");
+        Files.writeString(source, "pdf");
+        receiptStorage.store(key, source, "application/pdf");
+    }
+
+    private String filePath(Receipt receipt) {
+        return jdbcTemplate.queryForObject("SELECT file_path FROM receipts WHERE id = ?", String.class, receipt.getId());
+    }
+}
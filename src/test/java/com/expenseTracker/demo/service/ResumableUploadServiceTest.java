@@ -0,0 +1,233 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.UploadSessionRequest;
+import com.expenseTracker.demo.dto.response.ReceiptResponse;
+import com.expenseTracker.demo.dto.response.UploadSessionResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import com.expenseTracker.demo.repository.ExpenseRepository;
+import com.expenseTracker.demo.repository.UploadSessionRepository;
+import com.expenseTracker.demo.storage.ReceiptStorage;
+import com.expenseTracker.demo.support.TestAccount;
+import com.expenseTracker.demo.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "file.upload-dir=./target/resumable-upload-test-uploads")
+@ActiveProfiles("test")
+class ResumableUploadServiceTest {
+
+    private static final Path UPLOAD_DIR = Paths.get("./target/resumable-upload-test-uploads");
+    private static final byte[] PDF = "%PDF-1.7\nresumable receipt body\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @MockitoSpyBean
+    private ReceiptStorage receiptStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccount account;
+    private User user;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+        account = TestAccount.create(context, "resumable");
+        user = account.user();
+        Category category = account.food();
+        expense = expenseRepository.save(Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description("Lunch")
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(false)
+                .build());
+
+        account.authenticate();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        account.delete();
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+    }
+
+    @Test
+    @DisplayName("Should reject a chunk whose offset is not the number of bytes received")
+    void appendChunk_OffsetMismatch() {
+        UploadSessionResponse session = createSession("application/pdf", PDF.length);
+        append(session, 0, 0, 10);
+
+        IllegalArgumentException behind = assertThrows(IllegalArgumentException.class, () -> append(session, 0, 0, 10));
+        assertTrue(behind.getMessage().contains("does not match expected offset 10"));
+        assertThrows(IllegalArgumentException.class, () -> append(session, 20, 20, 10));
+
+        assertEquals(10, resumableUploadService.getSession(expense.getId(), session.getId()).getBytesReceived());
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted upload from the reported offset and store the whole file")
+    void appendChunk_ResumeAfterPartialUpload() throws IOException {
+        UploadSessionResponse session = createSession("application/pdf", PDF.length);
+        append(session, 0, 0, 12);
+
+        // The client lost the connection; it asks for the offset and sends the rest
+        long offset = resumableUploadService.getSession(expense.getId(), session.getId()).getBytesReceived();
+        assertEquals(12, offset);
+        UploadSessionResponse resumed = append(session, offset, (int) offset, PDF.length - (int) offset);
+        assertEquals(PDF.length, resumed.getBytesReceived());
+
+        AtomicBoolean storedInTransaction = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            storedInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(receiptStorage).store(anyString(), any(Path.class), anyString());
+
+        ReceiptResponse receipt = resumableUploadService.completeSession(expense.getId(), session.getId());
+
+        assertFalse(storedInTransaction.get(), "The file must be stored before the receipt transaction starts");
+        String key = storedKey();
+        assertEquals(user.getId() + "/" + expense.getId() + "/" + receipt.getFileName(), key);
+        assertArrayEquals(PDF, receiptStorage.load(key).getContentAsByteArray());
+        assertFalse(uploadSessionRepository.existsById(session.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> resumableUploadService.completeSession(expense.getId(), session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not finalize an incomplete upload or one whose content does not match its type")
+    void completeSession_VerifiesSizeAndSignature() {
+        UploadSessionResponse partial = createSession("application/pdf", PDF.length);
+        append(partial, 0, 0, 10);
+        IllegalArgumentException incomplete = assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.completeSession(expense.getId(), partial.getId()));
+        assertEquals(Constants.ErrorMessages.UPLOAD_INCOMPLETE, incomplete.getMessage());
+        resumableUploadService.cancelSession(expense.getId(), partial.getId());
+
+        // A PDF declared as PNG fails the signature check
+        UploadSessionResponse mislabelled = createSession("image/png", PDF.length);
+        append(mislabelled, 0, 0, PDF.length);
+        IllegalArgumentException mismatch = assertThrows(IllegalArgumentException.class,
+                () -> resumableUploadService.completeSession(expense.getId(), mislabelled.getId()));
+        assertEquals(Constants.ErrorMessages.FILE_CONTENT_MISMATCH, mismatch.getMessage());
+
+        assertNull(storedKey());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM receipts WHERE expense_id = ?", Integer.class, expense.getId()));
+        assertTrue(uploadSessionRepository.existsById(mislabelled.getId()), "A failed finalize keeps the session");
+    }
+
+    @Test
+    @DisplayName("Should delete the stored file when the receipt cannot be recorded")
+    void completeSession_SessionGoneAfterStore_DeletesStoredFile() {
+        UploadSessionResponse session = createSession("application/pdf", PDF.length);
+        append(session, 0, 0, PDF.length);
+
+        // A cancel or expiry wins the race while the file is being stored
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ?", session.getId());
+            return null;
+        }).when(receiptStorage).store(anyString(), any(Path.class), anyString());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> resumableUploadService.completeSession(expense.getId(), session.getId()));
+
+        assertNull(storedKey());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM receipts WHERE expense_id = ?", Integer.class, expense.getId()));
+    }
+
+    @Test
+    @DisplayName("Should discard expired sessions with their staged files and keep live ones")
+    void expireSessions_DiscardsExpiredSessions() {
+        UploadSessionResponse expired = createSession("application/pdf", PDF.length);
+        append(expired, 0, 0, 10);
+        UploadSessionResponse live = createSession("application/pdf", PDF.length);
+        Path stagedFile = Paths.get(jdbcTemplate.queryForObject(
+                "SELECT file_path FROM upload_sessions WHERE id = ?", String.class, expired.getId()));
+        jdbcTemplate.update("UPDATE upload_sessions SET expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), expired.getId());
+
+        assertEquals(1, resumableUploadService.expireSessions());
+
+        assertFalse(uploadSessionRepository.existsById(expired.getId()));
+        assertFalse(Files.exists(stagedFile));
+        assertThrows(ResourceNotFoundException.class, () -> append(expired, 10, 10, 10));
+        assertTrue(uploadSessionRepository.existsById(live.getId()));
+    }
+
+    private UploadSessionResponse createSession(String contentType, long totalSize) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFileName("receipt.pdf");
+        request.setContentType(contentType);
+        request.setTotalSize(totalSize);
+        return resumableUploadService.createSession(expense.getId(), request);
+    }
+
+    private UploadSessionResponse append(UploadSessionResponse session, long offset, int from, int length) {
+        byte[] chunk = Arrays.copyOfRange(PDF, from, from + length);
+        return resumableUploadService.appendChunk(
+                expense.getId(), session.getId(), offset, chunk.length, new ByteArrayInputStream(chunk));
+    }
+
+    /** The one receipt file stored for the expense, or null if there is none. */
+    private String storedKey() {
+        Path expenseDir = UPLOAD_DIR.resolve(user.getId().toString()).resolve(expense.getId().toString());
+        if (!Files.isDirectory(expenseDir)) {
+            return null;
+        }
+        try (var files = Files.list(expenseDir)) {
+            List<String> keys = files.map(file -> UPLOAD_DIR.relativize(file).toString()).toList();
+            assertTrue(keys.size() <= 1, "Stored files: " + keys);
+            return keys.isEmpty() ? null : keys.getFirst();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
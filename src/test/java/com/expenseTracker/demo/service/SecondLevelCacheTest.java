@@ -0,0 +1,102 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.request.CategoryRequest;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.security.UserDetailsServiceImpl;
+import com.expenseTracker.demo.support.TestAccount;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private TestAccount account;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccount.create(context, "l2");
+        user = account.user();
+        category = account.food();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        account.authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        account.delete();
+    }
+
+    @Test
+    @DisplayName("Should serve owned category lookups from the cache and see category updates and deletes")
+    void categoryLookups_CachedAndInvalidated() {
+        statistics.clear();
+        assertTrue(inTransaction(() -> categoryRepository.findByIdAndUser(category.getId(), user)).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        User stranger = User.builder().build();
+        stranger.setId(UUID.randomUUID());
+        assertTrue(inTransaction(() -> categoryRepository.findByIdAndUser(category.getId(), stranger)).isEmpty());
+
+        categoryService.updateCategory(category.getId(), new CategoryRequest("Groceries", null, null));
+        assertEquals("Groceries", inTransaction(() -> categoryRepository.findByIdAndUser(category.getId(), user))
+                .orElseThrow().getName());
+
+        categoryService.deleteCategory(category.getId());
+        assertTrue(inTransaction(() -> categoryRepository.findByIdAndUser(category.getId(), user)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should authenticate by email through the natural-id cache without querying users")
+    void loadUserByUsername_Cached() {
+        userDetailsService.loadUserByUsername(user.getEmail());
+
+        statistics.clear();
+        assertEquals(user.getId(), ((User) userDetailsService.loadUserByUsername(user.getEmail())).getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -0,0 +1,157 @@
+package com.expenseTracker.demo.service;
+
+import com.expenseTracker.demo.dto.response.ExpenseResponse;
+import com.expenseTracker.demo.dto.response.SyncResponse;
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.CategoryBudget;
+import com.expenseTracker.demo.entity.Expense;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.util.Constants;
+import com.expenseTracker.demo.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category food;
+    private Category travel;
+    private Expense lunch;
+    private Expense taxi;
+    private Expense coffee;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        User user = User.builder()
+                .email("sync@example.com")
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+        food = Category.builder().user(user).name("Food").build();
+        travel = Category.builder().user(user).name("Travel").build();
+        entityManager.persist(food);
+        entityManager.persist(travel);
+        entityManager.persist(CategoryBudget.builder().category(food).monthlyLimit(new BigDecimal("200.00")).build());
+
+        lunch = expense(user, food, "Lunch");
+        taxi = expense(user, food, "Taxi");
+        coffee = expense(user, food, "Coffee");
+        settle();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should page a full download, then return only changes and deletes since the cursor")
+    void sync_FullThenDelta() throws InterruptedException {
+        SyncResponse first = syncService.sync(null, 2);
+        assertTrue(first.isHasMore());
+        assertFalse(first.isResetRequired());
+        assertEquals(2, first.getExpenses().size());
+        assertEquals(2, first.getCategories().size());
+        assertEquals(1, first.getBudgets().size());
+        assertEquals("Food", first.getBudgets().get(0).getCategoryName());
+
+        SyncResponse second = syncService.sync(first.getNextCursor(), 2);
+        assertFalse(second.isHasMore());
+        assertEquals(1, second.getExpenses().size());
+        assertTrue(second.getCategories().isEmpty());
+        assertTrue(second.getBudgets().isEmpty());
+
+        SyncResponse unchanged = syncService.sync(second.getNextCursor(), 2);
+        assertTrue(unchanged.getExpenses().isEmpty());
+        assertTrue(unchanged.getDeleted().getExpenses().isEmpty());
+        assertTrue(unchanged.getDeleted().getCategories().isEmpty());
+
+        lunch.setAmount(new BigDecimal("15.00"));
+        taxi.setIsDeleted(true);
+        categoryService.deleteCategory(travel.getId());
+        settle();
+
+        SyncResponse delta = syncService.sync(unchanged.getNextCursor(), 2);
+        assertFalse(delta.isHasMore());
+        assertEquals(List.of(lunch.getId()), delta.getExpenses().stream().map(ExpenseResponse::getId).toList());
+        assertEquals(0, new BigDecimal("15.00").compareTo(delta.getExpenses().get(0).getAmount()));
+        assertEquals(List.of(taxi.getId()), delta.getDeleted().getExpenses());
+        assertEquals(List.of(travel.getId()), delta.getDeleted().getCategories());
+        assertTrue(delta.getCategories().isEmpty());
+
+        assertTrue(syncService.sync(delta.getNextCursor(), 2).getExpenses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should require a reset for cursors older than the delete retention and reject malformed ones")
+    void sync_ExpiredAndInvalidCursor() {
+        String[] parts = new String[9];
+        parts[0] = LocalDateTime.now().minusDays(60).toString();
+        for (int i = 1; i < parts.length; i += 2) {
+            parts[i] = LocalDateTime.now().toString();
+            parts[i + 1] = UUID.randomUUID().toString();
+        }
+
+        SyncResponse reset = syncService.sync(CursorCodec.encode(parts), 10);
+        assertTrue(reset.isResetRequired());
+        assertEquals(3, reset.getExpenses().size());
+        assertEquals(2, reset.getCategories().size());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> syncService.sync(CursorCodec.encode("not-a-date", "x", "y", "z", "a", "b", "c", "d", "e"), 10));
+        assertEquals(Constants.ErrorMessages.INVALID_CURSOR, exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync("garbage", 10));
+    }
+
+    private Expense expense(User user, Category category, String description) {
+        Expense expense = Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal("10.00"))
+                .description(description)
+                .expenseDate(LocalDate.now())
+                .paymentMethod(Expense.PaymentMethod.CARD)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(expense);
+        return expense;
+    }
+
+    // Sync reads through JDBC and only sees rows stamped strictly before it runs
+    private void settle() throws InterruptedException {
+        entityManager.flush();
+        Thread.sleep(5);
+    }
+}
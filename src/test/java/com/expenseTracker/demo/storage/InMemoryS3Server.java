@@ -0,0 +1,210 @@
+package com.expenseTracker.demo.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal in-process stand-in for an S3-compatible endpoint (path-style addressing).
+ * Supports the object, listing, multipart upload and ranged GET calls used by {@link S3ReceiptStorage}.
+ */
+class InMemoryS3Server implements AutoCloseable {
+
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    final AtomicInteger rangedGets = new AtomicInteger();
+    final AtomicInteger uploadedParts = new AtomicInteger();
+
+    InMemoryS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    byte[] object(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(1), StandardCharsets.UTF_8);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+
+            if ("POST".equals(method) && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new TreeMap<>());
+                sendXml(exchange, 200, "<InitiateMultipartUploadResult><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if ("PUT".equals(method) && query.containsKey("uploadId")) {
+                byte[] body = readBody(exchange);
+                uploads.get(query.get("uploadId")).put(Integer.parseInt(query.get("partNumber")), body);
+                uploadedParts.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"part-" + query.get("partNumber") + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+                Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+                ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                Matcher matcher = PART_NUMBER.matcher(new String(readBody(exchange), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    assembled.write(parts.get(Integer.parseInt(matcher.group(1))));
+                }
+                objects.put(path, assembled.toByteArray());
+                sendXml(exchange, 200, "<CompleteMultipartUploadResult><ETag>\"complete\"</ETag></CompleteMultipartUploadResult>");
+            } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                exchange.sendResponseHeaders(204, -1);
+            } else if ("PUT".equals(method)) {
+                objects.put(path, readBody(exchange));
+                exchange.getResponseHeaders().add("ETag", "\"single\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("DELETE".equals(method)) {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            } else if ("GET".equals(method) && query.containsKey("list-type")) {
+                sendListing(exchange, path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+            } else if ("HEAD".equals(method) || "GET".equals(method)) {
+                sendObject(exchange, path, "HEAD".equals(method));
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void sendObject(HttpExchange exchange, String path, boolean headOnly) throws IOException {
+        byte[] data = objects.get(path);
+        if (data == null) {
+            if (headOnly) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                sendXml(exchange, 404, "<Error><Code>NoSuchKey</Code><Message>Not found</Message></Error>");
+            }
+            return;
+        }
+
+        int start = 0;
+        int end = data.length - 1;
+        int status = 200;
+        List<String> range = exchange.getRequestHeaders().get("Range");
+        if (range != null) {
+            String[] bounds = range.get(0).substring("bytes=".length()).split("-");
+            start = Integer.parseInt(bounds[0]);
+            end = Math.min(Integer.parseInt(bounds[1]), end);
+            status = 206;
+            rangedGets.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + data.length);
+        }
+
+        exchange.getResponseHeaders().add("ETag", "\"etag-" + data.length + "\"");
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        if (headOnly) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(data.length));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        exchange.sendResponseHeaders(status, end - start + 1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(data, start, end - start + 1);
+        }
+    }
+
+    private void sendListing(HttpExchange exchange, String bucket) throws IOException {
+        StringBuilder xml = new StringBuilder("<ListBucketResult><Name>").append(bucket).append("</Name><IsTruncated>false</IsTruncated>");
+        objects.forEach((path, data) -> {
+            if (path.startsWith(bucket + "/")) {
+                xml.append("<Contents><Key>").append(path.substring(bucket.length() + 1)).append("</Key>")
+                        .append("<LastModified>").append(Instant.now()).append("</LastModified>")
+                        .append("<Size>").append(data.length).append("</Size></Contents>");
+            }
+        });
+        sendXml(exchange, 200, xml.append("</ListBucketResult>").toString());
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] raw = in.readAllBytes();
+            String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+            return sha != null && sha.startsWith("STREAMING-") ? decodeAwsChunked(raw) : raw;
+        }
+    }
+
+    private static byte[] decodeAwsChunked(byte[] raw) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int pos = 0;
+        while (pos < raw.length) {
+            int lineEnd = indexOfCrlf(raw, pos);
+            String header = new String(raw, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0], 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, lineEnd + 2, size);
+            pos = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] data, int from) {
+        for (int i = from; i < data.length - 1; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return data.length;
+    }
+
+    private static void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+}
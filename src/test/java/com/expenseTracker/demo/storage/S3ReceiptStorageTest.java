@@ -0,0 +1,147 @@
+package com.expenseTracker.demo.storage;
+
+import com.expenseTracker.demo.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3ReceiptStorageTest {
+
+    private static final long PART_SIZE = 5L * 1024 * 1024;
+    private static final String BUCKET = "receipts";
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryS3Server server;
+    private S3Client s3Client;
+    private S3ReceiptStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new InMemoryS3Server();
+        s3Client = S3Client.builder()
+                .endpointOverride(server.endpoint())
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .build();
+        storage = new S3ReceiptStorage(s3Client, BUCKET, PART_SIZE, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        s3Client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should upload small receipts with a single PUT")
+    void store_SmallFile() throws Exception {
+        byte[] content = randomBytes(64 * 1024);
+        Path source = writeTemp(content);
+
+        storage.store("user/expense/small.pdf", source, "application/pdf");
+
+        assertArrayEquals(content, server.object(BUCKET, "user/expense/small.pdf"));
+        assertEquals(0, server.uploadedParts.get());
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    @DisplayName("Should stream large receipts as a multipart upload and read them back in parallel ranges")
+    void store_LargeFileRoundTrip() throws Exception {
+        byte[] content = randomBytes((int) (PART_SIZE * 2 + 12345));
+        Path source = writeTemp(content);
+
+        storage.store("user/expense/large.pdf", source, "application/pdf");
+
+        assertEquals(3, server.uploadedParts.get());
+        assertArrayEquals(content, server.object(BUCKET, "user/expense/large.pdf"));
+
+        Resource resource = storage.load("user/expense/large.pdf");
+        assertEquals("large.pdf", resource.getFilename());
+        assertEquals(content.length, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertEquals(3, server.rangedGets.get());
+    }
+
+    @Test
+    @DisplayName("Should report missing receipts and delete stored ones")
+    void existsAndDelete() throws Exception {
+        assertFalse(storage.exists("user/expense/missing.pdf"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.load("user/expense/missing.pdf"));
+
+        storage.store("user/expense/r.png", writeTemp(randomBytes(1024)), "image/png");
+        assertTrue(storage.exists("user/expense/r.png"));
+
+        storage.delete("user/expense/r.png");
+        assertFalse(storage.exists("user/expense/r.png"));
+    }
+
+    @Test
+    @DisplayName("Should list stored receipts by key")
+    void list() throws Exception {
+        storage.store("user/a/1.pdf", writeTemp(randomBytes(10)), "application/pdf");
+        storage.store("user/b/2.pdf", writeTemp(randomBytes(20)), "application/pdf");
+
+        try (Stream<StoredObject> objects = storage.list()) {
+            assertEquals(Set.of("user/a/1.pdf", "user/b/2.pdf"),
+                    objects.map(StoredObject::getKey).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve full local paths saved before the storage backends to their keys")
+    void legacyLocalPaths() throws Exception {
+        byte[] content = randomBytes(2048);
+        storage.store("user/expense/old.pdf", writeTemp(content), "application/pdf");
+
+        for (String legacyPath : new String[]{"uploads/user/expense/old.pdf", "./uploads/user/expense/old.pdf",
+                "/var/app/uploads/user/expense/old.pdf", "uploads\\user\\expense\\old.pdf"}) {
+            assertTrue(storage.exists(legacyPath), legacyPath);
+            try (InputStream in = storage.load(legacyPath).getInputStream()) {
+                assertArrayEquals(content, in.readAllBytes());
+            }
+        }
+
+        storage.delete("uploads/user/expense/old.pdf");
+        assertFalse(storage.exists("user/expense/old.pdf"));
+    }
+
+    private Path writeTemp(byte[] content) throws Exception {
+        Path file = Files.createTempFile(tempDir, "receipt", ".part");
+        Files.write(file, content);
+        return file;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expenseTracker.demo.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the heap in use after a GC every {@code interval} ticks. {@link #growthSinceBaseline}
+ * compares the highest sample with the heap before the work started, so it also catches a result
+ * set that was buffered whole before the first row. It needs a database outside the JVM to be
+ * stable.
+ */
+public final class HeapSampler {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final int interval;
+    private final List<Long> samples = new ArrayList<>();
+    private long baseline;
+    private long ticks;
+
+    public HeapSampler(int interval) {
+        this.interval = interval;
+    }
+
+    /** Records the heap in use now as the baseline for {@link #growthSinceBaseline}. */
+    public HeapSampler baseline() {
+        baseline = usedAfterGc();
+        return this;
+    }
+
+    public void tick() {
+        if (++ticks % interval == 0) {
+            samples.add(usedAfterGc());
+        }
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    public long growthSinceBaseline() {
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("No heap samples were taken");
+        }
+        return Collections.max(samples) - baseline;
+    }
+
+    public List<Long> samples() {
+        return samples;
+    }
+
+    private long usedAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,83 @@
+package com.expenseTracker.demo.support;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A throwaway PostgreSQL database for tests that need the real engine (cursors, partitions,
+ * full-text search, Flyway migrations). Tests using it are annotated
+ * {@code @EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")}
+ * and run when {@code TEST_POSTGRES_URL} points at a server whose user may create databases,
+ * e.g. {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres TEST_POSTGRES_USERNAME=postgres
+ * TEST_POSTGRES_PASSWORD=... mvn test}. Each instance creates a fresh database and drops it on close.
+ */
+public final class PostgresTestDatabase implements AutoCloseable {
+
+    public static final String URL_VARIABLE = "TEST_POSTGRES_URL";
+
+    private final JdbcTemplate admin;
+    private final String name;
+    private final String url;
+    private final DriverManagerDataSource dataSource;
+
+    private PostgresTestDatabase() {
+        String adminUrl = System.getenv(URL_VARIABLE);
+        this.admin = new JdbcTemplate(new DriverManagerDataSource(adminUrl, username(), password()));
+        this.name = "expense_test_" + UUID.randomUUID().toString().replace("-", "");
+        this.url = withDatabase(adminUrl, name);
+        admin.execute("CREATE DATABASE " + name);
+        this.dataSource = new DriverManagerDataSource(url, username(), password());
+    }
+
+    public static PostgresTestDatabase create() {
+        return new PostgresTestDatabase();
+    }
+
+    /** Creates the schema by applying every Flyway migration, configured as in application.properties. */
+    public PostgresTestDatabase migrate() {
+        flyway().load().migrate();
+        return this;
+    }
+
+    public FluentConfiguration flyway() {
+        // CREATE INDEX CONCURRENTLY would wait forever on a transaction-scoped migration lock
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public String username() {
+        return System.getenv().getOrDefault("TEST_POSTGRES_USERNAME", "postgres");
+    }
+
+    public String password() {
+        return System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "");
+    }
+
+    @Override
+    public void close() {
+        admin.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+    }
+
+    private static String withDatabase(String url, String database) {
+        int hostStart = url.indexOf("//") + 2;
+        int pathStart = url.indexOf('/', hostStart);
+        int query = url.indexOf('?', hostStart);
+        String host = url.substring(0, pathStart < 0 ? (query < 0 ? url.length() : query) : pathStart);
+        return host + "/" + database + (query < 0 ? "" : url.substring(query));
+    }
+}
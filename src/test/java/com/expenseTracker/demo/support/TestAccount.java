@@ -0,0 +1,70 @@
+package com.expenseTracker.demo.support;
+
+import com.expenseTracker.demo.entity.Category;
+import com.expenseTracker.demo.entity.User;
+import com.expenseTracker.demo.repository.CategoryRepository;
+import com.expenseTracker.demo.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+/**
+ * A committed user with a "Food" category for {@code @SpringBootTest} classes whose code under
+ * test commits on its own or reads on other threads, where a rolled-back test transaction would
+ * hide the fixture. Create one in {@code @BeforeEach} and {@link #delete()} it in
+ * {@code @AfterEach}; each account has its own email, so test classes sharing a context do not
+ * collide.
+ */
+public final class TestAccount {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final User user;
+    private final Category food;
+
+    private TestAccount(ApplicationContext context, String emailPrefix) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.user = context.getBean(UserRepository.class).save(User.builder()
+                .email(emailPrefix + "-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("hash")
+                .role(User.Role.USER)
+                .build());
+        this.food = context.getBean(CategoryRepository.class)
+                .save(Category.builder().user(user).name("Food").build());
+    }
+
+    public static TestAccount create(ApplicationContext context, String emailPrefix) {
+        return new TestAccount(context, emailPrefix);
+    }
+
+    public User user() {
+        return user;
+    }
+
+    public Category food() {
+        return food;
+    }
+
+    /** Signs the user in on the calling thread. */
+    public TestAccount authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return this;
+    }
+
+    /** Signs out and deletes the user with everything it owns, children first. */
+    public void delete() {
+        SecurityContextHolder.clearContext();
+        String expenses = "SELECT id FROM expenses WHERE user_id = ?";
+        String categories = "SELECT id FROM categories WHERE user_id = ?";
+        jdbcTemplate.update("DELETE FROM upload_sessions WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM receipts WHERE expense_id IN (" + expenses + ")", user.getId());
+        jdbcTemplate.update("DELETE FROM category_budgets WHERE category_id IN (" + categories + ")", user.getId());
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM categories WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM sync_tombstones WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+}
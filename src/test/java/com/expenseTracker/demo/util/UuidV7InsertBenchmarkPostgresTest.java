@@ -0,0 +1,101 @@
+package com.expenseTracker.demo.util;
+
+import com.expenseTracker.demo.support.PostgresTestDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserts the same rows keyed by random v4 and by {@link UuidV7} ids into a table with a UUID
+ * primary key and compares insert time and primary key index size. Random keys split leaf pages
+ * all over the index and leave them about two thirds full; v7 keys only split the rightmost page.
+ * The default run only checks the index sizes. To reproduce the timing gap, use more rows than
+ * fit in shared_buffers:
+ *
+ * <pre>
+ * TEST_POSTGRES_URL=... ./mvnw test -Dtest=UuidV7InsertBenchmarkPostgresTest -Duuid.benchmark.rows=5000000
+ * </pre>
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class UuidV7InsertBenchmarkPostgresTest {
+
+    private static final int ROWS = Integer.getInteger("uuid.benchmark.rows", 200_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final long MB = 1024 * 1024;
+
+    private record Result(String name, double seconds, long indexBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %,d rows in %.1f s (%,.0f rows/s), PK index %d MB",
+                    name, ROWS, seconds, ROWS / seconds, indexBytes / MB);
+        }
+    }
+
+    @Test
+    @DisplayName("Should build a smaller primary key index from v7 ids than from random v4 ids")
+    void insert_V7KeysVersusV4Keys() throws SQLException {
+        try (PostgresTestDatabase database = PostgresTestDatabase.create();
+             Connection connection = DriverManager.getConnection(
+                     database.url() + (database.url().contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                     database.username(), database.password())) {
+            Result v4 = insert(connection, "v4", UUID::randomUUID);
+            Result v7 = insert(connection, "v7", UuidV7::next);
+            log.info("UUID insert benchmark: {}; {}", v4, v7);
+
+            assertTrue(v7.indexBytes() < v4.indexBytes() * 0.85, v4 + "; " + v7);
+        }
+    }
+
+    private static Result insert(Connection connection, String name, Supplier<UUID> ids) throws SQLException {
+        String table = "uuid_benchmark_" + name;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, user_id uuid NOT NULL," +
+                    " amount numeric(12, 2) NOT NULL, created_at timestamp NOT NULL)");
+            statement.execute("CHECKPOINT");
+        }
+
+        UUID userId = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?, ?, ?)")) {
+            for (int row = 1; row <= ROWS; row++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, userId);
+                insert.setBigDecimal(3, BigDecimal.TEN);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+                // Commit per batch so the run measures index maintenance, not one long transaction
+                if (row % BATCH_SIZE == 0 || row == ROWS) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+            size.next();
+            return new Result(name, seconds, size.getLong(1));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- The schema Hibernate generated (ddl-auto=update) for databases created before Flyway took
+-- over, exported from the entities as they were then. Used to test baselining an existing database.
+
+create table categories (color_code varchar(7), created_at timestamp(6) not null, updated_at timestamp(6), id uuid not null, user_id uuid not null, name varchar(50) not null, description varchar(500), primary key (id), constraint uk_user_category_name unique (user_id, name));
+create table category_budgets (alert_sent boolean not null, alert_threshold integer not null, monthly_limit numeric(10,2) not null, created_at timestamp(6) not null, updated_at timestamp(6), category_id uuid not null unique, id uuid not null, primary key (id));
+create table expenses (amount numeric(10,2) not null, expense_date date not null, is_deleted boolean not null, created_at timestamp(6) not null, updated_at timestamp(6), category_id uuid, id uuid not null, user_id uuid not null, payment_method varchar(20) check ((payment_method in ('CASH','CARD','UPI','NET_BANKING','OTHER'))), description varchar(500), notes varchar(500), primary key (id));
+create table idempotency_keys (http_status integer, created_at timestamp(6) not null, expires_at timestamp(6) not null, updated_at timestamp(6), id uuid not null, idempotency_key varchar(255) not null unique, request_hash varchar(255) not null, response_data TEXT, primary key (id));
+create table receipts (created_at timestamp(6) not null, file_size bigint not null, updated_at timestamp(6), uploaded_at timestamp(6) not null, expense_id uuid not null unique, id uuid not null, file_type varchar(50) not null, file_name varchar(255) not null, file_path varchar(255) not null, primary key (id));
+create table users (is_active boolean not null, created_at timestamp(6) not null, updated_at timestamp(6), id uuid not null, role varchar(20) not null check ((role in ('USER','ADMIN'))), full_name varchar(100), email varchar(255) not null unique, password_hash varchar(255) not null, primary key (id));
+create index idx_category_user on categories (user_id);
+create index idx_expense_user_date on expenses (user_id, expense_date desc);
+create index idx_expense_user_category on expenses (user_id, category_id);
+create index idx_expense_user_amount on expenses (user_id, amount);
+create index idx_created_at on idempotency_keys (created_at);
+alter table if exists categories add constraint FKghuylkwuedgl2qahxjt8g41kb foreign key (user_id) references users;
+alter table if exists category_budgets add constraint FK6tro3ax8dxgqh2u1e30muhxhy foreign key (category_id) references categories;
+alter table if exists expenses add constraint FKjao23ohq935a4qrorwwsen0lr foreign key (category_id) references categories;
+alter table if exists expenses add constraint FKhpk0n2cbnfiuu5nrgl0ika3hq foreign key (user_id) references users;
+alter table if exists receipts add constraint FKis8825wlm4q5na70lirnf9nbo foreign key (expense_id) references expenses;